@@ -0,0 +1,53 @@
+package benchmarks;
+
+import bruits.BruitBlancGaussien;
+import bruits.MoteurGaussien;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tirage du bruit blanc gaussien (BruitBlancGaussien.generer) pour un message
+ * de nbBits bits à nbEch échantillons par bit, avec chacun des deux moteurs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BruitBenchmark {
+
+    @Param({"BOX_MULLER", "ZIGGURAT"})
+    public MoteurGaussien moteur;
+
+    @Param({"1000", "10000", "100000"})
+    public int nbBits;
+
+    @Param({"6", "30", "120"})
+    public int nbEch;
+
+    private BruitBlancGaussien bruit;
+
+    @Setup
+    public void setUp() {
+        bruit = new BruitBlancGaussien(nbBits * nbEch, 3f, 1.0, nbEch, new Random(Signaux.SEMENCE), moteur);
+    }
+
+    @Benchmark
+    public BruitBlancGaussien generer() {
+        bruit.generer(3f, 1.0);
+        return bruit;
+    }
+}
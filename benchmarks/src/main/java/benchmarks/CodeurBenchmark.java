@@ -0,0 +1,52 @@
+package benchmarks;
+
+import elements.codeurs.Codeur;
+import information.InformationAnalogique;
+import information.InformationNonConformeException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mise en forme du message par Codeur.transformer pour les trois formes d'onde.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodeurBenchmark {
+
+    @Param({"NRZ", "NRZT", "RZ"})
+    public simulateur.Mode form;
+
+    @Param({"1000", "10000", "100000"})
+    public int nbBits;
+
+    @Param({"6", "30", "120"})
+    public int nbEch;
+
+    private Codeur codeur;
+
+    @Setup
+    public void setUp() throws InformationNonConformeException {
+        codeur = new Codeur(form, nbEch, Signaux.amplitude(form), false);
+        codeur.recevoir(Signaux.message(nbBits));
+    }
+
+    @Benchmark
+    public InformationAnalogique transformer() throws InformationNonConformeException {
+        return codeur.transformer();
+    }
+}
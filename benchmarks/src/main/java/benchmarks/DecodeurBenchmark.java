@@ -0,0 +1,67 @@
+package benchmarks;
+
+import elements.decodeurs.Decodeur;
+import information.Information;
+import information.InformationAnalogique;
+import information.InformationLogique;
+import information.InformationNonConformeException;
+import information.SizeInformationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Décision par bit du Decodeur (decode, par transformer sans codage canal)
+ * et décodage canal (decodeCanal) d'un signal mis en forme par le Codeur.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeurBenchmark {
+
+    @Param({"NRZ", "NRZT", "RZ"})
+    public simulateur.Mode form;
+
+    @Param({"1000", "10000", "100000"})
+    public int nbBits;
+
+    @Param({"6", "30", "120"})
+    public int nbEch;
+
+    private Decodeur decodeur;
+    private Decodeur decodeurCanal;
+    private InformationAnalogique signal;
+    private InformationAnalogique signalCode;
+
+    @Setup
+    public void setUp() throws InformationNonConformeException {
+        decodeur = new Decodeur(form, nbEch, Signaux.amplitude(form), false);
+        decodeurCanal = new Decodeur(form, nbEch, Signaux.amplitude(form), true);
+        signal = Signaux.signal(nbBits, form, nbEch);
+        // le codage canal triple le nombre de bits transmis
+        signalCode = Signaux.signal(3 * nbBits, form, nbEch);
+    }
+
+    @Benchmark
+    public Information<Boolean> decode() throws InformationNonConformeException {
+        return decodeur.transformer(signal);
+    }
+
+    @Benchmark
+    public InformationLogique decodeCanal() throws SizeInformationException {
+        return decodeurCanal.decodeCanal(signalCode);
+    }
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import information.Information;
+import information.InformationAnalogique;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puissance d'un signal (calculerPuissance) sous forme compacte
+ * (InformationAnalogique) et sous forme de liste de Float (Information).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InformationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int nbBits;
+
+    @Param({"6", "30", "120"})
+    public int nbEch;
+
+    private InformationAnalogique compacte;
+    private Information<Float> liste;
+
+    @Setup
+    public void setUp() {
+        compacte = Signaux.aleatoire(nbBits * nbEch);
+        liste = new Information<>(compacte.getContent().toArray(new Float[0]));
+    }
+
+    @Benchmark
+    public double calculerPuissance() {
+        return compacte.calculerPuissance();
+    }
+
+    @Benchmark
+    public double calculerPuissanceListe() {
+        return liste.calculerPuissance();
+    }
+}
@@ -0,0 +1,91 @@
+package benchmarks;
+
+import information.NoyauxSignal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Noyaux de calcul scalaires et vectoriels (NoyauxSignal) : somme, somme
+ * pondérée, somme des carrés et décision à seuil d'un signal de nbBits bits
+ * à nbEch échantillons par bit.  Les JVM de mesure chargent le module
+ * jdk.incubator.vector ; sans lui, noyaux=vectoriels n'est pas mesurable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class NoyauxBenchmark {
+
+    @Param({"10000", "100000"})
+    public int nbBits;
+
+    @Param({"6", "30"})
+    public int nbEch;
+
+    @Param({"scalaires", "vectoriels"})
+    public String noyaux;
+
+    private NoyauxSignal noyauxSignal;
+    private float[] signal;
+    private float[] bruit;
+    private float[] sortie;
+    private final double[] voies = new double[NoyauxSignal.NB_VOIES];
+
+    @Setup
+    public void setUp() {
+        noyauxSignal = noyaux.equals("vectoriels") ? NoyauxSignal.vectoriels() : NoyauxSignal.scalaires();
+        if (noyauxSignal == null) {
+            throw new IllegalStateException("Noyaux vectoriels indisponibles (--add-modules jdk.incubator.vector)");
+        }
+        signal = Signaux.aleatoire(nbBits * nbEch).tableau();
+        bruit = Signaux.aleatoire(nbBits * nbEch).tableau();
+        sortie = new float[signal.length];
+    }
+
+    // sommes faites dans sortie : elle croît linéairement, le signal reste inchangé
+    @Benchmark
+    public float[] ajouter() {
+        noyauxSignal.ajouter(bruit, 0, sortie, 0, sortie.length);
+        return sortie;
+    }
+
+    @Benchmark
+    public float[] ajouterProduit() {
+        // un coefficient du filtre des trajets multiples, retard d'un symbole
+        noyauxSignal.ajouterProduit(-0.5f, signal, 0, sortie, nbEch, signal.length - nbEch);
+        return sortie;
+    }
+
+    @Benchmark
+    public double cumulerCarres() {
+        Arrays.fill(voies, 0.0);
+        noyauxSignal.cumulerCarres(signal, 0, signal.length, voies, 0);
+        return NoyauxSignal.sommeVoies(voies);
+    }
+
+    @Benchmark
+    public long seuiller() {
+        long bits = 0L;
+        int debut = nbEch / 3;
+        int fin = 2 * nbEch / 3;
+        for (int premier = 0; premier < nbBits; premier += 64) {
+            int nb = Math.min(64, nbBits - premier);
+            bits ^= noyauxSignal.seuiller(signal, premier * nbEch, nbEch, nb, debut, fin, 0f);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import elements.codeurs.Codeur;
+import information.InformationAnalogique;
+import information.InformationLogique;
+import information.InformationNonConformeException;
+import simulateur.Mode;
+
+import java.util.SplittableRandom;
+
+/**
+ * Messages et signaux de test communs aux benchmarks, tirés avec une semence
+ * fixe pour que deux exécutions mesurent exactement les mêmes données.
+ */
+final class Signaux {
+
+    static final long SEMENCE = 42L;
+
+    private Signaux() {
+    }
+
+    /**
+     * @param nbBits la longueur du message
+     * @return un message aléatoire sous forme compacte
+     */
+    static InformationLogique message(int nbBits) {
+        SplittableRandom random = new SplittableRandom(SEMENCE);
+        long[] mots = new long[Math.max(InformationLogique.nbMots(nbBits), 1)];
+        for (int m = 0; m < mots.length; m++) {
+            mots[m] = random.nextLong();
+        }
+        return new InformationLogique(mots, nbBits);
+    }
+
+    /**
+     * @return les amplitudes [min, max] adaptées à la forme d'onde
+     */
+    static Float[] amplitude(Mode mode) {
+        return (mode == Mode.RZ) ? new Float[]{0f, 1f} : new Float[]{-1f, 1f};
+    }
+
+    /**
+     * @param nbBits la longueur du message
+     * @param mode   la forme d'onde
+     * @param nbEch  le nombre d'échantillons par bit
+     * @return le signal mis en forme par le Codeur (sans codage canal)
+     * @throws InformationNonConformeException si la mise en forme échoue
+     */
+    static InformationAnalogique signal(int nbBits, Mode mode, int nbEch) throws InformationNonConformeException {
+        Codeur codeur = new Codeur(mode, nbEch, amplitude(mode), false);
+        codeur.recevoir(message(nbBits));
+        return codeur.transformer();
+    }
+
+    /**
+     * @param nbValeurs le nombre d'échantillons
+     * @return un signal de valeurs uniformes dans [-1, 1]
+     */
+    static InformationAnalogique aleatoire(int nbValeurs) {
+        SplittableRandom random = new SplittableRandom(SEMENCE);
+        float[] valeurs = new float[nbValeurs];
+        for (int i = 0; i < nbValeurs; i++) {
+            valeurs[i] = (float) (2.0 * random.nextDouble() - 1.0);
+        }
+        return new InformationAnalogique(valeurs);
+    }
+}
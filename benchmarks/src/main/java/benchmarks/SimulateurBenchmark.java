@@ -0,0 +1,64 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simulateur.ConfigurationSimulation;
+import simulateur.Simulateur;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calcul du TEB (Simulateur.calculTauxErreurBinaire) après une transmission
+ * NRZT bruitée, et chaîne complète (execute puis calcul du TEB) pour situer
+ * ce calcul dans le coût total d'une simulation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulateurBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int nbBits;
+
+    @Param({"6", "30", "120"})
+    public int nbEch;
+
+    private Simulateur chaine;
+
+    @Setup
+    public void setUp() throws Exception {
+        ConfigurationSimulation configuration = ConfigurationSimulation.builder()
+                .messageAleatoire(nbBits)
+                .form(simulateur.Mode.NRZT)
+                .nbEch(nbEch)
+                .amplitude(-1f, 1f)
+                .snrpb(0f)
+                .seed((int) Signaux.SEMENCE)
+                .build();
+        chaine = new Simulateur(configuration);
+        chaine.execute();
+    }
+
+    @Benchmark
+    public float calculTauxErreurBinaire() {
+        return chaine.calculTauxErreurBinaire();
+    }
+
+    @Benchmark
+    public float chaineComplete() throws Exception {
+        chaine.execute();
+        return chaine.calculTauxErreurBinaire();
+    }
+}
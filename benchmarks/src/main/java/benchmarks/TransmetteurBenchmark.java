@@ -0,0 +1,59 @@
+package benchmarks;
+
+import elements.transmetteurs.TransmetteurBruite;
+import information.InformationAnalogique;
+import information.InformationNonConformeException;
+import information.ParametreTrajet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trajets multiples (TransmetteurBruite.multiTrajet) sur un signal NRZT,
+ * avec nbTrajets échos de retards croissants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransmetteurBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int nbBits;
+
+    @Param({"6", "30", "120"})
+    public int nbEch;
+
+    @Param({"1", "5"})
+    public int nbTrajets;
+
+    private TransmetteurBruite transmetteur;
+
+    @Setup
+    public void setUp() throws InformationNonConformeException {
+        LinkedList<ParametreTrajet> trajets = new LinkedList<>();
+        for (int k = 1; k <= nbTrajets; k++) {
+            trajets.add(new ParametreTrajet(k * nbEch / 2, 0.5f / k));
+        }
+        transmetteur = new TransmetteurBruite(3f, nbEch, trajets, (int) Signaux.SEMENCE);
+        transmetteur.recevoir(Signaux.signal(nbBits, simulateur.Mode.NRZT, nbEch));
+    }
+
+    @Benchmark
+    public InformationAnalogique multiTrajet() {
+        return transmetteur.multiTrajet();
+    }
+}
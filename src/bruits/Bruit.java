@@ -1,6 +1,6 @@
 package bruits;
 
-import information.Information;
+import information.InformationAnalogique;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -9,9 +9,10 @@ import static java.lang.Math.*;
 
 /**
  * La classe Bruit représente un bruit sous forme d'une information contenant des valeurs flottantes.
- * Elle étend la classe Information<Float> et fournit des méthodes pour analyser les propriétés statistiques du bruit.
+ * Elle étend la classe InformationAnalogique (échantillons stockés en float primitifs)
+ * et fournit des méthodes pour analyser les propriétés statistiques du bruit.
  */
-public class Bruit extends Information<Float> {
+public class Bruit extends InformationAnalogique {
 
     /**
      * Constructeur pour créer un bruit avec un nombre spécifique d'éléments.
@@ -20,10 +21,7 @@ public class Bruit extends Information<Float> {
      * @param nbElement Le nombre d'éléments dans le bruit.
      */
     public Bruit(int nbElement) {
-        super(new Float[nbElement]);
-        for (int i = 0; i < nbElement; i++) {
-            setIemeElement(i, 0f);
-        }
+        super(new float[nbElement]);
     }
 
     /**
@@ -33,8 +31,9 @@ public class Bruit extends Information<Float> {
      */
     public double mean(){
         double sum = 0;
-        for(float f : getContent()){
-            sum += f;
+        float[] echantillons = tableau();
+        for (int i = 0; i < nbElements(); i++) {
+            sum += echantillons[i];
         }
         return sum/nbElements();
     }
@@ -49,7 +48,7 @@ public class Bruit extends Information<Float> {
         Map<Double, Integer> repartition = new HashMap<>();
 
         for (int i = 0; i < nbElements(); i++) {
-            double key = floor(iemeElement(i)/precision)*precision;
+            double key = floor(valeur(i)/precision)*precision;
             repartition.merge(key, 1, Integer::sum);
         }
         return repartition;
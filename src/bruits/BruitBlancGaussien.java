@@ -13,6 +13,8 @@ public class BruitBlancGaussien extends Bruit {
 
     private Random random;
 
+    private MoteurGaussien moteur = MoteurGaussien.BOX_MULLER;
+
     /**
      * Constructeur pour créer un bruit blanc gaussien avec un nombre spécifique d'éléments.
      * Chaque élément est initialisé à 0.
@@ -59,30 +61,109 @@ public class BruitBlancGaussien extends Bruit {
     }
 
     /**
-     * Génère les valeurs du bruit blanc gaussien en utilisant l'algorithme de Box-Muller.
+     * Constructeur pour créer un bruit blanc gaussien à partir d'un générateur
+     * aléatoire fourni, par exemple pour poursuivre une même suite aléatoire
+     * sur plusieurs blocs successifs.
+     *
+     * @param nbElements Le nombre d'éléments dans le bruit blanc gaussien.
+     * @param snrpb Le rapport signal-sur-bruit en décibels (dB).
+     * @param pSignal La puissance du signal.
+     * @param nbEch Le nombre d'échantillons utilisés pour le calcul.
+     * @param random Le générateur de nombres aléatoires à utiliser.
+     */
+    public BruitBlancGaussien(int nbElements, Float snrpb, double pSignal, int nbEch, Random random) {
+        super(nbElements);
+        this.nbEch = nbEch;
+        this.random = random;
+        generer(snrpb, pSignal);
+    }
+
+    /**
+     * Constructeur pour créer un bruit blanc gaussien à partir d'un générateur
+     * aléatoire fourni, en choisissant l'algorithme de tirage gaussien.
+     *
+     * @param nbElements Le nombre d'éléments dans le bruit blanc gaussien.
+     * @param snrpb Le rapport signal-sur-bruit en décibels (dB).
+     * @param pSignal La puissance du signal.
+     * @param nbEch Le nombre d'échantillons utilisés pour le calcul.
+     * @param random Le générateur de nombres aléatoires à utiliser.
+     * @param moteur L'algorithme de tirage gaussien.
+     */
+    public BruitBlancGaussien(int nbElements, Float snrpb, double pSignal, int nbEch, Random random, MoteurGaussien moteur) {
+        super(nbElements);
+        this.nbEch = nbEch;
+        this.random = random;
+        this.moteur = moteur;
+        generer(snrpb, pSignal);
+    }
+
+    /**
+     * Génère les valeurs du bruit blanc gaussien avec le moteur choisi (Box-Muller par défaut).
      * Les valeurs sont générées en fonction du rapport signal-sur-bruit (SNR) et de la puissance du signal.
      *
      * @param snrpb Le rapport signal-sur-bruit en décibels (dB).
      * @param pSignal La puissance du signal.
      */
     public void generer(Float snrpb, double pSignal) {
+        remplir(ecartType(snrpb, pSignal, nbEch));
+    }
+
+    /**
+     * Tire un bruit blanc gaussien centré réduit (écart-type 1) : multiplié par
+     * ecartType(snrpb, pSignal, nbEch), il donne le bruit de n'importe quel SNR,
+     * tiré avec les mêmes nombres aléatoires.
+     *
+     * @param nbElements Le nombre d'éléments du bruit.
+     * @param random Le générateur de nombres aléatoires à utiliser.
+     * @param moteur L'algorithme de tirage gaussien.
+     * @return le bruit réduit
+     */
+    public static BruitBlancGaussien reduit(int nbElements, Random random, MoteurGaussien moteur) {
+        BruitBlancGaussien bruit = new BruitBlancGaussien(nbElements);
+        bruit.random = random;
+        bruit.moteur = moteur;
+        bruit.remplir(1.0);
+        return bruit;
+    }
+
+    /**
+     * Calcule l'écart-type du bruit pour un SNR par bit donné.
+     *
+     * @param snrpb Le rapport signal-sur-bruit en décibels (dB).
+     * @param pSignal La puissance du signal.
+     * @param nbEch Le nombre d'échantillons par bit.
+     * @return l'écart-type du bruit
+     */
+    public static double ecartType(Float snrpb, double pSignal, int nbEch) {
         double snrLin = Math.pow(10, snrpb / 10.0); //convertion en lineaire
-        double ecartType = Math.sqrt((pSignal * nbEch) / (snrLin * 2));//calcul de l'ecart-type du bruit
+        return Math.sqrt((pSignal * nbEch) / (snrLin * 2));//calcul de l'ecart-type du bruit
+    }
 
+    private void remplir(double ecartType) {
+        float[] echantillons = tableau();
+        if (moteur == MoteurGaussien.ZIGGURAT) {
+            Ziggurat.remplir(echantillons, 0, nbElements(), ecartType, random);
+            return;
+        }
         for (int i = 0; i < nbElements(); i += 2) {
             double u1 = random.nextDouble();
             double u2 = random.nextDouble();
             double z0 = Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
             double z1 = Math.sqrt(-2.0 * Math.log(u1)) * Math.sin(2.0 * Math.PI * u2);
-            if (i < nbElements()) {
-                setIemeElement(i, (float) (z0 * ecartType));
-            }
+            echantillons[i] = (float) (z0 * ecartType);
             if (i + 1 < nbElements()){
-                setIemeElement(i + 1, (float) (z1 * ecartType));
+                echantillons[i + 1] = (float) (z1 * ecartType);
             }
         }
     }
 
+    /**
+     * @return l'algorithme de tirage gaussien utilisé
+     */
+    public MoteurGaussien getMoteur() {
+        return moteur;
+    }
+
 //        System.out.println("Puissance du signal : " + pSignal);
 //        System.out.println("SNRdB attendu : " + snrpb);
 //        System.out.println("EcartType : " + ecartType);
@@ -0,0 +1,17 @@
+package bruits;
+
+/**
+ * Algorithme utilisé par BruitBlancGaussien pour tirer les échantillons
+ * d'une loi normale centrée réduite.
+ */
+public enum MoteurGaussien {
+    /**
+     * transformée de Box-Muller : un logarithme, une racine, un cosinus et un sinus par paire d'échantillons
+     */
+    BOX_MULLER,
+    /**
+     * méthode de la ziggourat (Marsaglia et Tsang) : une multiplication et une comparaison
+     * dans la très grande majorité des tirages
+     */
+    ZIGGURAT
+}
@@ -0,0 +1,107 @@
+package bruits;
+
+import java.util.Random;
+
+/**
+ * Générateur de loi normale centrée réduite par la méthode de la ziggourat
+ * (Marsaglia et Tsang, 2000, dans la formulation de Doornik, 2005).
+ * La densité est recouverte par 128 couches de même aire : un tirage tombe
+ * presque toujours à l'intérieur d'une couche et ne coûte alors qu'une
+ * multiplication ; les bords et la queue (|x| > R) sont traités par rejet.
+ * Chaque essai consomme un seul long du générateur : ses 7 bits de poids
+ * faible choisissent la couche, ses 53 bits de poids fort donnent l'uniforme.
+ */
+final class Ziggurat {
+
+    private static final int NB_COUCHES = 128;
+
+    /**
+     * abscisse du début de la queue
+     */
+    private static final double R = 3.442619855899;
+
+    /**
+     * aire commune des couches
+     */
+    private static final double V = 9.91256303526217e-3;
+
+    /**
+     * bords des couches : X[0] = V / f(R), X[1] = R, ..., X[128] = 0
+     */
+    private static final double[] X = new double[NB_COUCHES + 1];
+
+    /**
+     * X[i + 1] / X[i] : en deçà, le point est dans la partie rectangulaire sûre de la couche i
+     */
+    private static final double[] RAPPORT = new double[NB_COUCHES];
+
+    static {
+        double f = Math.exp(-0.5 * R * R);
+        X[0] = V / f;
+        X[1] = R;
+        for (int i = 2; i < NB_COUCHES; i++) {
+            X[i] = Math.sqrt(-2.0 * Math.log(V / X[i - 1] + f));
+            f = Math.exp(-0.5 * X[i] * X[i]);
+        }
+        X[NB_COUCHES] = 0.0;
+        for (int i = 0; i < NB_COUCHES; i++) {
+            RAPPORT[i] = X[i + 1] / X[i];
+        }
+    }
+
+    private Ziggurat() {
+    }
+
+    /**
+     * Remplit une portion de tableau avec des échantillons gaussiens centrés.
+     *
+     * @param echantillons le tableau à remplir
+     * @param debut        le premier indice rempli
+     * @param fin          l'indice qui suit le dernier rempli
+     * @param ecartType    l'écart-type voulu
+     * @param random       le générateur uniforme
+     */
+    static void remplir(float[] echantillons, int debut, int fin, double ecartType, Random random) {
+        for (int i = debut; i < fin; i++) {
+            echantillons[i] = (float) (suivant(random) * ecartType);
+        }
+    }
+
+    /**
+     * @param random le générateur uniforme
+     * @return un tirage de la loi normale centrée réduite
+     */
+    static double suivant(Random random) {
+        while (true) {
+            long bits = random.nextLong();
+            int i = (int) (bits & (NB_COUCHES - 1));
+            double u = 2.0 * ((bits >>> 11) * 0x1.0p-53) - 1.0;
+
+            if (Math.abs(u) < RAPPORT[i]) {
+                return u * X[i];
+            }
+            if (i == 0) {
+                return queue(random, u < 0);
+            }
+            double x = u * X[i];
+            double f0 = Math.exp(-0.5 * (X[i] * X[i] - x * x));
+            double f1 = Math.exp(-0.5 * (X[i + 1] * X[i + 1] - x * x));
+            if (f1 + random.nextDouble() * (f0 - f1) < 1.0) {
+                return x;
+            }
+        }
+    }
+
+    /**
+     * tirage dans la queue |x| > R (méthode de Marsaglia)
+     */
+    private static double queue(Random random, boolean negatif) {
+        double x;
+        double y;
+        do {
+            x = Math.log(1.0 - random.nextDouble()) / R;
+            y = Math.log(1.0 - random.nextDouble());
+        } while (-2.0 * y < x * x);
+        return negatif ? x - R : R - x;
+    }
+}
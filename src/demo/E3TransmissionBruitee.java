@@ -1,6 +1,7 @@
 package demo;
 
-import simulateur.Simulateur;
+import simulateur.BalayageSnr;
+import simulateur.ConfigurationSimulation;
 import simulateur.Mode;
 
 import java.io.*;
@@ -38,26 +39,26 @@ public class    E3TransmissionBruitee {
         System.out.println("CSV prêt : " + FICHIER_CSV.getAbsolutePath());
     }
 
-    /** Mesure le TEB moyen pour une forme donnée sur toute la plage SNR. */
+    /**
+     * Mesure le TEB moyen pour une forme donnée sur toute la plage SNR.  Chaque
+     * essai met le message en forme une fois et évalue tous les SNR avec le
+     * même bruit (BalayageSnr).
+     */
     private static double[] mesurerPourForme(Mode forme, Float[] snrDb) throws Exception {
+        float[] snrs = new float[snrDb.length];
+        for (int i = 0; i < snrDb.length; i++) snrs[i] = snrDb[i];
+        BalayageSnr balayage = new BalayageSnr(ConfigurationSimulation.builder()
+                .messageAleatoire(nbBits)
+                .form(forme)
+                .nbEch(nbEch)
+                .amplitude(amplitudeCodage[0], amplitudeCodage[1])
+                .build());
         double[] tebMoyen = new double[snrDb.length];
-        for (int i = 0; i < snrDb.length; i++) {
-            float snr = snrDb[i];
-            double sommeTeb = 0.0;
-            for (int essai = 0; essai < nbEssais; essai++) {
-                String[] argsSimu = new String[]{
-                        "-mess", Integer.toString(nbBits),
-                        "-form", forme.name(),
-                        "-nbEch", Integer.toString(nbEch),
-                        "-ampl", floatStr(amplitudeCodage[0]), floatStr(amplitudeCodage[1]),
-                        "-snrpb", floatStr(snr)
-                };
-                Simulateur simu = new Simulateur(argsSimu);
-                simu.execute();
-                sommeTeb += simu.calculTauxErreurBinaire();
-            }
-            tebMoyen[i] = sommeTeb / nbEssais;
+        for (int essai = 0; essai < nbEssais; essai++) {
+            double[] teb = balayage.calculerTeb(snrs);
+            for (int i = 0; i < snrDb.length; i++) tebMoyen[i] += teb[i];
         }
+        for (int i = 0; i < snrDb.length; i++) tebMoyen[i] /= nbEssais;
         return tebMoyen;
     }
 
@@ -82,8 +83,4 @@ public class    E3TransmissionBruitee {
         for (int i = 0; i < n; i++) v[i] = debut + i * pas;
         return v;
     }
-    private static String floatStr(float f) {
-        if (Float.isFinite(f) && Math.rint(f) == f) return Integer.toString((int) f);
-        return Float.toString(f);
-    }
 }
@@ -1,5 +1,6 @@
 package demo;
 
+import simulateur.ConfigurationSimulation;
 import simulateur.Simulateur;
 import simulateur.Mode;
 
@@ -46,20 +47,18 @@ public class E4TransmissionAnalogiqueMultiTrajet {
     private static double[] mesurerPourForme(Mode forme, Integer[] tau) throws Exception {
         double[] tebMoyen = new double[tau.length];
         for (int i = 0; i < tau.length; i++) {
-            float t = tau[i];
+            int t = tau[i];
             double sommeTeb = 0.0;
+            ConfigurationSimulation configuration = ConfigurationSimulation.builder()
+                    .messageAleatoire(nbBits)
+                    .form(forme)
+                    .nbEch(nbEch)
+                    .amplitude(amplitudeCodage[0], amplitudeCodage[1])
+                    .trajet(t, alpha)
+                    .snrpb(snrpb)
+                    .build();
             for (int essai = 0; essai < nbEssais; essai++) {
-                String[] argsSimu = new String[]{
-                        "-mess", Integer.toString(nbBits),
-                        "-form", forme.name(),
-                        "-nbEch", Integer.toString(nbEch),
-                        "-ampl", floatStr(amplitudeCodage[0]), floatStr(amplitudeCodage[1]),
-                        "-ti", floatStr(t), floatStr(alpha),
-                        "-snrpb", floatStr(snrpb)
-                };
-//                System.out.println("-ti " + floatStr(t) + " "+  floatStr(alpha));
-
-                Simulateur simu = new Simulateur(argsSimu);
+                Simulateur simu = new Simulateur(configuration);
                 simu.execute();
                 sommeTeb += simu.calculTauxErreurBinaire();
             }
@@ -107,8 +106,4 @@ public class E4TransmissionAnalogiqueMultiTrajet {
         for (int i = 0; i < n; i++) v[i] = debut + i * pas;
         return v;
     }
-    private static String floatStr(float f) {
-        if (Float.isFinite(f) && Math.rint(f) == f) return Integer.toString((int) f);
-        return Float.toString(f);
-    }
 }
@@ -1,11 +1,12 @@
 package demo;
 
+import simulateur.Campagne;
+import simulateur.ConfigurationSimulation;
 import simulateur.Mode;
-import simulateur.Simulateur;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.util.*;
+import java.io.File;
+import java.util.Locale;
+import java.util.Random;
 
 /** TEB(α) avec un écho d’amplitude α et retard τ aléatoire à chaque essai.
  *  Trajet direct a0 = sqrt(1-α^2), écho = α ; SNR fixé. Résultat: out/teb_alpha.csv. */
@@ -41,62 +42,49 @@ public class E4TransmissionBruiteeAnalyseAlpha {
 
         float[] alphas = creerPlageAlpha(alphaMin, alphaMax, nbPointsAlpha);
 
-        double[] rz   = mesurerPourForme(Mode.RZ,   alphas);
-        double[] nrz  = mesurerPourForme(Mode.NRZ,  alphas);
-        double[] nrzt = mesurerPourForme(Mode.NRZT, alphas);
+        double[][] teb = mesurerPourFormes(new Mode[]{Mode.RZ, Mode.NRZ, Mode.NRZT}, alphas);
 
-        ecrireCSV(FICHIER_CSV, alphas, rz, nrz, nrzt);
+        double[] abscisses = new double[alphas.length];
+        for (int i = 0; i < alphas.length; i++) abscisses[i] = alphas[i];
+        String meta = "type=ALPHA, nbBitsParEssai=%d, nbEssais=%d, nbEch=%d, ampl=[%.2f,%.2f], snrpb=%.2f, dtMax=%d"
+                .formatted(nbBitsParEssai, nbEssais, nbEch, amplitudeCodage[0], amplitudeCodage[1], snrpb_dB, dtMax);
+        EcritureCsv.ecrire(FICHIER_CSV, meta, "alpha", new String[]{"RZ", "NRZ", "NRZT"}, "%.6f", "%.6e", abscisses, teb);
         System.out.println("CSV prêt : " + FICHIER_CSV.getAbsolutePath());
     }
 
-    /** Mesure TEB moyen pour une forme donnée sur toute la plage d'alpha. */
-    private static double[] mesurerPourForme(Mode forme, float[] alphas) throws Exception {
-        double[] tebMoyen = new double[alphas.length];
-        Random rng = new Random(graineBase + 10_000L * forme.ordinal());
-
-        for (int i = 0; i < alphas.length; i++) {
-            float alpha = alphas[i];
-            // amplitude du trajet direct normalisée
-            float a0 = (float) Math.sqrt(Math.max(0.0, 1.0 - alpha * alpha));
-            double sommeTeb = 0.0;
-
+    /**
+     * Mesure TEB moyen pour chaque forme sur toute la plage d'alpha.  Les retards τ
+     * sont tirés d'abord, dans l'ordre (alpha, essai), puis les essais sont répartis
+     * sur tous les cœurs.  Dans un essai, les trois formes voient le même retard,
+     * le même message et le même bruit réduit (Campagne.comparerFormes) : leurs
+     * écarts ne viennent que de la forme d'onde.
+     */
+    private static double[][] mesurerPourFormes(Mode[] formes, float[] alphas) throws Exception {
+        int nbAlphas = alphas.length;
+        int[][] retards = new int[nbAlphas][nbEssais];
+        Random rng = new Random(graineBase);
+        for (int i = 0; i < nbAlphas; i++) {
             for (int essai = 0; essai < nbEssais; essai++) {
                 // τ aléatoire (en échantillons) pour l’écho
-                int dt = 1 + rng.nextInt(Math.max(1, dtMax));
-
-                // arguments simulateur : direct puis écho
-                ArrayList<String> argsList = new ArrayList<>();
-                argsList.addAll(Arrays.asList(
-                        "-mess", Integer.toString(nbBitsParEssai),
-                        "-form", forme.name(),
-                        "-nbEch", Integer.toString(nbEch),
-                        "-ampl", floatStr(amplitudeCodage[0]), floatStr(amplitudeCodage[1]),
-                        "-snrpb", floatStr(snrpb_dB),
-                        "-ti", "0", floatStr(a0),         // trajet direct
-                        "-ti", Integer.toString(dt), floatStr(alpha) // écho aléatoire
-                ));
-
-                Simulateur simu = new Simulateur(argsList.toArray(new String[0]));
-                simu.execute();
-                sommeTeb += simu.calculTauxErreurBinaire();
+                retards[i][essai] = 1 + rng.nextInt(Math.max(1, dtMax));
             }
-            tebMoyen[i] = sommeTeb / nbEssais;
         }
-        return tebMoyen;
-    }
 
-    /** Écrit un CSV : colonnes alpha,RZ,NRZ,NRZT + meta (#...) */
-    private static void ecrireCSV(File fichier, float[] alphas, double[] rz, double[] nrz, double[] nrzt)
-            throws IOException {
-        try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fichier), StandardCharsets.UTF_8))) {
-            bw.write(("# type=ALPHA, nbBitsParEssai=%d, nbEssais=%d, nbEch=%d, ampl=[%.2f,%.2f], snrpb=%.2f, dtMax=%d%n")
-                    .formatted(nbBitsParEssai, nbEssais, nbEch, amplitudeCodage[0], amplitudeCodage[1], snrpb_dB, dtMax));
-            bw.write("alpha,RZ,NRZ,NRZT\n");
-            for (int i = 0; i < alphas.length; i++) {
-                bw.write(String.format(Locale.US, "%.6f,%.6e,%.6e,%.6e%n",
-                        alphas[i], rz[i], nrz[i], nrzt[i]));
-            }
-        }
+        return new Campagne().comparerFormes(formes, nbAlphas, nbEssais, (point, essai) -> {
+            float alpha = alphas[point];
+            // amplitude du trajet direct normalisée
+            float a0 = (float) Math.sqrt(Math.max(0.0, 1.0 - alpha * alpha));
+            int dt = retards[point][essai];
+
+            return ConfigurationSimulation.builder()
+                    .messageAleatoire(nbBitsParEssai)
+                    .nbEch(nbEch)
+                    .amplitude(amplitudeCodage[0], amplitudeCodage[1])
+                    .snrpb(snrpb_dB)
+                    .trajet(0, a0)         // trajet direct
+                    .trajet(dt, alpha)     // écho aléatoire
+                    .build();
+        });
     }
 
     // ---------- utilitaires ----------
@@ -107,8 +95,4 @@ public class E4TransmissionBruiteeAnalyseAlpha {
         for (int i = 0; i < n; i++) v[i] = debut + i * pas;
         return v;
     }
-    private static String floatStr(float f) {
-        if (Float.isFinite(f) && Math.rint(f) == f) return Integer.toString((int) f);
-        return Float.toString(f);
-    }
 }
@@ -1,11 +1,11 @@
 package demo;
 
 import information.ParametreTrajet;
+import simulateur.Campagne;
+import simulateur.ConfigurationSimulation;
 import simulateur.Mode;
-import simulateur.Simulateur;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.io.File;
 import java.util.*;
 
 /**
@@ -41,59 +41,61 @@ public class E4TransmissionBruiteeAnalyseMultiTrajet {
         if (!DOSSIER_SORTIE.exists()) DOSSIER_SORTIE.mkdirs();
 
         Float[] snrDb = creerPlageSNRdB(snrMin, snrMax, nbPointsSNR);
+        double[] abscisses = new double[snrDb.length];
+        for (int i = 0; i < snrDb.length; i++) abscisses[i] = snrDb[i];
 
         for (int nbEcho = 0; nbEcho <= nbEchoMax; nbEcho++) {
             System.out.println("=== Génération K=" + nbEcho + " échos ===");
 
-            double[] rz   = mesurerPourFormeAvecK(Mode.RZ,   snrDb, nbEcho);
-            double[] nrz  = mesurerPourFormeAvecK(Mode.NRZ,  snrDb, nbEcho);
-            double[] nrzt = mesurerPourFormeAvecK(Mode.NRZT, snrDb, nbEcho);
+            double[][] teb = mesurerPourFormesAvecK(new Mode[]{Mode.RZ, Mode.NRZ, Mode.NRZT}, snrDb, nbEcho);
 
             File csv = new File(DOSSIER_SORTIE, "teb_snr_K" + nbEcho + ".csv");
-            ecrireCSV_SNR(csv, snrDb, rz, nrz, nrzt, nbEcho);
+            String meta = "type=SNR, nbEcho=%d, nbBitsParEssai=%d, nbEssais=%d, nbEch=%d, ampl=[%.3f,%.3f], dtMax=%d, rhoEcho=%.2f"
+                    .formatted(nbEcho, nbBitsParEssai, nbEssais, nbEch, amplitudeCodage[0], amplitudeCodage[1], dtMax, rhoEcho);
+            EcritureCsv.ecrire(csv, meta, "SNRdB", new String[]{"RZ", "NRZ", "NRZT"}, "%.6f", "%.6e", abscisses, teb);
             System.out.println("  -> " + csv.getAbsolutePath());
         }
 
         System.out.println("\nCSV générés dans : " + DOSSIER_SORTIE.getAbsolutePath());
     }
 
-    /** Mesure TEB moyen pour une forme et un nombre d'échos nbEcho (0..5) sur la plage SNR. */
-    private static double[] mesurerPourFormeAvecK(Mode forme, Float[] snrDb, int nbEcho) throws Exception {
-        double[] tebMoyen = new double[snrDb.length];
-        Random rng = new Random();
-
-        for (int i = 0; i < snrDb.length; i++) {
-            float snr = snrDb[i];
-            double sommeTeb = 0.0;
-
-            for (int essai = 0; essai < nbEssais; essai++) {
-                long graineEssai = rng.nextLong();
-
-                // Génère les trajets : 1 direct + nbEcho échos aléatoires
-                ParametreTrajet[] trajets = genererTrajetsAleatoires(nbEcho, graineEssai);
-
-                // Construit args Simulateur (-ti répété)
-                ArrayList<String> argsList = new ArrayList<>(16 + 3 * (1 + nbEcho));
-                argsList.addAll(Arrays.asList(
-                        "-mess", Integer.toString(nbBitsParEssai),
-                        "-form", forme.name(),
-                        "-nbEch", Integer.toString(nbEch),
-                        "-ampl", floatStr(amplitudeCodage[0]), floatStr(amplitudeCodage[1]),
-                        "-snrpb", floatStr(snr)
-                ));
-                for (ParametreTrajet p : trajets) {
-                    argsList.add("-ti");
-                    argsList.add(Integer.toString(p.getTau())); // token 1
-                    argsList.add(floatStr(p.getAlpha()));         // token 2
+    /**
+     * Mesure TEB moyen pour chaque forme et un nombre d'échos nbEcho (0..5) sur la plage SNR.
+     * Les graines des essais sont tirées d'abord, dans l'ordre (SNR, essai) de chaque forme,
+     * puis les essais sont répartis sur tous les cœurs.
+     */
+    private static double[][] mesurerPourFormesAvecK(Mode[] formes, Float[] snrDb, int nbEcho) throws Exception {
+        int nbSnr = snrDb.length;
+        long[][] grainesEssais = new long[formes.length * nbSnr][nbEssais];
+        for (int f = 0; f < formes.length; f++) {
+            Random rng = new Random();
+            for (int i = 0; i < nbSnr; i++) {
+                for (int essai = 0; essai < nbEssais; essai++) {
+                    grainesEssais[f * nbSnr + i][essai] = rng.nextLong();
                 }
-
-                Simulateur simu = new Simulateur(argsList.toArray(new String[0]));
-                simu.execute();
-                sommeTeb += simu.calculTauxErreurBinaire();
             }
-            tebMoyen[i] = sommeTeb / nbEssais;
         }
-        return tebMoyen;
+
+        double[] tebMoyen = new Campagne().moyennes(formes.length * nbSnr, nbEssais, (point, essai) -> {
+            Mode forme = formes[point / nbSnr];
+            float snr = snrDb[point % nbSnr];
+
+            // Génère les trajets : 1 direct + nbEcho échos aléatoires
+            ParametreTrajet[] trajets = genererTrajetsAleatoires(nbEcho, grainesEssais[point][essai]);
+
+            ConfigurationSimulation.Builder configuration = ConfigurationSimulation.builder()
+                    .messageAleatoire(nbBitsParEssai)
+                    .form(forme)
+                    .nbEch(nbEch)
+                    .amplitude(amplitudeCodage[0], amplitudeCodage[1])
+                    .snrpb(snr);
+            for (ParametreTrajet p : trajets) {
+                configuration.trajet(p);
+            }
+
+            return Campagne.teb(configuration.build());
+        });
+        return Campagne.decouper(tebMoyen, formes.length);
     }
 
     /** Génère 1 direct (dt=0, a0=√(1-ρ)) + nbEcho échos avec dt∈[1..dtMax], amplitudes telles que Σ a_i^2 = ρ. */
@@ -135,19 +137,6 @@ public class E4TransmissionBruiteeAnalyseMultiTrajet {
         return liste.toArray(new ParametreTrajet[0]);
     }
 
-    /** Écrit un CSV SNR : colonnes SNRdB,RZ,NRZ,NRZT + meta (#...) avec K=nbEcho. */
-    private static void ecrireCSV_SNR(File fichier, Float[] snrDb, double[] rz, double[] nrz, double[] nrzt, int nbEcho)
-            throws IOException {
-        try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fichier), StandardCharsets.UTF_8))) {
-            bw.write(("# type=SNR, nbEcho=%d, nbBitsParEssai=%d, nbEssais=%d, nbEch=%d, ampl=[%.3f,%.3f], dtMax=%d, rhoEcho=%.2f%n")
-                    .formatted(nbEcho, nbBitsParEssai, nbEssais, nbEch, amplitudeCodage[0], amplitudeCodage[1], dtMax, rhoEcho));
-            bw.write("SNRdB,RZ,NRZ,NRZT\n");
-            for (int i = 0; i < snrDb.length; i++) {
-                bw.write(String.format(Locale.US, "%.6f,%.6e,%.6e,%.6e%n", snrDb[i], rz[i], nrz[i], nrzt[i]));
-            }
-        }
-    }
-
     // --------- utilitaires ---------
     private static Float[] creerPlageSNRdB(float debut, float fin, int n) {
         Float[] v = new Float[n];
@@ -156,8 +145,4 @@ public class E4TransmissionBruiteeAnalyseMultiTrajet {
         for (int i = 0; i < n; i++) v[i] = debut + i * pas;
         return v;
     }
-    private static String floatStr(float f) {
-        if (Float.isFinite(f) && Math.rint(f) == f) return Integer.toString((int) f);
-        return Float.toString(f);
-    }
 }
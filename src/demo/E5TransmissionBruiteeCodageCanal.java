@@ -7,10 +7,10 @@ import information.Information;
 import information.InformationNonConformeException;
 import information.ParametreTrajet;
 import information.SizeInformationException;
+import simulateur.Campagne;
 import simulateur.Mode;
 
 import java.io.File;
-import java.io.PrintWriter;
 import java.util.LinkedList;
 import java.util.Locale;
 import java.util.Random;
@@ -41,6 +41,9 @@ public class E5TransmissionBruiteeCodageCanal {
         return l;
     }
 
+    // Masques des germes des bits source, par mode (RZ, NRZ, NRZT)
+    static final long[] MASQUES = {0xA11CE, 0xBEEFL, 0xC0FFEE};
+
     public static void main(String[] args) throws Exception {
         Locale.setDefault(Locale.US);
 
@@ -48,50 +51,28 @@ public class E5TransmissionBruiteeCodageCanal {
         Mode[] modes = new Mode[]{Mode.RZ, Mode.NRZ, Mode.NRZT};
         double[] snrs = SNR_GRID();
 
+        // Un point par (colonne, SNR) ; colonnes : with/without pour chaque mode.
+        // Les essais sont répartis sur tous les cœurs, avec les mêmes bits source qu'en série.
+        int nbColonnes = 2 * modes.length;
+        double[] moyennes = new Campagne().moyennes(nbColonnes * snrs.length, NB_ESSAIS, (point, essai) -> {
+            double snr = snrs[point % snrs.length];
+            int colonne = point / snrs.length;
+            int m = colonne / 2;
+            long seedBaseForThisRow = BASE_SEED + (long) (snr * 10_000L) + essai;
+            Information<Boolean> bits = bitsAleatoires(NB_BITS, seedBaseForThisRow ^ MASQUES[m]);
+            return (colonne % 2 == 0)
+                    ? chaineAvecCodage(bits, modes[m], (float) snr).teb
+                    : chaineSansCodage(bits, modes[m], (float) snr).teb;
+        });
+
         // Colonnes CSV : snr, with_RZ, without_RZ, with_NRZ, without_NRZ, with_NRZT, without_NRZT
         File outDir = new File("out");
         if (!outDir.exists()) outDir.mkdirs();
         File csv = new File(outDir, "teb_vs_snr.csv");
 
-        try (PrintWriter pw = new PrintWriter(csv, "UTF-8")) {
-            pw.println("snr_db,with_RZ,without_RZ,with_NRZ,without_NRZ,with_NRZT,without_NRZT");
-
-            for (double snr : snrs) {
-                // Accumulate TEB for each (mode, with/without)
-                double withRZ = 0, withoutRZ = 0, withNRZ = 0, withoutNRZ = 0, withNRZT = 0, withoutNRZT = 0;
-
-                for (int essai = 0; essai < NB_ESSAIS; essai++) {
-                    long seedBaseForThisRow = BASE_SEED + (long) (snr * 10_000L) + essai;
-
-                    // -- RZ
-                    Information<Boolean> bitsRZ = bitsAleatoires(NB_BITS, seedBaseForThisRow ^ 0xA11CE);
-                    withRZ    += chaineAvecCodage(bitsRZ, Mode.RZ, (float) snr).teb;
-                    withoutRZ += chaineSansCodage(bitsRZ, Mode.RZ, (float) snr).teb;
-
-                    // -- NRZ
-                    Information<Boolean> bitsNRZ = bitsAleatoires(NB_BITS, seedBaseForThisRow ^ 0xBEEFL);
-                    withNRZ    += chaineAvecCodage(bitsNRZ, Mode.NRZ, (float) snr).teb;
-                    withoutNRZ += chaineSansCodage(bitsNRZ, Mode.NRZ, (float) snr).teb;
-
-                    // -- NRZT
-                    Information<Boolean> bitsNRZT = bitsAleatoires(NB_BITS, seedBaseForThisRow ^ 0xC0FFEE);
-                    withNRZT    += chaineAvecCodage(bitsNRZT, Mode.NRZT, (float) snr).teb;
-                    withoutNRZT += chaineSansCodage(bitsNRZT, Mode.NRZT, (float) snr).teb;
-                }
-
-                // Moyennes
-                withRZ     /= NB_ESSAIS;
-                withoutRZ  /= NB_ESSAIS;
-                withNRZ    /= NB_ESSAIS;
-                withoutNRZ /= NB_ESSAIS;
-                withNRZT   /= NB_ESSAIS;
-                withoutNRZT/= NB_ESSAIS;
-
-                pw.printf(Locale.US,
-                        "%.0f,%.6g,%.6g,%.6g,%.6g,%.6g,%.6g%n",
-                        snr, withRZ, withoutRZ, withNRZ, withoutNRZ, withNRZT, withoutNRZT);
-            }
-        }
+        EcritureCsv.ecrire(csv, null, "snr_db",
+                new String[]{"with_RZ", "without_RZ", "with_NRZ", "without_NRZ", "with_NRZT", "without_NRZT"},
+                "%.0f", "%.6g", snrs, Campagne.decouper(moyennes, nbColonnes));
 
         // Optionnel : petit message (supprime si tu veux zéro console)
         System.out.println("[OK] CSV écrit : " + csv.getPath());
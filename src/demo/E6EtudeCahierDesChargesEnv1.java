@@ -1,7 +1,8 @@
 package demo;
 
+import simulateur.Campagne;
+import simulateur.ConfigurationSimulation;
 import simulateur.Mode;
-import simulateur.Simulateur;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -19,7 +20,15 @@ public class E6EtudeCahierDesChargesEnv1 {
 
     static final int bitJour = 1_000_000;  // bits d'information / jour
     static final double batterieJoules = 3.0;
-    static int nbEssais = 100;
+
+    // arrêt des essais d'un point SNR : 100 erreurs, ou IC à 95 % de largeur 20 % du TEB, ou 2.10^5 bits
+    static long nbErreursCible = 100;
+    static double largeurRelativeIC = 0.2;
+    static long nbBitsMax = 200_000;
+
+    // points sans aucune erreur (fond du waterfall) : échantillonnage préférentiel, 10 essais de 10^4 bits
+    static int nbEssaisIS = 10;
+    static int nbBitsIS = 10_000;
 
     static final File dossierSortie = new File("out");
 
@@ -35,9 +44,10 @@ public class E6EtudeCahierDesChargesEnv1 {
     }
 
     private static void runCampagne(LinkedList<Float[]> plage, boolean codageOn) throws Exception {
-        double[] rz   = mesurerPourForme(Mode.RZ,   plage, codageOn);
-        double[] nrz  = mesurerPourForme(Mode.NRZ,  plage, codageOn);
-        double[] nrzt = mesurerPourForme(Mode.NRZT, plage, codageOn);
+        Campagne.Estimation[][] teb = mesurerPourFormes(new Mode[]{Mode.RZ, Mode.NRZ, Mode.NRZT}, plage, codageOn);
+        Campagne.Estimation[] rz   = teb[0];
+        Campagne.Estimation[] nrz  = teb[1];
+        Campagne.Estimation[] nrzt = teb[2];
 
         String suffix = codageOn ? "_coded_R-1_3" : "_uncoded";
         File fichierCSV = new File(dossierSortie, "teb_snr_env1" + suffix + ".csv");
@@ -45,36 +55,49 @@ public class E6EtudeCahierDesChargesEnv1 {
         System.out.println("CSV prêt : " + fichierCSV.getAbsolutePath());
     }
 
-    /** Mesure le TEB moyen pour une forme donnée sur toute la plage SNR. */
-    private static double[] mesurerPourForme(Mode forme, LinkedList<Float[]> snrDb, boolean codageOn) throws Exception {
-        double[] tebMoyen = new double[snrDb.size()];
-        for (int i = 0; i < snrDb.size(); i++) {
-            float snr = snrDb.get(i)[1];
-            double sommeTeb = 0.0;
-            for (int essai = 0; essai < nbEssais; essai++) {
-                String[] argsSimu = new String[]{
-                        "-mess", Integer.toString(nbBits),
-                        "-form", forme.name(),
-                        "-nbEch", Integer.toString(nbEch),
-                        "-ampl", floatStr(amplitudeCodage[0]), floatStr(amplitudeCodage[1]),
-                        "-snrpb", floatStr(snr),
-                        "-seed", Long.toString(seed + essai),
-                };
-                if (codageOn) {
-                    // on étend le tableau avec l’option -codeur
-                    String[] withCodeur = new String[argsSimu.length + 1];
-                    System.arraycopy(argsSimu, 0, withCodeur, 0, argsSimu.length);
-                    withCodeur[withCodeur.length - 1] = "-codeur";
-                    argsSimu = withCodeur;
-                }
-
-                Simulateur simu = new Simulateur(argsSimu);
-                simu.execute();
-                sommeTeb += simu.calculTauxErreurBinaire(); // TEB post-décodage si -codage on
-            }
-            tebMoyen[i] = sommeTeb / nbEssais;
+    /**
+     * Estime le TEB pour chaque forme sur toute la plage SNR.  Les essais
+     * (forme, SNR, essai) sont répartis sur tous les cœurs et répétés, point
+     * par point, jusqu'au critère d'arrêt ; l'essai k utilise toujours le
+     * germe seed + k, pour toutes les formes : l'essai k de chaque forme émet
+     * le même message avec le même bruit réduit (nombres aléatoires communs
+     * entre formes, comme Campagne.comparerFormes).  Les points où aucune
+     * erreur n'a été observée sont ensuite estimés par échantillonnage
+     * préférentiel (canal discret équivalent, bruit biaisé vers le seuil).
+     */
+    private static Campagne.Estimation[][] mesurerPourFormes(Mode[] formes, LinkedList<Float[]> snrDb, boolean codageOn) throws Exception {
+        int nbSnr = snrDb.size();
+        ConfigurationSimulation[] configurations = new ConfigurationSimulation[formes.length * nbSnr];
+        for (int point = 0; point < configurations.length; point++) {
+            configurations[point] = ConfigurationSimulation.builder()
+                    .messageAleatoire(nbBits)
+                    .form(formes[point / nbSnr])
+                    .nbEch(nbEch)
+                    .amplitude(amplitudeCodage[0], amplitudeCodage[1])
+                    .snrpb(snrDb.get(point % nbSnr)[1])
+                    .codageCanal(codageOn)
+                    .build();
+        }
+        Campagne.CritereArret critere = new Campagne.CritereArret(nbErreursCible, largeurRelativeIC, nbBitsMax);
+        Campagne.Estimation[] tebMoyen = new Campagne().estimer(configurations.length, nbBits, critere, (point, essai) ->
+                // TEB post-décodage si codage actif
+                Campagne.teb(configurations[point].toBuilder().seed((int) (seed + essai)).build()));
+
+        int[] sansErreur = new int[configurations.length];
+        int nbSansErreur = 0;
+        for (int point = 0; point < configurations.length; point++) {
+            if (tebMoyen[point].getNbErreurs() == 0) sansErreur[nbSansErreur++] = point;
         }
-        return tebMoyen;
+        double[][] tebIS = new Campagne().executer(nbSansErreur, nbEssaisIS, (k, essai) ->
+                Campagne.teb(configurations[sansErreur[k]].toBuilder()
+                        .messageAleatoire(nbBitsIS)
+                        .echantillonnagePreferentiel(true)
+                        .seed((int) (seed + essai)).build()));
+        for (int k = 0; k < nbSansErreur; k++) {
+            tebMoyen[sansErreur[k]] = Campagne.Estimation.depuisEssais(tebIS[k], nbBitsIS);
+        }
+
+        return Campagne.decouper(tebMoyen, formes.length);
     }
 
     private static double dbmToW(double dbm) {
@@ -89,9 +112,12 @@ public class E6EtudeCahierDesChargesEnv1 {
         return EbN0 * N0 * L;
     }
 
-    /** Écrit un CSV : SNRdB,E,RZ,NRZ,NRZT,Eb_tx (J/bit),Energie consommée (par jour),Duree batterie (jour) */
-    private static void ecrireCSV(File fichier, LinkedList<Float[]> snrDb,
-                                  double[] rz, double[] nrz, double[] nrzt, boolean codageOn) throws IOException {
+    /**
+     * Écrit un CSV : SNRdB,E,RZ,NRZ,NRZT,Eb_tx (J/bit),Energie consommée (par jour),Duree batterie (jour),
+     * puis, pour chaque forme, les bornes de l'intervalle de confiance à 95 % du TEB et le nombre de bits simulés
+     */
+    private static void ecrireCSV(File fichier, LinkedList<Float[]> snrDb, Campagne.Estimation[] rz,
+                                  Campagne.Estimation[] nrz, Campagne.Estimation[] nrzt, boolean codageOn) throws IOException {
 
         // Taux de code (mapping 1 bit -> 3 bits transmis)
         double R = codageOn ? (1.0/3.0) : 1.0;
@@ -99,14 +125,18 @@ public class E6EtudeCahierDesChargesEnv1 {
         try (BufferedWriter bw = new BufferedWriter(
                 new OutputStreamWriter(new FileOutputStream(fichier), StandardCharsets.UTF_8))) {
 
-            bw.write("# nbBitsParEssai=" + nbBits + ", nbEssais=" + nbEssais + ", nbEch=" + nbEch
+            bw.write("# nbBitsParEssai=" + nbBits + ", nbErreursCible=" + nbErreursCible
+                    + ", largeurRelativeIC=" + largeurRelativeIC + ", nbBitsMax=" + nbBitsMax
+                    + ", IS=" + nbEssaisIS + "x" + nbBitsIS + " bits si aucune erreur" + ", nbEch=" + nbEch
                     + ", amplitudeCodage=[" + amplitudeCodage[0] + "," + amplitudeCodage[1] + "]"
                     + ", N0=" + n0 + " dBm/Hz, Attenuation(dB)=" + attenuationDb
                     + ", bits_info_par_jour=" + bitJour + ", batterie(J)=" + batterieJoules
                     + ", codage=" + (codageOn ? "ON" : "OFF")
                     + ", R=" + R + "\n");
 
-            bw.write("SNRdB,E,RZ,NRZ,NRZT,Eb_tx (J/bit),Energie consommée (par jour),Duree batterie (jour)\n");
+            bw.write("SNRdB,E,RZ,NRZ,NRZT,Eb_tx (J/bit),Energie consommée (par jour),Duree batterie (jour),"
+                    + "RZ_IC95_min,RZ_IC95_max,NRZ_IC95_min,NRZ_IC95_max,NRZT_IC95_min,NRZT_IC95_max,"
+                    + "RZ_nbBits,NRZ_nbBits,NRZT_nbBits\n");
 
             for (int i = 0; i < snrDb.size(); i++) {
                 double snrDbVal = snrDb.get(i)[0];
@@ -122,11 +152,15 @@ public class E6EtudeCahierDesChargesEnv1 {
                 double days      = (eDayJ > 0) ? (batterieJoules / eDayJ) : Double.POSITIVE_INFINITY;
 
                 bw.write(String.format(Locale.US,
-                        "%.6f,%.6f,%.6e,%.6e,%.6e,%.6e,%.6e,%.6e%n",
+                        "%.6f,%.6f,%.6e,%.6e,%.6e,%.6e,%.6e,%.6e,%.6e,%.6e,%.6e,%.6e,%.6e,%.6e,%d,%d,%d%n",
                         snrDbVal,
                         snrDbVal,
-                        rz[i], nrz[i], nrzt[i],
-                        ebTxJ, eDayJ, days
+                        rz[i].getTeb(), nrz[i].getTeb(), nrzt[i].getTeb(),
+                        ebTxJ, eDayJ, days,
+                        rz[i].getBorneInf(), rz[i].getBorneSup(),
+                        nrz[i].getBorneInf(), nrz[i].getBorneSup(),
+                        nrzt[i].getBorneInf(), nrzt[i].getBorneSup(),
+                        rz[i].getNbBits(), nrz[i].getNbBits(), nrzt[i].getNbBits()
                 ));
             }
         }
@@ -143,8 +177,4 @@ public class E6EtudeCahierDesChargesEnv1 {
         return list;
     }
 
-    private static String floatStr(float f) {
-        if (Float.isFinite(f) && Math.rint(f) == f) return Integer.toString((int) f);
-        return Float.toString(f);
-    }
 }
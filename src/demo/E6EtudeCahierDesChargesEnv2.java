@@ -1,9 +1,8 @@
 package demo;
 
+import simulateur.BalayageSnr;
+import simulateur.ConfigurationSimulation;
 import simulateur.Mode;
-import simulateur.Simulateur;
-import java.util.Arrays;
-import java.util.LinkedList;
 import java.io.FileWriter;
 import java.io.IOException;
 import static java.lang.Math.*;
@@ -20,8 +19,6 @@ public class E6EtudeCahierDesChargesEnv2 {
     static int tau1 = (int) round((pow(10, -5)/tBit));
     static int tau2 = tau1 * 2;
     static float[] amplitudeCodage = {-4f, 4f};
-    static float snrpb;
-    static Simulateur simulateur;
 
     public static void main(String[] args) throws Exception {
         // Créer un FileWriter pour écrire dans un fichier CSV
@@ -31,26 +28,25 @@ public class E6EtudeCahierDesChargesEnv2 {
 
             for (Mode mode : new Mode[]{Mode.NRZ, Mode.NRZT}) {
                 for (int nbEch = nbEchMin; nbEch <= nbEchMax; nbEch+=3) {
+                    // tous les SNR d'un nbEch en une seule simulation, avec le même bruit
+                    float[] snrpbs = new float[snrMax - snrMin + 1];
                     for(int snr = snrMin; snr <= snrMax; snr++){
-                        snrpb = (float) (snr - 3 + 10 * log10(nbEch));
-                        LinkedList<String> argsList = new LinkedList<>();
-                        argsList.addAll(Arrays.asList(
-                                "-mess", Integer.toString(longueurMess),
-                                "-form", mode.name(),
-                                "-nbEch", Integer.toString(nbEch),
-                                "-ampl", floatStr(amplitudeCodage[0]), floatStr(amplitudeCodage[1]),
-                                "-snrpb", floatStr(snrpb),
-                                "-ti", Integer.toString(tau1), floatStr(ampl1), Integer.toString(tau2), floatStr(ampl2),
-                                "-codeur"));
-
-                        Simulateur simu = new Simulateur(argsList.toArray(new String[0]));
-                        simu.execute();
-                        double tauxErreurBinaire = simu.calculTauxErreurBinaire();
-                        double snrCalcule = simu.calculSNRdB();
-
-                        // Écrire les résultats dans le fichier CSV
-                        writer.write(mode.name() + "," + nbEch + "," + snrCalcule + "," + tauxErreurBinaire + "\n");
+                        snrpbs[snr - snrMin] = (float) (snr - 3 + 10 * log10(nbEch));
+                    }
+                    ConfigurationSimulation configuration = ConfigurationSimulation.builder()
+                            .messageAleatoire(longueurMess)
+                            .form(mode)
+                            .nbEch(nbEch)
+                            .amplitude(amplitudeCodage[0], amplitudeCodage[1])
+                            .trajet(tau1, ampl1)
+                            .trajet(tau2, ampl2)
+                            .codageCanal(true)
+                            .build();
+                    double[] teb = new BalayageSnr(configuration).calculerTeb(snrpbs);
 
+                    for(int snr = snrMin; snr <= snrMax; snr++){
+                        // Écrire les résultats dans le fichier CSV (SNR par échantillon, celui que mesurait calculSNRdB)
+                        writer.write(mode.name() + "," + nbEch + "," + snr + "," + teb[snr - snrMin] + "\n");
                     }
 
                 }
@@ -59,10 +55,4 @@ public class E6EtudeCahierDesChargesEnv2 {
             e.printStackTrace();
         }
     }
-
-    // --------- utilitaires ---------
-    private static String floatStr(float f) {
-        if (Float.isFinite(f) && Math.rint(f) == f) return Integer.toString((int) f);
-        return Float.toString(f);
-    }
 }
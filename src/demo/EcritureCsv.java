@@ -0,0 +1,51 @@
+package demo;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Écriture des CSV de TEB des démonstrations : une ligne par abscisse (SNR,
+ * alpha...), une colonne par courbe (forme d'onde, avec ou sans codage...).
+ */
+final class EcritureCsv {
+
+    private EcritureCsv() {
+    }
+
+    /**
+     * Écrit un CSV : une ligne de métadonnées (#...) facultative, l'en-tête,
+     * puis abscisse,courbe 0,courbe 1... pour chaque abscisse.
+     *
+     * @param fichier          le fichier écrit
+     * @param meta             les métadonnées, sans le # ni le retour à la ligne (null : pas de ligne)
+     * @param nomAbscisse      le titre de la première colonne
+     * @param nomsCourbes      le titre de chaque courbe
+     * @param formatAbscisse   le format de l'abscisse (par exemple %.6f)
+     * @param formatValeur     le format des valeurs (par exemple %.6e)
+     * @param abscisses        les abscisses
+     * @param courbes          courbes[courbe][abscisse]
+     * @throws IOException si l'écriture échoue
+     */
+    static void ecrire(File fichier, String meta, String nomAbscisse, String[] nomsCourbes,
+                       String formatAbscisse, String formatValeur, double[] abscisses, double[][] courbes)
+            throws IOException {
+        try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fichier), StandardCharsets.UTF_8))) {
+            if (meta != null) {
+                bw.write("# " + meta + "\n");
+            }
+            bw.write(nomAbscisse + "," + String.join(",", nomsCourbes) + "\n");
+            for (int i = 0; i < abscisses.length; i++) {
+                StringBuilder ligne = new StringBuilder(String.format(Locale.US, formatAbscisse, abscisses[i]));
+                for (double[] courbe : courbes) {
+                    ligne.append(',').append(String.format(Locale.US, formatValeur, courbe[i]));
+                }
+                bw.write(ligne.append('\n').toString());
+            }
+        }
+    }
+}
@@ -8,7 +8,7 @@ import information.InformationNonConformeException;
 
 import java.util.LinkedList;
 
-public abstract class Element<R, E> implements ElementInterface<R,E> {
+public abstract class Element<R, E> implements ElementInterface<R,E>, FluxInterface {
     /**
      * la liste des composants destination connectés en sortie du transmetteur
      */
@@ -24,10 +24,16 @@ public abstract class Element<R, E> implements ElementInterface<R,E> {
      */
     protected Information<E> informationEmise;
 
+    /**
+     * indique si l'élément traite actuellement un flux de blocs
+     */
+    protected boolean enFlux;
+
     public Element() {
         destinationsConnectees = new LinkedList<DestinationInterface<E>>();
         informationRecue = null;
         informationEmise = null;
+        enFlux = false;
     }
 
     /**
@@ -79,19 +85,21 @@ public abstract class Element<R, E> implements ElementInterface<R,E> {
 
     /**
      * reçoit une information.  Cette méthode, en fin d'exécution,
-     * appelle la méthode émettre.
+     * appelle la méthode émettre.  L'information n'est pas recopiée :
+     * elle est partagée avec l'élément amont, qui l'a figée.
      *
      * @param information l'information  reçue
      * @throws InformationNonConformeException si l'Information comporte une anomalie
      */
     public Information<R> recevoir(Information<R> information) throws InformationNonConformeException{
-        informationRecue = new Information<>(information);
+        informationRecue = information;
         emettre();
         return informationRecue;
     }
 
     /**
-     * émet l'information construite par le transmetteur
+     * émet l'information construite par le transmetteur.  Elle est figée
+     * avant d'être transmise sans copie aux destinations connectées.
      *
      * @throws InformationNonConformeException si l'Information comporte une anomalie
      */
@@ -99,6 +107,7 @@ public abstract class Element<R, E> implements ElementInterface<R,E> {
         if (this.informationEmise == null || this.informationEmise.estVide()) {
             throw new InformationNonConformeException("Aucune information à émettre");
         }
+        informationEmise.figer();
 
         for(DestinationInterface<E> destination : destinationsConnectees) {
             destination.recevoir(informationEmise);
@@ -106,4 +115,30 @@ public abstract class Element<R, E> implements ElementInterface<R,E> {
         return getInformationEmise();
     }
 
+    /**
+     * passe l'élément en mode flux et propage le début du flux aux destinations
+     */
+    public void debuterFlux() {
+        enFlux = true;
+        for (DestinationInterface<E> destination : destinationsConnectees) {
+            if (destination instanceof FluxInterface) {
+                ((FluxInterface) destination).debuterFlux();
+            }
+        }
+    }
+
+    /**
+     * quitte le mode flux et propage la fin du flux aux destinations
+     *
+     * @throws InformationNonConformeException si l'Information comporte une anomalie
+     */
+    public void terminerFlux() throws InformationNonConformeException {
+        enFlux = false;
+        for (DestinationInterface<E> destination : destinationsConnectees) {
+            if (destination instanceof FluxInterface) {
+                ((FluxInterface) destination).terminerFlux();
+            }
+        }
+    }
+
 }
@@ -0,0 +1,26 @@
+package elements;
+
+import information.InformationNonConformeException;
+
+/**
+ * Interface d'un composant capable de traiter un message découpé en blocs
+ * successifs (mode flux).  Entre debuterFlux et terminerFlux, chaque appel à
+ * recevoir apporte le bloc suivant du même message ; le composant conserve
+ * l'état nécessaire à la jonction entre deux blocs.
+ */
+public interface FluxInterface {
+
+    /**
+     * prépare le composant à recevoir un nouveau flux de blocs et
+     * réinitialise l'état conservé entre les blocs
+     */
+    public void debuterFlux();
+
+    /**
+     * signale la fin du flux : le composant émet ce qu'il retenait encore
+     * puis propage la fin du flux à ses destinations
+     *
+     * @throws InformationNonConformeException si l'Information comporte une anomalie
+     */
+    public void terminerFlux() throws InformationNonConformeException;
+}
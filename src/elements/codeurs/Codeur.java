@@ -4,25 +4,65 @@ import elements.Element;
 import elements.sources.SourceFixe;
 import elements.transmetteurs.TransmetteurParfait;
 import information.Information;
+import information.InformationAnalogique;
+import information.InformationLogique;
 import information.InformationNonConformeException;
+import information.SignalHorsTas;
 import simulateur.Mode;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
 
 
 public class Codeur extends Element<Boolean, Float> {
 
-    private Integer dernierBit;
-    private Integer bitSuivant;
+    /**
+     * Code d'un octet : le bit i de l'octet donne les bits 3i, 3i+1 et 3i+2
+     * du code (b, non b, b)
+     */
+    private static final int[] CODE_OCTET = new int[256];
+
+    /**
+     * nombre de bits mis en forme à la fois dans un signal hors tas
+     */
+    private static final int BITS_PAR_BLOC = 1 << 16;
+
+    static {
+        for (int octet = 0; octet < 256; octet++) {
+            int code = 0;
+            for (int i = 0; i < 8; i++) {
+                code |= (((octet >>> i) & 1) != 0 ? 0b101 : 0b010) << (3 * i);
+            }
+            CODE_OCTET[octet] = code;
+        }
+    }
+
     private Mode mode;
     private Float[] amplitude;
     private int nbEch;
     private boolean choixCodage;
     private Information<Boolean> informationCodee;
 
+    /**
+     * en mode flux NRZT : dernier bit reçu, pas encore mis en forme (-1 si aucun)
+     */
+    private int bitRetenu = -1;
+
+    /**
+     * en mode flux NRZT : bit précédant le bit retenu (-1 si aucun)
+     */
+    private int bitAvantRetenu = -1;
+
+    /**
+     * gabarits des symboles, calculés à la construction : le symbole d'un bit ne
+     * dépend que de sa valeur et, en NRZT, de ses voisins (voir indice)
+     */
+    private final float[][] gabarits;
+
+    /**
+     * énergie (somme des carrés des échantillons) de chaque gabarit
+     */
+    private final double[] energies;
+
     /**
      * Constructeur du décodeur.
      *
@@ -37,6 +77,42 @@ public class Codeur extends Element<Boolean, Float> {
         this.choixCodage = choixCodage;
         this.informationEmise = new Information<>();
         this.informationCodee = new Information<>();
+        this.gabarits = calculerGabarits();
+        this.energies = new double[gabarits.length];
+        for (int g = 0; g < gabarits.length; g++) {
+            for (float v : gabarits[g]) {
+                energies[g] += v * v;
+            }
+        }
+    }
+
+    /**
+     * Calcule les 2 x 3 x 3 gabarits (valeur, bit précédent, bit suivant) ;
+     * en NRZ et en RZ, les voisins n'interviennent pas et les gabarits d'une
+     * même valeur sont partagés.
+     */
+    private float[][] calculerGabarits() {
+        float[][] g = new float[18][];
+        for (int valeur = 0; valeur <= 1; valeur++) {
+            for (int precedent = -1; precedent <= 1; precedent++) {
+                for (int suivant = -1; suivant <= 1; suivant++) {
+                    g[indice(valeur, precedent, suivant)] = (mode == Mode.NRZT || (precedent == -1 && suivant == -1))
+                            ? miseEnFormeSymbole(valeur, precedent, suivant)
+                            : g[indice(valeur, -1, -1)];
+                }
+            }
+        }
+        return g;
+    }
+
+    /**
+     * @param valeur    le bit à mettre en forme (0 ou 1)
+     * @param precedent le bit précédent (-1 si aucun)
+     * @param suivant   le bit suivant (-1 si aucun)
+     * @return le rang du gabarit correspondant
+     */
+    private static int indice(int valeur, int precedent, int suivant) {
+        return 9 * valeur + 3 * (precedent + 1) + (suivant + 1);
     }
 
     public Information<Boolean> recevoir(Information<Boolean> information) throws InformationNonConformeException {
@@ -49,59 +125,199 @@ public class Codeur extends Element<Boolean, Float> {
     /**
      * Permet de transformer notre information initiale booléenne en information flottante,
      * appel de fonctions différentes selon le mode souhaité.
+     * En mode flux NRZT, le dernier bit de chaque bloc est retenu jusqu'au bloc
+     * suivant (ou la fin du flux) pour connaître son successeur.
+     * Chaque symbole est copié depuis son gabarit dans un tableau de la taille
+     * exacte du signal.
      *
      * @return la conversion de l'information reçue (boolean) en float
      * @throws InformationNonConformeException
      */
-    public Information<Float> transformer() throws InformationNonConformeException {
-        Information<Float> informationFloat = new Information<>();
-
-        if (informationCodee.estVide() || informationCodee == null) {
-            informationCodee = informationRecue;
+    public InformationAnalogique transformer() throws InformationNonConformeException {
+        Information<Boolean> aMettreEnForme = (choixCodage && !informationCodee.estVide()) ? informationCodee : informationRecue;
+
+        // Accès direct aux bits compactés
+        InformationLogique bits = InformationLogique.convertir(aMettreEnForme);
+        int nbBits = bits.nbElements();
+
+        if (enFlux && mode == Mode.NRZT) {
+            int nbSymboles = (bitRetenu != -1) ? nbBits : nbBits - 1;
+            float[] echantillons = new float[nbSymboles * nbEch];
+            int position = 0;
+            if (bitRetenu != -1) {
+                System.arraycopy(gabarits[indice(bitRetenu, bitAvantRetenu, bits.bit(0) ? 1 : 0)], 0, echantillons, 0, nbEch);
+                position = nbEch;
+            }
+            miseEnForme(bits, 0, nbBits - 1, bitRetenu, bits.bit(nbBits - 1) ? 1 : 0, echantillons, position);
+            bitAvantRetenu = (nbBits >= 2) ? (bits.bit(nbBits - 2) ? 1 : 0) : bitRetenu;
+            bitRetenu = bits.bit(nbBits - 1) ? 1 : 0;
+            return new InformationAnalogique(echantillons);
         }
-        Float[] symbole = new Float[nbEch];
-        List<Boolean> bitsList = new ArrayList<>();
+        float[] echantillons = new float[nbBits * nbEch];
+        miseEnForme(bits, 0, nbBits, -1, -1, echantillons, 0);
+        return new InformationAnalogique(echantillons);
+    }
 
-        Map<Boolean, Integer> convertion = new HashMap<>();
-        convertion.put(true, 1);
-        convertion.put(false, 0);
+    /**
+     * Met en forme des bits (codés par le code de répétition si le codeur le
+     * prévoit) directement dans un signal hors tas, par blocs de BITS_PAR_BLOC
+     * bits : le signal est celui que transformer() produirait hors mode flux,
+     * sans limite de taille.
+     *
+     * @param bits  les bits à mettre en forme
+     * @param marge le nombre d'échantillons réservés après le signal (traîne des trajets multiples)
+     * @return le signal mis en forme, de nbBits * nbEch échantillons
+     */
+    public SignalHorsTas mettreEnFormeHorsTas(InformationLogique bits, int marge) {
+        InformationLogique aMettreEnForme = choixCodage ? coderCanal(bits) : bits;
+        long nbEchantillons = (long) aMettreEnForme.nbElements() * nbEch;
+        return mettreEnForme(aMettreEnForme, new SignalHorsTas(nbEchantillons, nbEchantillons + marge));
+    }
+
+    /**
+     * Comme mettreEnFormeHorsTas, dans un signal rangé dans un fichier
+     * temporaire projeté en mémoire : le signal peut dépasser la mémoire vive.
+     *
+     * @param bits  les bits à mettre en forme
+     * @param marge le nombre d'échantillons réservés après le signal (traîne des trajets multiples)
+     * @return le signal mis en forme, de nbBits * nbEch échantillons
+     * @throws IOException si le fichier temporaire ne peut pas être créé
+     */
+    public SignalHorsTas mettreEnFormeProjete(InformationLogique bits, int marge) throws IOException {
+        InformationLogique aMettreEnForme = choixCodage ? coderCanal(bits) : bits;
+        long nbEchantillons = (long) aMettreEnForme.nbElements() * nbEch;
+        return mettreEnForme(aMettreEnForme, SignalHorsTas.projete(nbEchantillons, nbEchantillons + marge));
+    }
 
-        // Convertir l'information en une liste de bits
-        for (Boolean b : informationCodee) {
-            bitsList.add(b);
+    private SignalHorsTas mettreEnForme(InformationLogique aMettreEnForme, SignalHorsTas signal) {
+        int nbBits = aMettreEnForme.nbElements();
+        float[] bloc = new float[Math.min(BITS_PAR_BLOC, nbBits) * nbEch];
+        for (int debut = 0; debut < nbBits; debut += BITS_PAR_BLOC) {
+            int fin = Math.min(debut + BITS_PAR_BLOC, nbBits);
+            int precedent = (debut == 0) ? -1 : (aMettreEnForme.bit(debut - 1) ? 1 : 0);
+            int suivant = (fin == nbBits) ? -1 : (aMettreEnForme.bit(fin) ? 1 : 0);
+            miseEnForme(aMettreEnForme, debut, fin, precedent, suivant, bloc, 0);
+            signal.ecrire((long) debut * nbEch, bloc, 0, (fin - debut) * nbEch);
         }
+        return signal;
+    }
 
-        // Convertir la liste en tableau
-        Boolean[] bits = bitsList.toArray(new Boolean[0]);
-        for (int i = 0; i < bits.length; i++) {
-            // Déterminer le bit suivant (par défaut, on suppose qu'il n'y a pas de bit suivant)
-            if (i == bits.length - 1) {
-                bitSuivant = -1;
-            }else{
-                bitSuivant = convertion.get(bits[i+1]);
-            }
+    /**
+     * Calcule la puissance du signal que transformer() produirait pour ces bits
+     * (hors mode flux), à partir de l'énergie des gabarits et sans construire le signal.
+     *
+     * @param bits les bits à mettre en forme
+     * @return la puissance moyenne par échantillon
+     */
+    public double puissance(InformationLogique bits) {
+        int nbBits = bits.nbElements();
+        if (nbBits == 0) {
+            return 0.0;
+        }
+        long[] mots = bits.mots();
+        double energie = 0.0;
+        int precedent = -1;
+        int courant = bit(mots, 0);
+        for (int i = 0; i < nbBits; i++) {
+            int suivant = (i == nbBits - 1) ? -1 : bit(mots, i + 1);
+            energie += energies[indice(courant, precedent, suivant)];
+            precedent = courant;
+            courant = suivant;
+        }
+        return energie / ((double) nbBits * nbEch);
+    }
 
-            if (i == 0){
-                dernierBit = -1;
+    /**
+     * Calcule la puissance moyenne du signal pour des bits source équiprobables
+     * et indépendants (codage canal compris), à partir de l'énergie des
+     * gabarits : c'est la limite de puissance() pour un long message aléatoire.
+     *
+     * @return la puissance moyenne par échantillon
+     */
+    public double puissanceMoyenne() {
+        int longueur = choixCodage ? 3 : 1;
+        double energie = 0.0;
+        // un bit source et ses deux voisins, dans les huit cas équiprobables
+        for (int voisinage = 0; voisinage < 8; voisinage++) {
+            InformationLogique source = new InformationLogique(new long[]{voisinage}, 3);
+            long[] mots = (choixCodage ? coderCanal(source) : source).mots();
+            for (int i = longueur; i < 2 * longueur; i++) {
+                energie += energies[indice(bit(mots, i), bit(mots, i - 1), bit(mots, i + 1))];
             }
-            else{
-                dernierBit = convertion.get(bits[i-1]);
+        }
+        return energie / (8.0 * longueur * nbEch);
+    }
+
+    /**
+     * Calcule, pour chaque bit, la moyenne de son symbole sur la fenêtre
+     * [debut, fin) d'un bit, c'est-à-dire la valeur que le décodeur obtiendrait
+     * en l'absence de bruit (hors mode flux).
+     *
+     * @param bits  les bits à mettre en forme
+     * @param debut le premier échantillon de la fenêtre
+     * @param fin   l'échantillon suivant le dernier de la fenêtre
+     * @return la moyenne de chaque symbole sur la fenêtre
+     */
+    public float[] moyennesFenetre(InformationLogique bits, int debut, int fin) {
+        float[] moyennes = new float[gabarits.length];
+        for (int g = 0; g < gabarits.length; g++) {
+            float somme = 0;
+            for (int j = debut; j < fin; j++) {
+                somme += gabarits[g][j];
             }
+            moyennes[g] = somme / (fin - debut);
+        }
+        int nbBits = bits.nbElements();
+        long[] mots = bits.mots();
+        float[] resultat = new float[nbBits];
+        int precedent = -1;
+        int courant = (nbBits > 0) ? bit(mots, 0) : 0;
+        for (int i = 0; i < nbBits; i++) {
+            int suivant = (i == nbBits - 1) ? -1 : bit(mots, i + 1);
+            resultat[i] = moyennes[indice(courant, precedent, suivant)];
+            precedent = courant;
+            courant = suivant;
+        }
+        return resultat;
+    }
 
+    /**
+     * Met en forme les bits de rang debut à fin (exclu)
+     *
+     * @param bits      les bits à mettre en forme
+     * @param debut     rang du premier bit
+     * @param fin       rang suivant le dernier bit
+     * @param precedent bit précédant le premier (-1 si aucun)
+     * @param suivant   bit suivant le dernier (-1 si aucun)
+     * @param sortie    tableau dans lequel copier les échantillons
+     * @param position  rang du premier échantillon écrit dans sortie
+     */
+    private void miseEnForme(InformationLogique bits, int debut, int fin, int precedent, int suivant,
+                             float[] sortie, int position) {
+        long[] mots = bits.mots();
+        int courant = (debut < fin) ? bit(mots, debut) : 0;
+        for (int i = debut; i < fin; i++) {
+            int bitSuivant = (i == fin - 1) ? suivant : bit(mots, i + 1);
+            System.arraycopy(gabarits[indice(courant, precedent, bitSuivant)], 0, sortie, position, nbEch);
+            position += nbEch;
+            precedent = courant;
+            courant = bitSuivant;
+        }
+    }
 
-            // Forme d'onde rectangulaire
-            if (mode == Mode.NRZ) {
-                symbole = miseEnFormeSymboleNRZ(bits[i]);
-            } else if (mode == Mode.NRZT) { // Forme d'onde trapézoïdale
-                symbole = miseEnFormeSymboleNRZT(convertion.get(bits[i]), dernierBit, bitSuivant);
-            } else if (mode == Mode.RZ) { // Forme d'onde impulsionnelle
-                symbole = miseEnFormeSymboleRZ(bits[i]);
-            }
-            for (Float f : symbole) {
-                informationFloat.add(f);
-            }
+    private static int bit(long[] mots, int i) {
+        return (int) (mots[i >>> 6] >>> i) & 1;
+    }
+
+    private float[] miseEnFormeSymbole(int valeur, int precedent, int suivant) {
+        switch (mode) {
+            case NRZ: // Forme d'onde rectangulaire
+                return miseEnFormeSymboleNRZ(valeur == 1);
+            case NRZT: // Forme d'onde trapézoïdale
+                return miseEnFormeSymboleNRZT(valeur, precedent, suivant);
+            default: // Forme d'onde impulsionnelle
+                return miseEnFormeSymboleRZ(valeur == 1);
         }
-        return informationFloat;
     }
 
 
@@ -111,8 +327,8 @@ public class Codeur extends Element<Boolean, Float> {
      * @param information information à mettre en forme selon le mode NRZ
      * @return un tableau de float qu'il faut par la suite ajouté dans Information
      */
-    private Float[] miseEnFormeSymboleNRZ(boolean information) {
-        Float[] palier = new Float[nbEch];
+    private float[] miseEnFormeSymboleNRZ(boolean information) {
+        float[] palier = new float[nbEch];
 
         // Itération du nombre d'échantillons souhaité
         for (int i = 0; i < nbEch; i++) {
@@ -130,37 +346,35 @@ public class Codeur extends Element<Boolean, Float> {
      * @param suivant information suivante
      * @return un tableau de float qu'il faut par la suite ajouté dans Information
      */
-    private Float[] miseEnFormeSymboleNRZT(int valeur, int precedent, int suivant) {
+    private float[] miseEnFormeSymboleNRZT(int valeur, int precedent, int suivant) {
         float min = amplitude[0];
         float max = amplitude[1];
 
-        Float[] symbole = new Float[nbEch];
-        Map<Integer, Float> convertion = new HashMap<>();
-        convertion.put(0, min);
-        convertion.put(1, max);
+        float[] symbole = new float[nbEch];
+        float[] convertion = {min, max};
         for (int i = 0; i < nbEch/3; i++) {
 
             if (precedent == -1){
                 float x = ((float) i /(nbEch /3f));
-                symbole[i] = convertion.get(valeur)*x;
+                symbole[i] = convertion[valeur]*x;
             }else {
                 float x = (((float) i /(nbEch /3f))/2f) + 0.5f;
-                symbole[i] = convertion.get(precedent) - (convertion.get(precedent) - convertion.get(valeur))*x;
+                symbole[i] = convertion[precedent] - (convertion[precedent] - convertion[valeur])*x;
             }
 
         }
         for (int i = nbEch/3; i < 2*nbEch/3; i++) {
-            symbole[i] = convertion.get(valeur);
+            symbole[i] = convertion[valeur];
         }
         for (int i = 2*nbEch/3; i < nbEch; i++) {
 
             if (suivant == -1){
                 float x = (float) ((i - 2f*nbEch/3f) / (nbEch /3f));
-                symbole[i] = convertion.get(valeur) - (convertion.get(valeur))*x;
+                symbole[i] = convertion[valeur] - (convertion[valeur])*x;
             }
             else {
                 float x = (float) (((i - 2f*nbEch/3f) / (nbEch /3f))/2f);
-                symbole[i] = convertion.get(valeur) - (convertion.get(valeur) - convertion.get(suivant))*x;
+                symbole[i] = convertion[valeur] - (convertion[valeur] - convertion[suivant])*x;
             }
 
         }
@@ -174,8 +388,8 @@ public class Codeur extends Element<Boolean, Float> {
      * @param information information à mettre en forme
      * @return un tableau de float avec les informations traitées
      */
-    private Float[] miseEnFormeSymboleRZ(boolean information) {
-        Float[] palier = new Float[nbEch];
+    private float[] miseEnFormeSymboleRZ(boolean information) {
+        float[] palier = new float[nbEch];
 
         for (int i = 0; i < (nbEch / 3); i++) {
             palier[i] = 0.0f;
@@ -192,31 +406,51 @@ public class Codeur extends Element<Boolean, Float> {
 
     /**
      * Utilisation d'un codage de canal afin de pouvoir détecter des erreurs issues de la transmission bruitée
+     * (voir coderCanal).
      *
      * @return information mise en forme
      * @throws InformationNonConformeException
      */
-    public Information<Boolean> codageCanal() throws InformationNonConformeException, NullPointerException {
+    public InformationLogique codageCanal() throws InformationNonConformeException, NullPointerException {
         if(informationRecue == null || informationRecue.estVide()) {
             throw new InformationNonConformeException("Information Vide");
         }
 
-        informationCodee = new Information<>();
+        InformationLogique codee = coderCanal(InformationLogique.convertir(informationRecue));
+        informationCodee = codee;
+        return codee;
+    }
 
-        // Itération des informations reçues
-        for(Boolean b : informationRecue){
-            if(!b){ // Cas ou le bit est à 0
-                informationCodee.add(false);
-                informationCodee.add(true);
-                informationCodee.add(false);
-            }
-            if(b){ //Cas ou le bit est à 1
-                informationCodee.add(true);
-                informationCodee.add(false);
-                informationCodee.add(true);
-            }
+    /**
+     * Code des bits avec le code de répétition 0 -> 010, 1 -> 101.
+     * Chaque mot de 64 bits est codé octet par octet à l'aide de la table
+     * CODE_OCTET, et donne exactement trois mots de bits codés.
+     *
+     * @param bits les bits à coder
+     * @return les bits codés, trois fois plus nombreux
+     */
+    public static InformationLogique coderCanal(InformationLogique bits) {
+        int nbBits = bits.nbElements();
+        long[] mots = bits.mots();
+        long[] codes = new long[3 * InformationLogique.nbMots(nbBits)];
+
+        // 0 -> 010, 1 -> 101 : 8 bits reçus donnent 24 bits codés
+        for (int m = 0; m < InformationLogique.nbMots(nbBits); m++) {
+            long mot = mots[m];
+            long c0 = CODE_OCTET[(int) mot & 0xFF];
+            long c1 = CODE_OCTET[(int) (mot >>> 8) & 0xFF];
+            long c2 = CODE_OCTET[(int) (mot >>> 16) & 0xFF];
+            long c3 = CODE_OCTET[(int) (mot >>> 24) & 0xFF];
+            long c4 = CODE_OCTET[(int) (mot >>> 32) & 0xFF];
+            long c5 = CODE_OCTET[(int) (mot >>> 40) & 0xFF];
+            long c6 = CODE_OCTET[(int) (mot >>> 48) & 0xFF];
+            long c7 = CODE_OCTET[(int) (mot >>> 56) & 0xFF];
+            codes[3 * m] = c0 | (c1 << 24) | (c2 << 48);
+            codes[3 * m + 1] = (c2 >>> 16) | (c3 << 8) | (c4 << 32) | (c5 << 56);
+            codes[3 * m + 2] = (c5 >>> 8) | (c6 << 16) | (c7 << 40);
         }
-        return informationCodee;
+        // les codes des bits au-delà de nbBits sont effacés par le constructeur
+        return new InformationLogique(codes, 3 * nbBits);
     }
 
     @Override
@@ -224,9 +458,32 @@ public class Codeur extends Element<Boolean, Float> {
         if(choixCodage) informationCodee = codageCanal();
         informationEmise = transformer();
 
+        if (enFlux && informationEmise.estVide()) {
+            return informationEmise; // bloc d'un seul bit NRZT : retenu jusqu'au suivant
+        }
         return super.emettre();
     }
 
+    @Override
+    public void debuterFlux() {
+        bitRetenu = -1;
+        bitAvantRetenu = -1;
+        super.debuterFlux();
+    }
+
+    /**
+     * Met en forme le bit NRZT retenu (sans successeur) avant de terminer le flux
+     */
+    @Override
+    public void terminerFlux() throws InformationNonConformeException {
+        if (mode == Mode.NRZT && bitRetenu != -1) {
+            informationEmise = new InformationAnalogique(gabarits[indice(bitRetenu, bitAvantRetenu, -1)].clone());
+            bitRetenu = -1;
+            super.emettre();
+        }
+        super.terminerFlux();
+    }
+
 
     /*public static void main(String[] args) throws Exception {
         Float[] amp = {0.0f, 4.0f};
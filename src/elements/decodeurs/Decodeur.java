@@ -3,12 +3,16 @@ package elements.decodeurs;
 import elements.Element;
 import elements.destinations.DestinationInterface;
 import information.Information;
+import information.InformationAnalogique;
+import information.InformationLogique;
 import information.InformationNonConformeException;
+import information.InformationPaginee;
+import information.NoyauxSignal;
+import information.SignalHorsTas;
 import information.SizeInformationException;
 import simulateur.Mode;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.stream.IntStream;
 
 import static java.lang.Math.round;
 
@@ -18,12 +22,32 @@ import static java.lang.Math.round;
  */
 public class Decodeur extends Element<Float, Boolean> {
 
+    /**
+     * nombre de bits à partir duquel un signal est décodé en parallèle
+     */
+    private static final int SEUIL_DECODAGE_PARALLELE = 1 << 15;
+
+    /**
+     * nombre de bits (multiple de 64) lus à la fois dans un signal hors tas
+     */
+    private static final int BITS_PAR_BLOC = 1 << 16;
+
     private Mode mode;
     private Float[] amplitude;
     private int nbEch;
     private boolean choixCodage;
     private Information<Boolean> informationDecodee;
 
+    /**
+     * en mode flux : échantillons d'un bit incomplet en fin de bloc
+     */
+    private InformationAnalogique resteEchantillons = new InformationAnalogique(0);
+
+    /**
+     * en mode flux avec codage canal : bits d'un triplet incomplet en fin de bloc
+     */
+    private InformationLogique resteBits = new InformationLogique(0);
+
     /**
      * Constructeur du décodeur.
      *
@@ -54,52 +78,173 @@ public class Decodeur extends Element<Float, Boolean> {
     }
 
     public Information<Boolean> transformer(Information<Float> information) throws InformationNonConformeException {
-        if (choixCodage) informationDecodee = decodeCanal(informationRecue);
+        if (enFlux) informationDecodee = transformerBloc(information);
+        else if (choixCodage) informationDecodee = decodeCanal(informationRecue);
         else informationDecodee = decode(information);
         return informationDecodee;
     }
 
     /**
-     * Décode un signal
+     * Décode un signal par intégration sur la fenêtre utile de chaque bit
+     * (integrate and dump) : la moyenne des échantillons de la fenêtre est
+     * comparée au seuil, mi-chemin entre les amplitudes minimale et maximale.
+     * Les fenêtres étant disjointes, seuls les échantillons utiles sont lus ;
+     * les bits sont rangés directement par mots de 64, et les longs messages
+     * sont décodés en parallèle, un mot par tâche.
      *
      * @param information L'information analogique à décoder.
      * @return L'information décodée en signal numérique.
      */
-    private Information<Boolean> decode(Information<Float> information) {
-        Information<Boolean> informationDecodee = new Information<>();
+    private InformationLogique decode(Information<Float> information) {
         int nbBits = information.nbElements() / nbEch;
-        int[] bornes = new int[2];
+        int[] bornes = getFenetre();
+        if (bornes == null) {
+            return null;
+        }
+        if (mode == Mode.RZ) {
+            amplitude[0] = 0f;
+        }
+
+        int debut = bornes[0];
+        int fin = bornes[1];
+        float seuil = getSeuil();
+        long[] mots = new long[InformationLogique.nbMots(nbBits)];
+        if (information instanceof InformationPaginee) {
+            // les pages sont lues sur place, sans recopier le signal dans un tableau contigu
+            InformationPaginee signal = (InformationPaginee) information;
+            IntStream mots64 = IntStream.range(0, mots.length);
+            (nbBits >= SEUIL_DECODAGE_PARALLELE ? mots64.parallel() : mots64)
+                    .forEach(m -> mots[m] = integrerMot(signal, m, nbBits, debut, fin, seuil));
+            return new InformationLogique(mots, nbBits);
+        }
+        float[] echantillons = InformationAnalogique.convertir(information).tableau();
+        if (nbBits >= SEUIL_DECODAGE_PARALLELE) {
+            IntStream.range(0, mots.length).parallel()
+                    .forEach(m -> mots[m] = integrerMot(echantillons, m, nbBits, debut, fin, seuil));
+        } else {
+            for (int m = 0; m < mots.length; m++) {
+                mots[m] = integrerMot(echantillons, m, nbBits, debut, fin, seuil);
+            }
+        }
+        return new InformationLogique(mots, nbBits);
+    }
+
+    /**
+     * Décode un signal hors tas par blocs de BITS_PAR_BLOC bits, comme
+     * transformer() le ferait hors mode flux (décodage de canal compris), sans
+     * que le signal ait à tenir dans le tas.  Les échantillons qui ne forment pas
+     * un bit complet (fin de la traîne des échos) sont ignorés.
+     *
+     * @param signal le signal reçu
+     * @return les bits décodés
+     * @throws SizeInformationException si le signal compte plus de 2^31 bits
+     */
+    public InformationLogique decoderHorsTas(SignalHorsTas signal) {
+        long nbBitsSignal = signal.nbElements() / nbEch;
+        if (nbBitsSignal > Integer.MAX_VALUE - 64) {
+            throw new SizeInformationException("Signal trop long pour être décodé : " + nbBitsSignal + " bits");
+        }
+        int nbBits = (int) nbBitsSignal;
+        int[] bornes = getFenetre();
+        int debut = bornes[0];
+        int fin = bornes[1];
+        float seuil = getSeuil();
+        long[] mots = new long[InformationLogique.nbMots(nbBits)];
+        float[] echantillons = new float[Math.min(BITS_PAR_BLOC, nbBits) * nbEch];
+        for (int premier = 0; premier < nbBits; premier += BITS_PAR_BLOC) {
+            int nbBitsBloc = Math.min(BITS_PAR_BLOC, nbBits - premier);
+            signal.lire((long) premier * nbEch, echantillons, 0, nbBitsBloc * nbEch);
+            int motPremier = premier >>> 6;
+            int nbMotsBloc = InformationLogique.nbMots(nbBitsBloc);
+            if (nbBitsBloc >= SEUIL_DECODAGE_PARALLELE) {
+                IntStream.range(0, nbMotsBloc).parallel()
+                        .forEach(m -> mots[motPremier + m] = integrerMot(echantillons, m, nbBitsBloc, debut, fin, seuil));
+            } else {
+                for (int m = 0; m < nbMotsBloc; m++) {
+                    mots[motPremier + m] = integrerMot(echantillons, m, nbBitsBloc, debut, fin, seuil);
+                }
+            }
+        }
+        InformationLogique recus = new InformationLogique(mots, nbBits);
+        return choixCodage ? decoderCanal(recus) : recus;
+    }
 
+    /**
+     * pour connaître la fenêtre d'intégration d'un bit selon la forme d'onde :
+     * tout le bit en NRZ, son tiers central en NRZT et en RZ
+     *
+     * @return les rangs [début, fin) des échantillons intégrés dans un bit, null si le mode est inconnu
+     */
+    public int[] getFenetre() {
         switch (mode) {
             case RZ:
-                amplitude[0] = 0f;
-                bornes = new int[]{(int) round(nbEch / 3.0), (int) round(2 * nbEch / 3.0)};
-                break;
-            case NRZ:
-                bornes = new int[]{0, nbEch};
-                break;
             case NRZT:
-                bornes = new int[]{(int) round(nbEch / 3.0), (int) round(2 * nbEch / 3.0)};
-                break;
+                return new int[]{(int) round(nbEch / 3.0), (int) round(2 * nbEch / 3.0)};
+            case NRZ:
+                return new int[]{0, nbEch};
             default:
                 return null;
         }
+    }
 
-        for (int i = 0; i < nbBits; i++) {
+    /**
+     * pour connaître le seuil de décision, à mi-chemin entre les amplitudes
+     * (l'amplitude minimale d'un signal RZ est 0)
+     *
+     * @return le seuil de décision
+     */
+    public float getSeuil() {
+        float min = (mode == Mode.RZ) ? 0f : amplitude[0];
+        return (min + amplitude[1]) / 2;
+    }
+
+    /**
+     * Décode les bits 64m à 64m + 63 (au plus nbBits)
+     *
+     * @param echantillons le signal reçu
+     * @param m            le rang du mot décodé
+     * @param nbBits       le nombre de bits du signal
+     * @param debut        début de la fenêtre d'intégration dans un bit
+     * @param fin          fin (exclue) de la fenêtre d'intégration
+     * @param seuil        le seuil de décision
+     * @return le mot des bits décodés
+     */
+    private long integrerMot(float[] echantillons, int m, int nbBits, int debut, int fin, float seuil) {
+        int premier = m << 6;
+        int nb = Math.min(64, nbBits - premier);
+        return NoyauxSignal.actifs().seuiller(echantillons, premier * nbEch, nbEch, nb, debut, fin, seuil);
+    }
+
+    /**
+     * Décode les bits 64m à 64m + 63 (au plus nbBits) d'un signal paginé ; la
+     * fenêtre d'un bit peut être à cheval sur deux pages.
+     */
+    private long integrerMot(InformationPaginee signal, int m, int nbBits, int debut, int fin, float seuil) {
+        int premier = m << 6;
+        int nb = Math.min(64, nbBits - premier);
+        int nbValeur = fin - debut;
+        int taillePage = signal.taillePage();
+        int decalage = Integer.numberOfTrailingZeros(taillePage);
+        int pageCourante = -1;
+        float[] page = null;
+        long mot = 0L;
+        for (int k = 0; k < nb; k++) {
+            int base = (premier + k) * nbEch;
             float somme = 0;
-            int nbValeur = 0;
-            for (int j = bornes[0]; j < bornes[1]; j++) {
-                somme += information.iemeElement(i * nbEch + j);
-                nbValeur++;
+            for (int j = base + debut; j < base + fin; j++) {
+                if (j >>> decalage != pageCourante) {
+                    pageCourante = j >>> decalage;
+                    page = signal.page(pageCourante).getEchantillons();
+                }
+                somme += page[j & (taillePage - 1)];
+            }
+            if (somme / nbValeur >= seuil) {
+                mot |= 1L << k;
             }
-            float moyenne = somme / nbValeur;
-            informationDecodee.add((moyenne >= (amplitude[0] + amplitude[1]) / 2));
         }
-
-        return informationDecodee;
+        return mot;
     }
 
-
     /**
      * Émet l'information décodée vers les destinations connectées.
      *
@@ -110,10 +255,69 @@ public class Decodeur extends Element<Float, Boolean> {
             throw new InformationNonConformeException("Aucune information à émettre");
         }
 
-        informationEmise = new Information<>(transformer(getInformationRecue()));
+        informationEmise = transformer(getInformationRecue());
+        if (enFlux && informationEmise.estVide()) {
+            return informationEmise; // bloc trop court pour contenir un bit complet
+        }
         return super.emettre();
     }
 
+    /**
+     * Décode un bloc du flux : les échantillons (et, avec le codage canal, les bits
+     * codés) qui ne forment pas un bit (un triplet) complet sont conservés pour le
+     * bloc suivant.
+     *
+     * @param bloc le bloc d'échantillons reçu
+     * @return les bits décodés du bloc
+     */
+    private InformationLogique transformerBloc(Information<Float> bloc) {
+        InformationAnalogique echantillons = InformationAnalogique.convertir(bloc);
+        if (!resteEchantillons.estVide()) {
+            resteEchantillons.ajouter(echantillons.tableau(), 0, echantillons.nbElements());
+            echantillons = resteEchantillons;
+        }
+        InformationLogique bits = decode(echantillons);
+        int utilises = bits.nbElements() * nbEch;
+        InformationAnalogique reste = new InformationAnalogique(nbEch);
+        reste.ajouter(echantillons.tableau(), utilises, echantillons.nbElements() - utilises);
+        resteEchantillons = reste;
+
+        if (!choixCodage) {
+            return bits;
+        }
+        if (!resteBits.estVide()) {
+            for (int i = 0; i < bits.nbElements(); i++) {
+                resteBits.ajouter(bits.bit(i));
+            }
+            bits = resteBits;
+        }
+        int nbTriplets = bits.nbElements() / 3;
+        InformationLogique decodes = decoderTriplets(bits, nbTriplets);
+        resteBits = new InformationLogique(3);
+        for (int i = 3 * nbTriplets; i < bits.nbElements(); i++) {
+            resteBits.ajouter(bits.bit(i));
+        }
+        return decodes;
+    }
+
+    @Override
+    public void debuterFlux() {
+        resteEchantillons = new InformationAnalogique(0);
+        resteBits = new InformationLogique(0);
+        super.debuterFlux();
+    }
+
+    /**
+     * Termine le flux ; un bit (ou triplet) incomplet en fin de flux est ignoré,
+     * comme en décodage d'un message complet.
+     */
+    @Override
+    public void terminerFlux() throws InformationNonConformeException {
+        resteEchantillons = new InformationAnalogique(0);
+        resteBits = new InformationLogique(0);
+        super.terminerFlux();
+    }
+
     /**
      * ;
      * Définit le mode de décodage.
@@ -140,13 +344,13 @@ public class Decodeur extends Element<Float, Boolean> {
      * @return information booléenne décodée
      * @throws SizeInformationException si les données sont nulles, vides ou de tailles incohérentes
      */
-    public Information<Boolean> decodeCanal(Information<Float> information) throws SizeInformationException {
+    public InformationLogique decodeCanal(Information<Float> information) throws SizeInformationException {
         if (information == null || information.nbElements() == 0) {
             throw new SizeInformationException("Information nulle ou vide");
         }
 
         // Décodage de l'information analogique en bits
-        Information<Boolean> bitsRecus = decode(information);
+        InformationLogique bitsRecus = decode(information);
         if (bitsRecus == null || bitsRecus.nbElements() == 0) {
             throw new SizeInformationException("Décodage du canal a échoué");
         }
@@ -158,27 +362,75 @@ public class Decodeur extends Element<Float, Boolean> {
             );
         }
 
-        // Dictionnaire de correspondance 3 bits -> 1 bit
-        Map<String, Boolean> dict = Map.of(
-                "000", false, "001", true,  "010", false, "011", false,
-                "100", true,  "101", true,  "110", false, "111", true
-        );
+        return decoderTriplets(bitsRecus, bitsRecus.nbElements() / 3);
+    }
 
-        // Application du dictionnaire
-        Information<Boolean> informationDecodee = new Information<>();
-        for (int i = 0; i < bitsRecus.nbElements(); i += 3) {
-            char b0 = bitsRecus.iemeElement(i) ? '1' : '0';
-            char b1 = bitsRecus.iemeElement(i + 1) ? '1' : '0';
-            char b2 = bitsRecus.iemeElement(i + 2) ? '1' : '0';
-            String key = "" + b0 + b1 + b2;
+    /**
+     * Décode des bits codés par le code de répétition (les bits d'un triplet
+     * incomplet en fin de message sont ignorés)
+     *
+     * @param bitsCodes les bits codés
+     * @return les bits décodés
+     */
+    public static InformationLogique decoderCanal(InformationLogique bitsCodes) {
+        return decoderTriplets(bitsCodes, bitsCodes.nbElements() / 3);
+    }
 
-            Boolean sortie = dict.get(key);
-            if (sortie == null) {
-                throw new SizeInformationException("Combinaison inconnue: " + key);
-            }
-            informationDecodee.add(sortie);
+    /**
+     * Décode les nbTriplets premiers triplets de bits reçus.
+     * Le triplet b0 b1 b2 est décodé en majorité(b0, non b1, b2), ce qui
+     * correspond au dictionnaire 000→0, 001→1, 010→0, 011→0, 100→1, 101→1,
+     * 110→0, 111→1.  Les triplets sont traités 64 par 64 : trois mots
+     * consécutifs (192 bits codés) donnent un mot de bits décodés.
+     *
+     * @param bitsRecus  bits codés
+     * @param nbTriplets nombre de triplets à décoder
+     * @return information booléenne décodée
+     */
+    private static InformationLogique decoderTriplets(InformationLogique bitsRecus, int nbTriplets) {
+        long[] mots = new long[InformationLogique.nbMots(nbTriplets)];
+        for (int m = 0; m < mots.length; m++) {
+            int debut = 3 * 64 * m;
+            mots[m] = decoderMots(bitsRecus.extraireMot(debut),
+                    bitsRecus.extraireMot(debut + 64), bitsRecus.extraireMot(debut + 128));
         }
+        // les bits décodés au-delà de nbTriplets sont effacés par le constructeur
+        return new InformationLogique(mots, nbTriplets);
+    }
 
-        return informationDecodee;
+    /**
+     * Décode les 64 triplets de 192 bits codés (b0 du triplet k au rang 3k).
+     * La majorité est calculée au rang de chaque bit, b1 et b2 ramenés d'un et
+     * de deux rangs (en prenant les bits du mot suivant) ; seuls les rangs 3k,
+     * ceux des b0, sont ensuite gardés.
+     *
+     * @param x0 les bits codés 0 à 63
+     * @param x1 les bits codés 64 à 127
+     * @param x2 les bits codés 128 à 191
+     * @return les 64 bits décodés
+     */
+    static long decoderMots(long x0, long x1, long x2) {
+        long m0 = majorite(x0, ~((x0 >>> 1) | (x1 << 63)), (x0 >>> 2) | (x1 << 62));
+        long m1 = majorite(x1, ~((x1 >>> 1) | (x2 << 63)), (x1 >>> 2) | (x2 << 62));
+        long m2 = majorite(x2, ~(x2 >>> 1), x2 >>> 2);
+        // rangs 3k : 0 à 63 dans m0 (22 bits), 66 à 126 dans m1, 129 à 189 dans m2 (21 bits chacun)
+        return unSurTrois(m0) | (m0 >>> 63) << 21 | unSurTrois(m1 >>> 2) << 22 | unSurTrois(m2 >>> 1) << 43;
+    }
+
+    private static long majorite(long a, long b, long c) {
+        return (a & b) | (a & c) | (b & c);
+    }
+
+    /**
+     * Rassemble les bits de rang 0, 3, 6, ..., 60 d'un mot dans ses 21 bits de poids faible
+     */
+    private static long unSurTrois(long x) {
+        x &= 0x1249249249249249L;
+        x = (x ^ (x >>> 2)) & 0x10c30c30c30c30c3L;
+        x = (x ^ (x >>> 4)) & 0x100f00f00f00f00fL;
+        x = (x ^ (x >>> 8)) & 0x001f0000ff0000ffL;
+        x = (x ^ (x >>> 16)) & 0x001f00000000ffffL;
+        x = (x ^ (x >>> 32)) & 0x00000000001fffffL;
+        return x;
     }
 }
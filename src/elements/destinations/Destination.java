@@ -31,7 +31,7 @@ public  abstract class Destination <T> implements DestinationInterface <T> {
     }
    	    
     /**
-     * reçoit une information
+     * reçoit une information (partagée avec l'émetteur, sans copie)
      * @param information  l'information  à recevoir
      * @throws InformationNonConformeException si l'Information comporte une anomalie
      */
@@ -39,7 +39,7 @@ public  abstract class Destination <T> implements DestinationInterface <T> {
         if (information == null) {
             throw new InformationNonConformeException("Information is null");
         }
-        informationRecue = new Information<>(information);
+        informationRecue = information;
         return getInformationRecue();
     }
 }
@@ -1,5 +1,123 @@
 package elements.destinations;
 
-public class DestinationFinale extends Destination<Boolean> {
+import elements.FluxInterface;
+import information.Information;
+import information.InformationLogique;
+import information.InformationNonConformeException;
 
+/**
+ * Destination finale de la chaîne : l'information reçue est conservée
+ * sous forme compacte (InformationLogique) pour le calcul du TEB.
+ * En mode flux, elle ne conserve que le dernier bloc reçu et compte les
+ * erreurs au fil de l'eau en comparant chaque bloc aux bits émis par la
+ * source, reçus par son entrée de référence.
+ */
+public class DestinationFinale extends Destination<Boolean> implements FluxInterface {
+
+    private boolean enFlux = false;
+
+    /**
+     * bits émis par la source et pas encore comparés (mode flux)
+     */
+    private InformationLogique referenceEnAttente = new InformationLogique(0);
+    private int debutAttente = 0;
+
+    private long nbBitsComparesFlux = 0;
+    private long nbErreursFlux = 0;
+
+    /**
+     * reçoit une information et la range sous forme compacte
+     * (sans copie si elle l'est déjà)
+     * @param information  l'information  à recevoir
+     * @throws InformationNonConformeException si l'Information est null
+     */
+    @Override
+    public Information<Boolean> recevoir(Information<Boolean> information) throws InformationNonConformeException {
+        if (information == null) {
+            throw new InformationNonConformeException("Information is null");
+        }
+        InformationLogique bits = InformationLogique.convertir(information);
+        if (enFlux) {
+            comparer(bits);
+        }
+        informationRecue = bits;
+        return getInformationRecue();
+    }
+
+    /**
+     * pour obtenir l'entrée par laquelle, en mode flux, la destination reçoit
+     * les blocs émis par la source.  Elle doit être connectée à la source avant
+     * le reste de la chaîne, pour que chaque bloc de référence arrive avant
+     * les bits décodés correspondants.
+     * @return l'entrée de référence
+     */
+    public DestinationInterface<Boolean> getEntreeReference() {
+        return new Destination<Boolean>() {
+            @Override
+            public Information<Boolean> recevoir(Information<Boolean> information) throws InformationNonConformeException {
+                if (information == null) {
+                    throw new InformationNonConformeException("Information is null");
+                }
+                informationRecue = information;
+                ajouterReference(InformationLogique.convertir(information));
+                return getInformationRecue();
+            }
+        };
+    }
+
+    private void ajouterReference(InformationLogique blocEmis) {
+        int enAttente = referenceEnAttente.nbElements() - debutAttente;
+        if (enAttente == 0) {
+            referenceEnAttente = blocEmis;
+        } else {
+            InformationLogique attente = new InformationLogique(enAttente + blocEmis.nbElements());
+            for (int i = debutAttente; i < referenceEnAttente.nbElements(); i++) {
+                attente.ajouter(referenceEnAttente.bit(i));
+            }
+            for (int i = 0; i < blocEmis.nbElements(); i++) {
+                attente.ajouter(blocEmis.bit(i));
+            }
+            referenceEnAttente = attente;
+        }
+        debutAttente = 0;
+    }
+
+    /**
+     * compare un bloc reçu aux bits de référence en attente ; les bits reçus
+     * au-delà de la référence (traîne des trajets multiples) sont ignorés
+     */
+    private void comparer(InformationLogique bloc) {
+        int n = Math.min(bloc.nbElements(), referenceEnAttente.nbElements() - debutAttente);
+        nbErreursFlux += InformationLogique.compterDifferences(referenceEnAttente, debutAttente, bloc, 0, n);
+        nbBitsComparesFlux += n;
+        debutAttente += n;
+    }
+
+    @Override
+    public void debuterFlux() {
+        enFlux = true;
+        referenceEnAttente = new InformationLogique(0);
+        debutAttente = 0;
+        nbBitsComparesFlux = 0;
+        nbErreursFlux = 0;
+    }
+
+    @Override
+    public void terminerFlux() {
+        enFlux = false;
+    }
+
+    /**
+     * @return le nombre d'erreurs comptées pendant le dernier flux
+     */
+    public long getNbErreursFlux() {
+        return nbErreursFlux;
+    }
+
+    /**
+     * @return le nombre de bits comparés pendant le dernier flux
+     */
+    public long getNbBitsComparesFlux() {
+        return nbBitsComparesFlux;
+    }
 }
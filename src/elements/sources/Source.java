@@ -1,6 +1,7 @@
 package elements.sources;
 
 import information.*;
+import elements.FluxInterface;
 import elements.destinations.DestinationInterface;
 import java.util.*;
 
@@ -61,15 +62,72 @@ public  abstract class Source <T> implements  SourceInterface <T> {
     }
    
     /**
-     * émet l'information générée
+     * émet l'information générée ; elle est figée puis partagée sans copie
+     * avec les composants connectés
      * @throws InformationNonConformeException si l'Information comporte une anomalie
      */
     public Information<T> emettre() throws InformationNonConformeException {
+        informationGeneree.figer();
        	// émission vers les composants connectés
         for (DestinationInterface <T> destinationConnectee : destinationsConnectees) {
                 destinationConnectee.recevoir(informationGeneree);
         }
-        this.informationEmise = new Information<>(informationGeneree);
+        this.informationEmise = informationGeneree;
         return getInformationEmise();
     }
+
+    /**
+     * émet le message par blocs successifs de tailleBloc éléments (mode flux) :
+     * les destinations sont prévenues du début et de la fin du flux et
+     * reçoivent chaque bloc par recevoir.  Seul le bloc courant est conservé.
+     * @param tailleBloc le nombre d'éléments par bloc
+     * @throws InformationNonConformeException si l'Information comporte une anomalie
+     */
+    public void emettreFlux(int tailleBloc) throws InformationNonConformeException {
+        if (tailleBloc <= 0) {
+            throw new IllegalArgumentException("La taille de bloc doit être strictement positive : " + tailleBloc);
+        }
+        for (DestinationInterface <T> destinationConnectee : destinationsConnectees) {
+            if (destinationConnectee instanceof FluxInterface) {
+                ((FluxInterface) destinationConnectee).debuterFlux();
+            }
+        }
+        int nbElements = nbElementsFlux();
+        for (int debut = 0; debut < nbElements; debut += tailleBloc) {
+            Information <T> bloc = genererBloc(debut, Math.min(tailleBloc, nbElements - debut));
+            bloc.figer();
+            this.informationEmise = bloc;
+            for (DestinationInterface <T> destinationConnectee : destinationsConnectees) {
+                destinationConnectee.recevoir(bloc);
+            }
+        }
+        for (DestinationInterface <T> destinationConnectee : destinationsConnectees) {
+            if (destinationConnectee instanceof FluxInterface) {
+                ((FluxInterface) destinationConnectee).terminerFlux();
+            }
+        }
+    }
+
+    /**
+     * nombre total d'éléments émis en mode flux
+     * @return la longueur du message
+     */
+    protected int nbElementsFlux() {
+        return informationGeneree == null ? 0 : informationGeneree.nbElements();
+    }
+
+    /**
+     * construit le bloc [debut, debut + taille[ du message émis en mode flux ;
+     * les blocs sont demandés dans l'ordre
+     * @param debut le rang du premier élément du bloc
+     * @param taille le nombre d'éléments du bloc
+     * @return le bloc
+     */
+    protected Information <T> genererBloc(int debut, int taille) {
+        Information <T> bloc = new Information<>();
+        for (int i = debut; i < debut + taille; i++) {
+            bloc.add(informationGeneree.iemeElement(i));
+        }
+        return bloc;
+    }
 }
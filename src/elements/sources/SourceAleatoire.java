@@ -33,6 +33,19 @@
             random.setSeed(seed);
         }
 
+        /**
+         * Prépare la source pour un nouveau message, en conservant son générateur
+         *
+         * @param nbBits la longueur du prochain message
+         * @param seed   la nouvelle graine, null pour poursuivre la suite aléatoire courante
+         */
+        public void reinitialiser(int nbBits, Integer seed) {
+            this.nbBits = nbBits;
+            if (seed != null) {
+                random.setSeed(seed);
+            }
+        }
+
          /**
           * Emission du message aléatoire en utilisant la fonction de la classe mère
           */
@@ -46,10 +59,32 @@
          * Permet de générer le message aléatoire
          */
         private void genererMessageAleatoire() {
-            informationGeneree = new Information<Boolean>();
-            for (int i = 0; i < nbBits; i++) { // on itère sur la taille du message
-                informationGeneree.add(random.nextBoolean()); // ajout aléatoire de 0 ou 1
+            informationGeneree = genererBits(nbBits);
+        }
+
+        private InformationLogique genererBits(int n) {
+            InformationLogique message = new InformationLogique(n);
+            for (int i = 0; i < n; i++) { // on itère sur la taille du message
+                message.ajouter(random.nextBoolean()); // ajout aléatoire de 0 ou 1
             }
+            return message;
+        }
+
+        /**
+         * En mode flux le message n'est jamais généré en entier
+         */
+        @Override
+        protected int nbElementsFlux() {
+            return nbBits;
+        }
+
+        /**
+         * Génère le bloc suivant du message aléatoire ; la suite de bits est la
+         * même que celle du message complet pour une même semence
+         */
+        @Override
+        protected Information<Boolean> genererBloc(int debut, int taille) {
+            return genererBits(taille);
         }
 
     }
@@ -1,6 +1,7 @@
 package elements.sources;
 
 import information.Information;
+import information.InformationLogique;
 
 import java.util.Objects;
 
@@ -21,14 +22,14 @@ public class SourceFixe extends Source<Boolean>{
 	public SourceFixe(String motif) {
 		super();
 		Objects.requireNonNull(motif, "motif ne doit pas être null");
-		Boolean[] data = new Boolean[motif.length()];
+		InformationLogique data = new InformationLogique(motif.length());
 		for (int i = 0; i < motif.length(); i++) {
 			char c = motif.charAt(i);
-			if (c == '0') data[i] = Boolean.FALSE;
-			else if (c == '1') data[i] = Boolean.TRUE;
+			if (c == '0') data.ajouter(false);
+			else if (c == '1') data.ajouter(true);
 			else throw new IllegalArgumentException("motif invalide: uniquement '0' ou '1'");
 		}
-		this.informationGeneree = new Information<>(data);
+		this.informationGeneree = data;
 	}
 
 
@@ -36,4 +37,12 @@ public class SourceFixe extends Source<Boolean>{
 		super();
 		informationGeneree = new Information<>();
 	}
+
+	/**
+	 * Remplace le message envoyé par la source
+	 * @param information le nouveau message
+	 */
+	public void setMessage(Information<Boolean> information) {
+		informationGeneree = information;
+	}
 }
@@ -0,0 +1,244 @@
+package elements.transmetteurs;
+
+import bruits.BruitBlancGaussien;
+import bruits.MoteurGaussien;
+import elements.codeurs.Codeur;
+import elements.decodeurs.Decodeur;
+import information.Information;
+import information.InformationLogique;
+import information.InformationNonConformeException;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Canal discret équivalent à la chaîne Codeur, TransmetteurBruite (sans trajets
+ * multiples) et Decodeur.
+ * <br>
+ * Le décodeur ne regarde que la moyenne des échantillons d'un bit sur sa
+ * fenêtre d'intégration, comparée au seuil.  Le bruit étant blanc et gaussien
+ * d'écart-type sigma, cette moyenne vaut la moyenne du symbole non bruité plus
+ * un bruit gaussien d'écart-type sigma / sqrt(W), W étant la taille de la
+ * fenêtre.  Le canal tire donc un seul échantillon de bruit par bit au lieu de
+ * nbEch, et décide directement des bits reçus, codage de canal compris.
+ * La puissance du signal est celle que le codeur aurait produite.
+ * <br>
+ * En échantillonnage préférentiel, la moyenne du bruit de chaque bit est
+ * translatée de mu jusqu'au seuil de décision, si bien qu'environ un bit sur
+ * deux est faux, et chaque erreur est pondérée par le rapport de vraisemblance
+ * exp((mu² - 2 x mu) / (2 sigma²)) entre le bruit réel et le bruit biaisé.
+ * Avec le codage de canal, une erreur demande deux bits faux sur trois :
+ * seuls deux bits du triplet, tirés au hasard, sont translatés, et le poids
+ * est le rapport entre la densité réelle et le mélange des trois choix
+ * possibles (translater aussi le troisième bit ferait exploser la variance).
+ * La somme des poids des erreurs divisée par le nombre de bits est une
+ * estimation sans biais du TEB, utilisable là où le TEB est trop faible pour
+ * observer des erreurs (1e-9 avec environ 10^5 bits).
+ */
+public class CanalDiscretEquivalent extends Transmetteur<Boolean> {
+
+    private final Codeur codeur;
+    private final Decodeur decodeur;
+    private final int nbEch;
+    private final boolean codageCanal;
+
+    private Float snrpb;
+    private boolean aleatoireAvecGerme;
+    private int seed;
+    private MoteurGaussien moteurGaussien = MoteurGaussien.BOX_MULLER;
+
+    private boolean echantillonnagePreferentiel = false;
+
+    /**
+     * en échantillonnage préférentiel : somme des poids des bits faux de la dernière émission
+     */
+    private double sommePoidsErreurs;
+
+    private final Random generateur = new Random();
+
+    /**
+     * Construit un canal discret équivalent sans germe
+     *
+     * @param codeur      le codeur de la chaîne équivalente
+     * @param decodeur    le décodeur de la chaîne équivalente
+     * @param snrpb       SNR par bit (null pour un canal sans bruit)
+     * @param nbEch       nombre d'échantillons par bit
+     * @param codageCanal true si les bits sont protégés par le code de répétition
+     */
+    public CanalDiscretEquivalent(Codeur codeur, Decodeur decodeur, Float snrpb, int nbEch, boolean codageCanal) {
+        super();
+        this.codeur = codeur;
+        this.decodeur = decodeur;
+        this.snrpb = snrpb;
+        this.nbEch = nbEch;
+        this.codageCanal = codageCanal;
+        this.aleatoireAvecGerme = false;
+    }
+
+    /**
+     * Construit un canal discret équivalent avec germe
+     *
+     * @param codeur      le codeur de la chaîne équivalente
+     * @param decodeur    le décodeur de la chaîne équivalente
+     * @param snrpb       SNR par bit (null pour un canal sans bruit)
+     * @param nbEch       nombre d'échantillons par bit
+     * @param codageCanal true si les bits sont protégés par le code de répétition
+     * @param seed        graine aléatoire
+     */
+    public CanalDiscretEquivalent(Codeur codeur, Decodeur decodeur, Float snrpb, int nbEch, boolean codageCanal, int seed) {
+        this(codeur, decodeur, snrpb, nbEch, codageCanal);
+        this.aleatoireAvecGerme = true;
+        this.seed = seed;
+    }
+
+    /**
+     * Choisit l'algorithme de tirage du bruit gaussien (Box-Muller par défaut)
+     *
+     * @param moteurGaussien l'algorithme à utiliser
+     */
+    public void setMoteurGaussien(MoteurGaussien moteurGaussien) {
+        this.moteurGaussien = moteurGaussien;
+    }
+
+    /**
+     * Active l'échantillonnage préférentiel (bruit translaté jusqu'au seuil,
+     * erreurs pondérées par le rapport de vraisemblance)
+     *
+     * @param echantillonnagePreferentiel true pour biaiser le bruit
+     */
+    public void setEchantillonnagePreferentiel(boolean echantillonnagePreferentiel) {
+        this.echantillonnagePreferentiel = echantillonnagePreferentiel;
+    }
+
+    public boolean isEchantillonnagePreferentiel() {
+        return echantillonnagePreferentiel;
+    }
+
+    /**
+     * @return la somme des poids des bits faux de la dernière émission : divisée par
+     * le nombre de bits, l'estimation du TEB en échantillonnage préférentiel
+     */
+    public double getSommePoidsErreurs() {
+        return sommePoidsErreurs;
+    }
+
+    /**
+     * Prépare le canal pour un nouveau message, sans le reconstruire
+     *
+     * @param snrpb le nouveau SNR par bit
+     * @param seed  la nouvelle graine aléatoire, null pour un bruit sans germe
+     */
+    public void reinitialiser(Float snrpb, Integer seed) {
+        this.snrpb = snrpb;
+        this.aleatoireAvecGerme = (seed != null);
+        if (seed != null) {
+            this.seed = seed;
+        }
+    }
+
+    /**
+     * Émet les bits que le décodeur aurait décidés après la transmission
+     * bruitée de l'information reçue
+     *
+     * @return information émise
+     * @throws InformationNonConformeException si erreur
+     */
+    @Override
+    public Information<Boolean> emettre() throws InformationNonConformeException {
+        if (informationRecue == null) {
+            throw new InformationNonConformeException("Aucune information à émettre");
+        }
+        InformationLogique source = InformationLogique.convertir(informationRecue);
+        InformationLogique transmis = source;
+        if (codageCanal) {
+            transmis = Codeur.coderCanal(transmis);
+        }
+        int nbBits = transmis.nbElements();
+        int[] fenetre = decodeur.getFenetre();
+        float seuil = decodeur.getSeuil();
+        float[] moyennes = codeur.moyennesFenetre(transmis, fenetre[0], fenetre[1]);
+        double[] poids = new double[source.nbElements()];
+        Arrays.fill(poids, 1.0);
+
+        if (snrpb != null && nbBits > 0) {
+            if (aleatoireAvecGerme) {
+                generateur.setSeed(seed);
+            }
+            // la moyenne de W échantillons de variance sigma² a pour variance sigma² / W
+            int largeur = fenetre[1] - fenetre[0];
+            double pSignal = codeur.puissance(transmis);
+            float[] bruit = new BruitBlancGaussien(nbBits, snrpb, pSignal / largeur, nbEch, generateur, moteurGaussien).tableau();
+            double ecartType = BruitBlancGaussien.ecartType(snrpb, pSignal / largeur, nbEch);
+            double variance = ecartType * ecartType;
+            if (echantillonnagePreferentiel && variance > 0) {
+                biaiser(moyennes, bruit, seuil, variance, poids);
+            } else {
+                for (int i = 0; i < nbBits; i++) {
+                    moyennes[i] += bruit[i];
+                }
+            }
+        }
+
+        long[] mots = new long[InformationLogique.nbMots(nbBits)];
+        for (int i = 0; i < nbBits; i++) {
+            if (moyennes[i] >= seuil) {
+                mots[i >>> 6] |= 1L << i;
+            }
+        }
+        InformationLogique recus = new InformationLogique(mots, nbBits);
+        InformationLogique decides = codageCanal ? Decodeur.decoderCanal(recus) : recus;
+        sommePoidsErreurs = 0.0;
+        if (echantillonnagePreferentiel) {
+            for (int j = 0; j < decides.nbElements(); j++) {
+                if (decides.bit(j) != source.bit(j)) {
+                    sommePoidsErreurs += poids[j];
+                }
+            }
+        }
+        informationEmise = decides;
+        return super.emettre();
+    }
+
+    /**
+     * Ajoute aux moyennes le bruit biaisé vers le seuil et calcule le rapport
+     * de vraisemblance de chaque bit d'information.
+     *
+     * @param moyennes les moyennes non bruitées des bits transmis, bruitées en retour
+     * @param bruit    le bruit non biaisé, de variance variance
+     * @param seuil    le seuil de décision
+     * @param variance la variance du bruit
+     * @param poids    le rapport de vraisemblance de chaque bit d'information (résultat)
+     */
+    private void biaiser(float[] moyennes, float[] bruit, float seuil, double variance, double[] poids) {
+        if (!codageCanal) {
+            for (int i = 0; i < moyennes.length; i++) {
+                double mu = seuil - moyennes[i];
+                double x = bruit[i] + mu;
+                poids[i] = Math.exp((mu * mu - 2 * x * mu) / (2 * variance));
+                moyennes[i] += (float) x;
+            }
+            return;
+        }
+        double[] mu = new double[3];
+        double[] x = new double[3];
+        for (int j = 0; j < poids.length; j++) {
+            int epargne = generateur.nextInt(3);
+            // log du rapport densité biaisée / densité réelle pour chaque bit translaté
+            double[] logRapport = new double[3];
+            for (int k = 0; k < 3; k++) {
+                int i = 3 * j + k;
+                mu[k] = seuil - moyennes[i];
+                x[k] = bruit[i] + ((k == epargne) ? 0.0 : mu[k]);
+                logRapport[k] = (2 * x[k] * mu[k] - mu[k] * mu[k]) / (2 * variance);
+                moyennes[i] += (float) x[k];
+            }
+            double total = logRapport[0] + logRapport[1] + logRapport[2];
+            double max = Math.max(total - logRapport[0], Math.max(total - logRapport[1], total - logRapport[2]));
+            double melange = 0.0;
+            for (int k = 0; k < 3; k++) {
+                melange += Math.exp(total - logRapport[k] - max);
+            }
+            poids[j] = 3.0 / melange * Math.exp(-max);
+        }
+    }
+}
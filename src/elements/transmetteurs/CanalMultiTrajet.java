@@ -0,0 +1,314 @@
+package elements.transmetteurs;
+
+import information.NoyauxSignal;
+import information.ParametreTrajet;
+
+import java.util.List;
+
+/**
+ * La classe CanalMultiTrajet applique en une fois les trajets multiples d'un
+ * TransmetteurBruite à un signal de float.
+ * <br>
+ * Les trajets sont des étages en cascade : chaque étage ajoute au signal son
+ * écho retardé de tau et multiplié par alpha.  La réponse impulsionnelle du
+ * canal est donc le produit des (1 + alpha z^-tau), de longueur 1 + somme des
+ * tau, et le signal en sortie compte somme des tau échantillons de plus que le
+ * signal en entrée (la traîne des échos).  Le canal est calculé par la méthode
+ * la moins coûteuse :
+ * <ul>
+ * <li>CASCADE : les étages sont appliqués sur place, un passage par trajet ;
+ * le résultat est exactement celui de genererInformationRetardee puis somme,
+ * trajet par trajet</li>
+ * <li>FIR_CREUX : convolution directe par les seuls coefficients non nuls de
+ * la réponse impulsionnelle (quand des retards se confondent)</li>
+ * <li>FFT : convolution par blocs (overlap-save), pour de nombreux trajets</li>
+ * </ul>
+ */
+public class CanalMultiTrajet {
+
+    /**
+     * Méthodes de calcul du canal
+     */
+    public enum Methode {
+        CASCADE, FIR_CREUX, FFT
+    }
+
+    /**
+     * taille minimale des blocs de la convolution par FFT
+     */
+    private static final int TAILLE_FFT_MIN = 1024;
+
+    private final int[] taus;
+    private final float[] alphas;
+    private final int traine;
+
+    /**
+     * coefficients non nuls de la réponse impulsionnelle et leurs retards
+     */
+    private final int[] retards;
+    private final float[] coefficients;
+
+    private final Methode methode;
+
+    /**
+     * pour la méthode FFT : taille des blocs et transformée de la réponse impulsionnelle
+     */
+    private int tailleFft;
+    private double[] reponseRe;
+    private double[] reponseIm;
+    private double[] cosinus;
+    private double[] sinus;
+
+    /**
+     * Construit le canal et choisit la méthode de calcul la moins coûteuse
+     *
+     * @param trajets les trajets multiples, dans l'ordre où ils sont appliqués
+     */
+    public CanalMultiTrajet(List<ParametreTrajet> trajets) {
+        this(trajets, null);
+    }
+
+    /**
+     * Construit le canal avec une méthode de calcul imposée
+     *
+     * @param trajets les trajets multiples, dans l'ordre où ils sont appliqués
+     * @param methode la méthode de calcul (null pour la choisir selon son coût)
+     */
+    public CanalMultiTrajet(List<ParametreTrajet> trajets, Methode methode) {
+        int nbTrajets = trajets.size();
+        taus = new int[nbTrajets];
+        alphas = new float[nbTrajets];
+        long somme = 0;
+        for (int k = 0; k < nbTrajets; k++) {
+            taus[k] = trajets.get(k).getTau();
+            alphas[k] = trajets.get(k).getAlpha();
+            if (taus[k] < 0) {
+                throw new IllegalArgumentException("Retard négatif : " + taus[k]);
+            }
+            somme += taus[k];
+        }
+        if (somme >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Somme des retards trop grande : " + somme);
+        }
+        traine = (int) somme;
+
+        // réponse impulsionnelle : produit des (1 + alpha z^-tau)
+        double[] reponse = new double[traine + 1];
+        reponse[0] = 1.0;
+        int longueur = 1;
+        for (int k = 0; k < nbTrajets; k++) {
+            for (int i = longueur - 1; i >= 0; i--) {
+                reponse[i + taus[k]] += alphas[k] * reponse[i];
+            }
+            longueur += taus[k];
+        }
+        int nbCoefficients = 0;
+        for (double h : reponse) {
+            if (h != 0.0) nbCoefficients++;
+        }
+        retards = new int[nbCoefficients];
+        coefficients = new float[nbCoefficients];
+        for (int i = 0, c = 0; i < reponse.length; i++) {
+            if (reponse[i] != 0.0) {
+                retards[c] = i;
+                coefficients[c++] = (float) reponse[i];
+            }
+        }
+
+        this.methode = (methode != null) ? methode : choisirMethode();
+        if (this.methode == Methode.FFT) {
+            preparerFft(reponse);
+        }
+    }
+
+    /**
+     * Compare les coûts par échantillon : un passage par étage pour la cascade,
+     * un par coefficient pour le FIR creux, deux FFT par bloc pour l'overlap-save
+     * (deux blocs réels étant traités par une même FFT complexe).  Le facteur
+     * de la FFT est mesuré : elle devient intéressante vers une centaine de trajets.
+     */
+    private Methode choisirMethode() {
+        double coutCascade = taus.length;
+        double coutFir = coefficients.length;
+        int m = tailleFft(traine + 1);
+        double coutFft = 6.0 * m * (31 - Integer.numberOfLeadingZeros(m)) / (m - traine);
+        if (coutFft < coutCascade && coutFft < coutFir) {
+            return Methode.FFT;
+        }
+        return (coutFir < coutCascade) ? Methode.FIR_CREUX : Methode.CASCADE;
+    }
+
+    private static int tailleFft(int longueurReponse) {
+        long m = Math.max(TAILLE_FFT_MIN, Long.highestOneBit(4L * longueurReponse - 1) << 1);
+        if (m > (1 << 30)) {
+            throw new IllegalArgumentException("Réponse impulsionnelle trop longue : " + longueurReponse);
+        }
+        return (int) m;
+    }
+
+    /**
+     * @return la méthode de calcul utilisée
+     */
+    public Methode getMethode() {
+        return methode;
+    }
+
+    /**
+     * @return le nombre d'échantillons ajoutés par les échos (somme des tau)
+     */
+    public int getTraine() {
+        return traine;
+    }
+
+    /**
+     * @param trajets des trajets multiples
+     * @return true si ce canal a été construit pour ces trajets
+     */
+    public boolean correspondA(List<ParametreTrajet> trajets) {
+        if (trajets.size() != taus.length) {
+            return false;
+        }
+        int k = 0;
+        for (ParametreTrajet trajet : trajets) {
+            if (trajet.getTau() != taus[k] || trajet.getAlpha() != alphas[k]) {
+                return false;
+            }
+            k++;
+        }
+        return true;
+    }
+
+    /**
+     * Applique le canal aux n premiers échantillons d'un signal
+     *
+     * @param signal le signal (non modifié)
+     * @param n      le nombre d'échantillons du signal
+     * @return un nouveau tableau de n + getTraine() échantillons
+     */
+    public float[] appliquer(float[] signal, int n) {
+        switch (methode) {
+            case FIR_CREUX:
+                return appliquerFir(signal, n);
+            case FFT:
+                return appliquerFft(signal, n);
+            default:
+                return appliquerCascade(signal, n);
+        }
+    }
+
+    private float[] appliquerCascade(float[] signal, int n) {
+        float[] sortie = new float[n + traine];
+        System.arraycopy(signal, 0, sortie, 0, n);
+        NoyauxSignal noyaux = NoyauxSignal.actifs();
+        int longueur = n;
+        for (int k = 0; k < taus.length; k++) {
+            int tau = taus[k];
+            float alpha = alphas[k];
+            // parcours à rebours : sortie[i - tau] n'est pas encore modifié
+            noyaux.ajouterProduit(alpha, sortie, 0, sortie, tau, longueur);
+            longueur += tau;
+        }
+        return sortie;
+    }
+
+    private float[] appliquerFir(float[] signal, int n) {
+        float[] sortie = new float[n + traine];
+        NoyauxSignal noyaux = NoyauxSignal.actifs();
+        for (int c = 0; c < retards.length; c++) {
+            noyaux.ajouterProduit(coefficients[c], signal, 0, sortie, retards[c], n);
+        }
+        return sortie;
+    }
+
+    private void preparerFft(double[] reponse) {
+        tailleFft = tailleFft(reponse.length);
+        cosinus = new double[tailleFft / 2];
+        sinus = new double[tailleFft / 2];
+        for (int k = 0; k < tailleFft / 2; k++) {
+            double angle = 2 * Math.PI * k / tailleFft;
+            cosinus[k] = Math.cos(angle);
+            sinus[k] = Math.sin(angle);
+        }
+        reponseRe = new double[tailleFft];
+        reponseIm = new double[tailleFft];
+        System.arraycopy(reponse, 0, reponseRe, 0, reponse.length);
+        fft(reponseRe, reponseIm, false);
+    }
+
+    /**
+     * Overlap-save : chaque bloc de tailleFft échantillons d'entrée donne
+     * tailleFft - traine échantillons de sortie.  Deux blocs consécutifs sont
+     * placés dans les parties réelle et imaginaire d'une même FFT : la réponse
+     * étant réelle, les deux convolutions se retrouvent dans les parties réelle
+     * et imaginaire du résultat.
+     */
+    private float[] appliquerFft(float[] signal, int n) {
+        int m = tailleFft;
+        int pas = m - traine;
+        float[] sortie = new float[n + traine];
+        double[] re = new double[m];
+        double[] im = new double[m];
+        for (int p = 0; p < sortie.length; p += 2 * pas) {
+            remplirBloc(signal, n, p - traine, re);
+            remplirBloc(signal, n, p + pas - traine, im);
+            fft(re, im, false);
+            for (int k = 0; k < m; k++) {
+                double r = re[k] * reponseRe[k] - im[k] * reponseIm[k];
+                im[k] = re[k] * reponseIm[k] + im[k] * reponseRe[k];
+                re[k] = r;
+            }
+            fft(re, im, true);
+            for (int k = 0; k < pas && p + k < sortie.length; k++) {
+                sortie[p + k] = (float) (re[traine + k] / m);
+            }
+            for (int k = 0; k < pas && p + pas + k < sortie.length; k++) {
+                sortie[p + pas + k] = (float) (im[traine + k] / m);
+            }
+        }
+        return sortie;
+    }
+
+    private static void remplirBloc(float[] signal, int n, int debut, double[] bloc) {
+        for (int j = 0; j < bloc.length; j++) {
+            int i = debut + j;
+            bloc[j] = (i >= 0 && i < n) ? signal[i] : 0.0;
+        }
+    }
+
+    /**
+     * FFT radix 2 sur place (sans normalisation pour la transformée inverse)
+     */
+    private void fft(double[] re, double[] im, boolean inverse) {
+        int m = re.length;
+        for (int i = 1, j = 0; i < m; i++) {
+            int bit = m >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                double t = re[i]; re[i] = re[j]; re[j] = t;
+                t = im[i]; im[i] = im[j]; im[j] = t;
+            }
+        }
+        double signe = inverse ? 1.0 : -1.0;
+        for (int longueur = 2; longueur <= m; longueur <<= 1) {
+            int moitie = longueur >> 1;
+            int pasTable = m / longueur;
+            for (int i = 0; i < m; i += longueur) {
+                for (int k = 0; k < moitie; k++) {
+                    double wRe = cosinus[k * pasTable];
+                    double wIm = signe * sinus[k * pasTable];
+                    int a = i + k;
+                    int b = a + moitie;
+                    double tRe = re[b] * wRe - im[b] * wIm;
+                    double tIm = re[b] * wIm + im[b] * wRe;
+                    re[b] = re[a] - tRe;
+                    im[b] = im[a] - tIm;
+                    re[a] += tRe;
+                    im[a] += tIm;
+                }
+            }
+        }
+    }
+}
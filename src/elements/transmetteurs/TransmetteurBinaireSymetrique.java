@@ -0,0 +1,178 @@
+package elements.transmetteurs;
+
+import information.Information;
+import information.InformationLogique;
+import information.InformationNonConformeException;
+
+import java.util.Random;
+
+/**
+ * Canal binaire symétrique : chaque bit est inversé, indépendamment des
+ * autres, avec la probabilité p.
+ * <br>
+ * Plutôt que de tirer un nombre aléatoire par bit, le transmetteur tire
+ * l'écart entre deux erreurs, qui suit une loi géométrique de paramètre p :
+ * le coût est proportionnel au nombre d'erreurs et non au nombre de bits.
+ * En mode flux, l'écart restant à la fin d'un bloc est reporté sur le suivant,
+ * si bien que les erreurs d'un flux sont celles du message complet.
+ */
+public class TransmetteurBinaireSymetrique extends Transmetteur<Boolean> {
+
+    private double probabiliteErreur;
+
+    /**
+     * log(1 - p), dénominateur du tirage géométrique
+     */
+    private double logComplement;
+
+    private boolean aleatoireAvecGerme;
+    private int seed;
+
+    private final Random generateur = new Random();
+
+    /**
+     * nombre de bits justes restant avant la prochaine erreur
+     */
+    private long avantErreur;
+
+    /**
+     * Construit un canal binaire symétrique sans germe
+     *
+     * @param probabiliteErreur la probabilité d'inversion d'un bit, entre 0 et 1
+     */
+    public TransmetteurBinaireSymetrique(double probabiliteErreur) {
+        super();
+        setProbabiliteErreur(probabiliteErreur);
+        this.aleatoireAvecGerme = false;
+        this.avantErreur = tirerEcart();
+    }
+
+    /**
+     * Construit un canal binaire symétrique dont les erreurs sont tirées avec
+     * un germe : chaque message (ou chaque flux) reçoit les mêmes erreurs.
+     *
+     * @param probabiliteErreur la probabilité d'inversion d'un bit, entre 0 et 1
+     * @param seed              la graine aléatoire
+     */
+    public TransmetteurBinaireSymetrique(double probabiliteErreur, int seed) {
+        super();
+        setProbabiliteErreur(probabiliteErreur);
+        this.aleatoireAvecGerme = true;
+        this.seed = seed;
+        recommencer();
+    }
+
+    private void setProbabiliteErreur(double probabiliteErreur) {
+        if (!(probabiliteErreur >= 0.0 && probabiliteErreur <= 1.0)) {
+            throw new IllegalArgumentException("La probabilité d'erreur doit être comprise entre 0 et 1 : " + probabiliteErreur);
+        }
+        this.probabiliteErreur = probabiliteErreur;
+        this.logComplement = Math.log1p(-probabiliteErreur);
+    }
+
+    /**
+     * @return la probabilité d'inversion d'un bit
+     */
+    public double getProbabiliteErreur() {
+        return probabiliteErreur;
+    }
+
+    /**
+     * Prépare le canal pour un nouveau message
+     *
+     * @param probabiliteErreur la nouvelle probabilité d'erreur
+     * @param seed              la nouvelle graine, null pour des erreurs sans germe
+     */
+    public void reinitialiser(double probabiliteErreur, Integer seed) {
+        setProbabiliteErreur(probabiliteErreur);
+        this.aleatoireAvecGerme = (seed != null);
+        if (seed != null) {
+            this.seed = seed;
+        }
+        recommencer();
+    }
+
+    /**
+     * repart du germe s'il y en a un, et tire l'écart avant la première erreur
+     */
+    private void recommencer() {
+        if (aleatoireAvecGerme) {
+            generateur.setSeed(seed);
+        }
+        avantErreur = tirerEcart();
+    }
+
+    /**
+     * Tire le nombre de bits justes avant la prochaine erreur :
+     * floor(log(U) / log(1 - p)), U uniforme dans ]0, 1].
+     *
+     * @return l'écart, Long.MAX_VALUE si p est nulle
+     */
+    private long tirerEcart() {
+        if (probabiliteErreur == 0.0) {
+            return Long.MAX_VALUE;
+        }
+        if (probabiliteErreur == 1.0) {
+            return 0L;
+        }
+        double u = 1.0 - generateur.nextDouble();
+        double ecart = Math.floor(Math.log(u) / logComplement);
+        return (ecart >= Long.MAX_VALUE) ? Long.MAX_VALUE : (long) ecart;
+    }
+
+    /**
+     * Tire le nombre d'erreurs que le canal commettrait sur nbBits bits, sans
+     * construire de message : le coût est celui du nombre d'erreurs.  Les
+     * tirages poursuivent ceux des messages émis.
+     *
+     * @param nbBits le nombre de bits transmis
+     * @return le nombre de bits inversés
+     */
+    public long tirerNbErreurs(long nbBits) {
+        long nbErreurs = 0;
+        long reste = nbBits;
+        while (avantErreur < reste) {
+            nbErreurs++;
+            reste -= avantErreur + 1;
+            avantErreur = tirerEcart();
+        }
+        avantErreur -= reste;
+        return nbErreurs;
+    }
+
+    /**
+     * Émet une copie de l'information reçue dont les bits désignés par les
+     * tirages géométriques sont inversés
+     *
+     * @return information émise
+     * @throws InformationNonConformeException si erreur
+     */
+    @Override
+    public Information<Boolean> emettre() throws InformationNonConformeException {
+        if (informationRecue == null) {
+            throw new InformationNonConformeException("Aucune information à émettre");
+        }
+        if (!enFlux) {
+            recommencer();
+        }
+        InformationLogique bits = new InformationLogique(informationRecue);
+        long[] mots = bits.mots();
+        int n = bits.nbElements();
+        long position = avantErreur;
+        while (position < n) {
+            int i = (int) position;
+            mots[i >>> 6] ^= 1L << i;
+            long ecart = tirerEcart();
+            position = (ecart >= Long.MAX_VALUE - position) ? Long.MAX_VALUE : position + 1 + ecart;
+        }
+        avantErreur = position - n;
+        informationEmise = bits;
+        return super.emettre();
+    }
+
+    @Override
+    public void debuterFlux() {
+        recommencer();
+        super.debuterFlux();
+    }
+}
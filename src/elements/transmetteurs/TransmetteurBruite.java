@@ -2,20 +2,68 @@ package elements.transmetteurs;
 
 import bruits.Bruit;
 import bruits.BruitBlancGaussien;
+import bruits.MoteurGaussien;
 import information.Information;
+import information.InformationAnalogique;
 import information.InformationNonConformeException;
+import information.NoyauxSignal;
 import information.ParametreTrajet;
+import information.SignalHorsTas;
 
+import java.util.Arrays;
 import java.util.LinkedList;
+import java.util.Random;
 
 public class TransmetteurBruite extends Transmetteur<Float> {
 
+    /**
+     * nombre d'échantillons (pair) traités à la fois dans un signal hors tas
+     */
+    private static final int ECHANTILLONS_PAR_BLOC = 1 << 20;
+
     private Float snrpb;
     private int nbEch;
     private int seed;
     private LinkedList<ParametreTrajet> params;
     private boolean aleatoireAvecGerme;
     private Bruit bruit;
+    private MoteurGaussien moteurGaussien = MoteurGaussien.BOX_MULLER;
+
+    /**
+     * canal des trajets multiples, construit à la première émission
+     */
+    private CanalMultiTrajet canal;
+
+    /**
+     * en mode flux : pour chaque trajet, les tau derniers échantillons entrés dans l'étage
+     */
+    private float[][] lignesRetard;
+
+    /**
+     * générateur du bruit émis, conservé d'une émission à l'autre (réinitialisé
+     * avec le germe à chaque message s'il y en a un) ; en mode flux, il est
+     * poursuivi d'un bloc à l'autre
+     */
+    private final Random generateur = new Random();
+
+    /**
+     * bruit de la dernière émission, dont le tableau est réutilisé si le message suivant a la même taille
+     */
+    private BruitBlancGaussien bruitReutilisable;
+
+    /**
+     * en mode flux : puissance du signal attendue (voir setPuissanceFlux), NaN
+     * si elle n'est pas connue
+     */
+    private double puissanceFlux = Double.NaN;
+
+    /**
+     * en mode flux, sans puissance attendue : somme des carrés (par voies, voir
+     * NoyauxSignal) et nombre des échantillons reçus depuis le début du flux,
+     * pour estimer la puissance du signal
+     */
+    private final double[] voiesFlux = new double[NoyauxSignal.NB_VOIES];
+    private long nbEchantillonsFlux;
 
     /**
      * Constructeur d'un transmetteur bruité avec SNRpb et échantillons
@@ -95,54 +143,268 @@ public class TransmetteurBruite extends Transmetteur<Float> {
     }
 
     /**
-     * Simule un trjaet à trajets multiples sur l'information reçue
+     * Choisit l'algorithme de tirage du bruit gaussien (Box-Muller par défaut)
      *
-     * @return information résultante après ajout des trajets multiples
+     * @param moteurGaussien l'algorithme à utiliser
      */
-    public Information<Float> multiTrajet() {
-        Information<Float> informationMulti = new Information<>(this.getInformationRecue());
-        for (ParametreTrajet parametreTrajet : params) {
-            informationMulti.somme(informationMulti.genererInformationRetardee(parametreTrajet));
+    public void setMoteurGaussien(MoteurGaussien moteurGaussien) {
+        this.moteurGaussien = moteurGaussien;
+        this.bruitReutilisable = null;
+    }
+
+    /**
+     * Fixe la puissance du signal d'après laquelle le bruit est calculé en mode
+     * flux, par exemple Codeur.puissanceMoyenne().  Le bruit d'un bloc ne dépend
+     * alors pas du découpage du message : avec le même germe et des blocs d'un
+     * nombre pair d'échantillons (tirages par paires de Box-Muller), il est le
+     * même quelle que soit la taille des blocs.  Il diffère en revanche de celui
+     * d'un message émis en une fois, calculé d'après la puissance mesurée du
+     * message.  Sans puissance fixée (NaN), chaque bloc est bruité d'après la
+     * puissance des échantillons reçus depuis le début du flux, qui dépend du
+     * découpage.
+     *
+     * @param puissanceFlux la puissance moyenne attendue par échantillon, NaN pour l'estimer
+     */
+    public void setPuissanceFlux(double puissanceFlux) {
+        this.puissanceFlux = puissanceFlux;
+    }
+
+    /**
+     * Prépare le transmetteur pour un nouveau message, sans le reconstruire :
+     * les trajets multiples et le nombre d'échantillons sont conservés.
+     *
+     * @param snrpb le nouveau SNR par bit
+     * @param seed  la nouvelle graine aléatoire, null pour un bruit sans germe
+     */
+    public void reinitialiser(Float snrpb, Integer seed) {
+        this.snrpb = snrpb;
+        this.aleatoireAvecGerme = (seed != null);
+        if (seed != null) {
+            this.seed = seed;
         }
-        return informationMulti;
+    }
+
+    /**
+     * Simule un trjaet à trajets multiples sur l'information reçue.
+     * Les trajets sont appliqués en un seul calcul par un CanalMultiTrajet,
+     * reconstruit seulement si les trajets ont changé.
+     *
+     * @return nouvelle information résultante après ajout des trajets multiples
+     */
+    public InformationAnalogique multiTrajet() {
+        InformationAnalogique recue = InformationAnalogique.convertir(this.getInformationRecue());
+        if (canal == null || !canal.correspondA(params)) {
+            canal = new CanalMultiTrajet(params);
+        }
+        return new InformationAnalogique(canal.appliquer(recue.tableau(), recue.nbElements()));
     }
 
     /**
      * Ajoute un bruit blanc gaussien à l’information donnée selon le SNR spécifié
      *
-     * @param informationABruiter information à bruiter
+     * @param informationABruiter information à bruiter (non modifiée)
      * @param snrpb rapport signal/bruit par bit à utiliser
-     * @return information à bruitée
+     * @return nouvelle information bruitée
      */
     public Information<Float> bruiter(Information<Float> informationABruiter, Float snrpb) {
-        Information<Float> informationBruitee = new Information<>(informationABruiter);
-        bruit = new BruitBlancGaussien(informationABruiter.nbElements(), snrpb, this.getInformationRecue().calculerPuissance(), nbEch);
-        return informationBruitee.ajouterBruit(bruit); //faut il bruiter en fonction de l'info contenant les multi trajet
+        bruit = genererBruit(informationABruiter.nbElements(), snrpb, false, 0);
+        return new InformationAnalogique(informationABruiter).ajouterBruit(bruit); //faut il bruiter en fonction de l'info contenant les multi trajet
     }
 
     /**
      * Ajoute un bruit blanc gaussien à l’information donnée selon le SNR spécifié, avec une seed aléatoire
      *
-     * @param informationABruiter information à bruiter
+     * @param informationABruiter information à bruiter (non modifiée)
      * @param snrpb rapport signal/bruit par bit à utiliser
      * @param seed seed utilisée pour la génération du bruit
-     * @return information à bruitée
+     * @return nouvelle information bruitée
      */
     public Information<Float> bruiter(Information<Float> informationABruiter, Float snrpb, int seed) {
-        Information<Float> informationBruitee = new Information<>(informationABruiter);
-        bruit = new BruitBlancGaussien(informationABruiter.nbElements(), snrpb, this.getInformationRecue().calculerPuissance(), nbEch, seed);
-        return informationBruitee.ajouterBruit(bruit); //faut il bruiter en fonction de l'info contenant les multi trajet
+        bruit = genererBruit(informationABruiter.nbElements(), snrpb, true, seed);
+        return new InformationAnalogique(informationABruiter).ajouterBruit(bruit); //faut il bruiter en fonction de l'info contenant les multi trajet
+    }
+
+    private Bruit genererBruit(int nbElements, Float snrpb, boolean avecGerme, int seed) {
+        double pSignal = this.getInformationRecue().calculerPuissance();
+        Random random = avecGerme ? new Random(seed) : new Random();
+        return new BruitBlancGaussien(nbElements, snrpb, pSignal, nbEch, random, moteurGaussien);
     }
 
     /**
-     * Émet l’information après ajout du bruit et des trajets multiples
+     * Tire un bruit avec le générateur du transmetteur, dans le tableau du
+     * bruit précédent lorsqu'il a la bonne taille.
+     */
+    private Bruit genererBruitReutilisable(int nbElements, double pSignal) {
+        if (bruitReutilisable != null && bruitReutilisable.nbElements() == nbElements) {
+            bruitReutilisable.generer(snrpb, pSignal);
+        } else {
+            bruitReutilisable = new BruitBlancGaussien(nbElements, snrpb, pSignal, nbEch, generateur, moteurGaussien);
+        }
+        return bruitReutilisable;
+    }
+
+    /**
+     * Émet l’information après ajout du bruit et des trajets multiples.
+     * Le bruit est ajouté directement dans l'information produite par
+     * multiTrajet, seule copie du signal faite par ce transmetteur.
      *
      * @return information émise
      * @throws InformationNonConformeException si l'emission échoue
      */
     public Information<Float> emettre() throws InformationNonConformeException {
-        if (aleatoireAvecGerme) informationEmise = new Information<>(bruiter(multiTrajet(), snrpb, seed));
-        else informationEmise = new Information<>(bruiter(multiTrajet(), snrpb)) ;
+        if (enFlux) {
+            InformationAnalogique bloc = InformationAnalogique.convertir(getInformationRecue());
+            NoyauxSignal.actifs().cumulerCarres(bloc.tableau(), 0, bloc.nbElements(), voiesFlux, nbEchantillonsFlux);
+            nbEchantillonsFlux += bloc.nbElements();
+            informationEmise = bruiterBloc(multiTrajetBloc(bloc));
+            return super.emettre();
+        }
+        InformationAnalogique signal = multiTrajet();
+        if (aleatoireAvecGerme) {
+            generateur.setSeed(seed);
+        }
+        bruit = genererBruitReutilisable(signal.nbElements(), getInformationRecue().calculerPuissance());
+        informationEmise = signal.ajouterBruit(bruit);
         return super.emettre();
     }
+
+    /**
+     * @return le nombre d'échantillons ajoutés par les échos (somme des tau)
+     */
+    public int getTraine() {
+        int traine = 0;
+        for (ParametreTrajet parametreTrajet : params) {
+            traine += parametreTrajet.getTau();
+        }
+        return traine;
+    }
+
+    /**
+     * Transmet un signal hors tas sur place, par blocs de ECHANTILLONS_PAR_BLOC
+     * échantillons : le résultat est celui d'emettre() sur le même signal
+     * (mêmes échos, même bruit avec le même germe), sans limite de taille.
+     * <br>
+     * Les blocs des trajets multiples sont traités du dernier au premier : le
+     * bloc [p, p + B) ne dépend que des échantillons [p - traine, p + B) du
+     * signal émis, qui n'ont pas encore été remplacés.  Le signal est agrandi
+     * de la traîne des échos, dans sa capacité réservée si elle suffit.
+     *
+     * @param signal le signal émis par le codeur
+     * @return le signal reçu (le même signal, sauf s'il a fallu l'agrandir)
+     */
+    public SignalHorsTas transmettreHorsTas(SignalHorsTas signal) {
+        long n = signal.nbElements();
+        double pSignal = signal.calculerPuissance();
+        int traine = getTraine();
+        signal = signal.agrandir(n + traine);
+        long total = n + traine;
+
+        if (!params.isEmpty()) {
+            if (canal == null || !canal.correspondA(params)) {
+                canal = new CanalMultiTrajet(params);
+            }
+            float[] entree = new float[(int) Math.min(ECHANTILLONS_PAR_BLOC + (long) traine, n)];
+            long p = (total - 1) / ECHANTILLONS_PAR_BLOC * ECHANTILLONS_PAR_BLOC;
+            for (; p >= 0; p -= ECHANTILLONS_PAR_BLOC) {
+                int longueur = (int) Math.min(ECHANTILLONS_PAR_BLOC, total - p);
+                long q = Math.max(0, p - traine);
+                int nbLus = (int) (Math.min(p + longueur, n) - q);
+                signal.lire(q, entree, 0, nbLus);
+                float[] sortie = canal.appliquer(entree, nbLus);
+                signal.ecrire(p, sortie, (int) (p - q), longueur);
+            }
+        }
+
+        // blocs de taille paire : les tirages par paires de Box-Muller sont ceux d'emettre()
+        if (aleatoireAvecGerme) {
+            generateur.setSeed(seed);
+        }
+        float[] bloc = new float[(int) Math.min(ECHANTILLONS_PAR_BLOC, total)];
+        for (long p = 0; p < total; p += ECHANTILLONS_PAR_BLOC) {
+            int longueur = (int) Math.min(ECHANTILLONS_PAR_BLOC, total - p);
+            float[] b = genererBruitReutilisable(longueur, pSignal).tableau();
+            signal.lire(p, bloc, 0, longueur);
+            NoyauxSignal.actifs().ajouter(b, 0, bloc, 0, longueur);
+            signal.ecrire(p, bloc, 0, longueur);
+        }
+        return signal;
+    }
+
+    /**
+     * Applique les trajets multiples à un bloc du flux.  Chaque trajet est un étage
+     * (somme du signal et de son écho retardé de tau) dont la ligne à retard conserve
+     * les tau derniers échantillons du bloc précédent : le résultat, bloc après bloc,
+     * est celui de multiTrajet sur le message complet.
+     *
+     * @param bloc le bloc reçu
+     * @return nouveau bloc, de même taille, avec les échos
+     */
+    private InformationAnalogique multiTrajetBloc(InformationAnalogique bloc) {
+        float[] signal = bloc.versTableau();
+        int n = signal.length;
+        int k = 0;
+        for (ParametreTrajet parametreTrajet : params) {
+            float[] ligne = lignesRetard[k];
+            int tau = parametreTrajet.getTau();
+            float alpha = parametreTrajet.getAlpha();
+
+            // tau derniers échantillons de (ligne, signal), avant ajout de l'écho
+            float[] nouvelleLigne = new float[tau];
+            for (int j = 0; j < tau; j++) {
+                int indice = n - tau + j;
+                nouvelleLigne[j] = (indice >= 0) ? signal[indice] : ligne[tau + indice];
+            }
+            // parcours à rebours : signal[i - tau] n'est pas encore modifié
+            if (n > tau) {
+                NoyauxSignal.actifs().ajouterProduit(alpha, signal, 0, signal, tau, n - tau);
+            }
+            for (int i = Math.min(n, tau) - 1; i >= 0; i--) {
+                signal[i] += alpha * ligne[i];
+            }
+            lignesRetard[k++] = nouvelleLigne;
+        }
+        return new InformationAnalogique(signal);
+    }
+
+    private InformationAnalogique bruiterBloc(InformationAnalogique signal) {
+        double pSignal;
+        if (!Double.isNaN(puissanceFlux)) {
+            pSignal = puissanceFlux;
+        } else {
+            pSignal = (nbEchantillonsFlux > 0) ? NoyauxSignal.sommeVoies(voiesFlux) / nbEchantillonsFlux : 0.0;
+        }
+        bruit = genererBruitReutilisable(signal.nbElements(), pSignal);
+        signal.ajouterBruit(bruit);
+        return signal;
+    }
+
+    @Override
+    public void debuterFlux() {
+        lignesRetard = new float[params.size()][];
+        int k = 0;
+        for (ParametreTrajet parametreTrajet : params) {
+            lignesRetard[k++] = new float[parametreTrajet.getTau()];
+        }
+        if (aleatoireAvecGerme) {
+            generateur.setSeed(seed);
+        }
+        Arrays.fill(voiesFlux, 0.0);
+        nbEchantillonsFlux = 0;
+        super.debuterFlux();
+    }
+
+    /**
+     * Émet la traîne des échos (somme des tau échantillons après la fin du
+     * message), comme multiTrajet le fait pour un message complet, puis
+     * termine le flux.
+     */
+    @Override
+    public void terminerFlux() throws InformationNonConformeException {
+        int traine = getTraine();
+        if (traine > 0) {
+            informationEmise = bruiterBloc(multiTrajetBloc(new InformationAnalogique(new float[traine])));
+            super.emettre();
+        }
+        super.terminerFlux();
+    }
 }
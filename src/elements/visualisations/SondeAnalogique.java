@@ -1,6 +1,7 @@
 package elements.visualisations;
 
 import information.Information;
+import information.InformationAnalogique;
 
 /**
  * Classe réalisant l'affichage d'information composée d'éléments
@@ -21,13 +22,7 @@ public class SondeAnalogique extends Sonde<Float> {
 
     public Information<Float> recevoir(Information<Float> information) {
         informationRecue = information;
-        int nbElements = information.nbElements();
-        float[] table = new float[nbElements];
-        int i = 0;
-        for (float f : information) {
-            table[i] = f;
-            i++;
-        }
+        float[] table = new InformationAnalogique(information).tableau();
         new VueCourbe(table, nom);
         return getInformationRecue();
     }
@@ -1,6 +1,7 @@
 package elements.visualisations;
 
 import information.Information;
+import information.InformationAnalogique;
 
 /**
  * Classe réalisant l'affichage de la puissance d'une information
@@ -21,12 +22,7 @@ public class SondePuissance extends Sonde<Float> {
 
     public Information<Float> recevoir(Information<Float> information) {
         informationRecue = information;
-        int nbElements = information.nbElements();
-        Double puissance = 0.0;
-        for (int i = 0; i < nbElements; i++) {
-            puissance += information.iemeElement(i) * information.iemeElement(i);
-        }
-        puissance = puissance / nbElements;
+        double puissance = InformationAnalogique.convertir(information).calculerPuissance();
         new VueValeur(puissance, nom);
 		return getInformationRecue();
     }
@@ -7,12 +7,25 @@ import java.util.*;
 import static java.lang.Math.pow;
 
 /**
+ * Une information circule dans la chaîne sans être recopiée : l'élément qui
+ * l'émet la fige (lecture seule) et les éléments en aval la partagent.
+ * Un élément qui doit modifier une information reçue travaille sur sa copie().
+ * <br>
+ * Le figeage protège les méthodes de modification, getContent() (une copie)
+ * et iterator() (sans remove).  Il n'est en revanche qu'une convention pour
+ * les accès directs aux tableaux internes, donnés sans copie aux boucles de
+ * calcul : InformationAnalogique.tableau(), InformationLogique.mots() et
+ * InformationPaginee.Page.getEchantillons() ne doivent pas servir à modifier
+ * une information figée.
+ *
  * @author prou
  */
 public class Information<T> implements Iterable<T> {
 
     private ArrayList<T> content;
 
+    private boolean figee = false;
+
     /**
      * pour construire une information vide
      */
@@ -38,7 +51,50 @@ public class Information<T> implements Iterable<T> {
      */
     public Information(Information<T> information) {
         super();
-        this.content = new ArrayList<>(information.content);
+        this.content = new ArrayList<>(information.nbElements());
+        for (T valeur : information) {
+            this.content.add(valeur);
+        }
+    }
+
+    /**
+     * pour copier une information en conservant sa représentation
+     * (une information analogique reste stockée sous forme primitive)
+     *
+     * @return une copie de l'information
+     */
+    public Information<T> copie() {
+        return new Information<>(this);
+    }
+
+    /**
+     * pour figer l'information : toute modification ultérieure lève une
+     * UnsupportedOperationException. Une copie() d'une information figée
+     * est de nouveau modifiable.
+     *
+     * @return l'information elle-même
+     */
+    public Information<T> figer() {
+        this.figee = true;
+        return this;
+    }
+
+    /**
+     * pour savoir si l'information est figée
+     *
+     * @return true si l'information est en lecture seule
+     */
+    public boolean estFigee() {
+        return figee;
+    }
+
+    /**
+     * pour refuser la modification d'une information figée
+     */
+    protected void verifierModifiable() {
+        if (figee) {
+            throw new UnsupportedOperationException("Information figée : la modifier sur une copie()");
+        }
     }
 
     /**
@@ -72,10 +128,10 @@ public class Information<T> implements Iterable<T> {
     /**
      * pour connaitre le contenu
      *
-     * @return content
+     * @return content, ou une copie si l'information est figée
      */
     public ArrayList<T> getContent(){
-        return content;
+        return figee ? new ArrayList<>(content) : content;
     }
 
     /**
@@ -85,6 +141,7 @@ public class Information<T> implements Iterable<T> {
      * @param v la nouvelle ieme information
      */
     public void setIemeElement(int i, T v) {
+        verifierModifiable();
         this.content.set(i, v);
     }
 
@@ -94,6 +151,7 @@ public class Information<T> implements Iterable<T> {
      * @param valeur l'élément à rajouter
      */
     public void add(T valeur) {
+        verifierModifiable();
         this.content.add(valeur);
     }
 
@@ -130,6 +188,19 @@ public class Information<T> implements Iterable<T> {
         return true;
     }
 
+    /**
+     * pour obtenir un code de hachage cohérent avec equals
+     *
+     * @return le code de hachage calculé sur les éléments
+     */
+    public int hashCode() {
+        int h = 1;
+        for (int i = 0; i < this.nbElements(); i++) {
+            h = 31 * h + Objects.hashCode(this.iemeElement(i));
+        }
+        return h;
+    }
+
 
     /**
      * pour afficher une information
@@ -158,6 +229,7 @@ public class Information<T> implements Iterable<T> {
         if (bruit.nbElements() != this.nbElements()) {
             throw new SizeInformationException("La taille du bruit est différente de la taille de l'information");
         }
+        verifierModifiable();
         for (int i = 0; i < this.nbElements(); i++) {
             Float val = (Float) this.iemeElement(i) + (Float) bruit.iemeElement(i);
             this.setIemeElement(i, (T) val);
@@ -176,6 +248,7 @@ public class Information<T> implements Iterable<T> {
         if (this.nbElements() > 0 && !(this.iemeElement(0) instanceof Float)) {
             throw new UnsupportedOperationException("somme n'est disponible que pour les Information<Float>");
         }
+        verifierModifiable();
 
         int max = Math.max(this.nbElements(), information.nbElements());
 
@@ -229,6 +302,21 @@ public class Information<T> implements Iterable<T> {
         return informationRetardee;
     }
 
+    /**
+     * Présente l’information retardée et atténuée selon un trajet donné sans la
+     * copier : même contenu que genererInformationRetardee, calculé à l'accès.
+     *
+     * @param parametreTrajet paramètre du trajet (tau et alpha)
+     * @return la vue retardée et atténuée (lecture seule)
+     */
+    @SuppressWarnings("unchecked")
+    public InformationRetardee vueRetardee(ParametreTrajet parametreTrajet) {
+        if (this.nbElements() > 0 && !(this.iemeElement(0) instanceof Float)) {
+            throw new UnsupportedOperationException("vueRetardee n'est disponible que pour les Information<Float>");
+        }
+        return new InformationRetardee((Information<Float>) this, parametreTrajet);
+    }
+
 
 
     /**
@@ -255,7 +343,7 @@ public class Information<T> implements Iterable<T> {
      * Pour utilisation du "for each"
      */
     public Iterator<T> iterator() {
-        return content.iterator();
+        return figee ? Collections.unmodifiableList(content).iterator() : content.iterator();
     }
 
 
@@ -0,0 +1,373 @@
+package information;
+
+import bruits.Bruit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Information analogique dont les échantillons sont stockés dans un tableau
+ * de float primitifs plutôt que dans une liste de Float.
+ * Elle reste une Information&lt;Float&gt; : les méthodes héritées restent
+ * utilisables, les accès primitifs (valeur, setValeur, ajouter, tableau)
+ * évitent simplement la création d'un objet par échantillon.
+ */
+public class InformationAnalogique extends Information<Float> {
+
+    private static final int CAPACITE_INITIALE = 16;
+
+    private float[] donnees;
+
+    private int taille;
+
+    /**
+     * pour construire une information analogique vide
+     */
+    public InformationAnalogique() {
+        this.donnees = new float[CAPACITE_INITIALE];
+        this.taille = 0;
+    }
+
+    /**
+     * pour construire une information analogique vide en réservant sa capacité
+     *
+     * @param capacite le nombre d'échantillons prévus
+     */
+    public InformationAnalogique(int capacite) {
+        if (capacite < 0) {
+            throw new IllegalArgumentException("La capacité doit être positive : " + capacite);
+        }
+        this.donnees = new float[capacite];
+        this.taille = 0;
+    }
+
+    /**
+     * pour construire une information analogique à partir d'un tableau d'échantillons.
+     * Le tableau est utilisé tel quel (il n'est pas copié).
+     *
+     * @param donnees les échantillons de l'information
+     */
+    public InformationAnalogique(float[] donnees) {
+        this.donnees = Objects.requireNonNull(donnees, "donnees ne doit pas être null");
+        this.taille = donnees.length;
+    }
+
+    /**
+     * pour construire une information analogique à partir d'une information de Float
+     *
+     * @param information une information a copier
+     */
+    public InformationAnalogique(Information<Float> information) {
+        int n = information.nbElements();
+        if (information instanceof InformationAnalogique) {
+            this.donnees = Arrays.copyOf(((InformationAnalogique) information).donnees, n);
+        } else if (information instanceof InformationPaginee) {
+            this.donnees = ((InformationPaginee) information).versTableau();
+        } else {
+            this.donnees = new float[n];
+            for (int i = 0; i < n; i++) {
+                this.donnees[i] = information.iemeElement(i);
+            }
+        }
+        this.taille = n;
+    }
+
+    /**
+     * Retourne l'information elle-même si elle est déjà analogique, sa copie primitive sinon.
+     *
+     * @param information l'information à convertir
+     * @return une information analogique de même contenu
+     */
+    public static InformationAnalogique convertir(Information<Float> information) {
+        if (information instanceof InformationAnalogique) {
+            return (InformationAnalogique) information;
+        }
+        return new InformationAnalogique(information);
+    }
+
+    /**
+     * pour renvoyer un échantillon sans conversion en Float
+     *
+     * @param i le rang de l'échantillon (à partir de 0)
+     * @return le ieme échantillon
+     */
+    public float valeur(int i) {
+        Objects.checkIndex(i, taille);
+        return donnees[i];
+    }
+
+    /**
+     * pour modifier un échantillon sans conversion en Float
+     *
+     * @param i le rang de l'échantillon (à partir de 0)
+     * @param v la nouvelle valeur
+     */
+    public void setValeur(int i, float v) {
+        Objects.checkIndex(i, taille);
+        verifierModifiable();
+        donnees[i] = v;
+    }
+
+    /**
+     * pour ajouter un échantillon à la fin de l'information
+     *
+     * @param v l'échantillon à rajouter
+     */
+    public void ajouter(float v) {
+        verifierModifiable();
+        assurerCapacite(taille + 1);
+        donnees[taille++] = v;
+    }
+
+    /**
+     * pour ajouter une portion de tableau à la fin de l'information
+     *
+     * @param valeurs   le tableau source
+     * @param debut     l'indice du premier échantillon à copier
+     * @param longueur  le nombre d'échantillons à copier
+     */
+    public void ajouter(float[] valeurs, int debut, int longueur) {
+        verifierModifiable();
+        assurerCapacite(taille + longueur);
+        System.arraycopy(valeurs, debut, donnees, taille, longueur);
+        taille += longueur;
+    }
+
+    /**
+     * pour ajouter un tableau d'échantillons à la fin de l'information
+     *
+     * @param valeurs les échantillons à rajouter
+     */
+    public void ajouter(float[] valeurs) {
+        ajouter(valeurs, 0, valeurs.length);
+    }
+
+    /**
+     * Donne accès au tableau interne. Seuls les nbElements() premiers
+     * échantillons sont significatifs ; le tableau n'est plus valable
+     * après un ajout qui agrandit l'information. Il ne doit pas être
+     * modifié si l'information est figée.
+     *
+     * @return le tableau des échantillons
+     */
+    public float[] tableau() {
+        return donnees;
+    }
+
+    /**
+     * pour obtenir une copie des échantillons au format primitif
+     *
+     * @return un tableau de taille nbElements()
+     */
+    public float[] versTableau() {
+        return Arrays.copyOf(donnees, taille);
+    }
+
+    private void assurerCapacite(int capacite) {
+        if (capacite > donnees.length) {
+            donnees = Arrays.copyOf(donnees, Math.max(capacite, 2 * donnees.length));
+        }
+    }
+
+    @Override
+    public int nbElements() {
+        return taille;
+    }
+
+    @Override
+    public boolean estVide() {
+        return taille == 0;
+    }
+
+    @Override
+    public Float iemeElement(int i) {
+        return valeur(i);
+    }
+
+    @Override
+    public void setIemeElement(int i, Float v) {
+        setValeur(i, v);
+    }
+
+    @Override
+    public void add(Float valeur) {
+        ajouter(valeur);
+    }
+
+    /**
+     * Les échantillons étant stockés sous forme primitive, la liste renvoyée
+     * est une copie : la modifier ne modifie pas l'information.
+     *
+     * @return une copie du contenu
+     */
+    @Override
+    public ArrayList<Float> getContent() {
+        ArrayList<Float> liste = new ArrayList<>(taille);
+        for (int i = 0; i < taille; i++) {
+            liste.add(donnees[i]);
+        }
+        return liste;
+    }
+
+    @Override
+    public InformationAnalogique copie() {
+        return new InformationAnalogique(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof InformationAnalogique)) {
+            return super.equals(o);
+        }
+        InformationAnalogique information = (InformationAnalogique) o;
+        if (this.taille != information.taille) {
+            return false;
+        }
+        for (int i = 0; i < taille; i++) {
+            // même sémantique que Float.equals
+            if (Float.floatToIntBits(donnees[i]) != Float.floatToIntBits(information.donnees[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (int i = 0; i < taille; i++) {
+            h = 31 * h + Float.floatToIntBits(donnees[i]);
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder();
+        for (int i = 0; i < taille; i++) {
+            s.append(' ').append(donnees[i]);
+        }
+        return s.toString();
+    }
+
+    @Override
+    public Information<Float> ajouterBruit(Bruit bruit) {
+        if (bruit.nbElements() != this.nbElements()) {
+            throw new SizeInformationException("La taille du bruit est différente de la taille de l'information");
+        }
+        verifierModifiable();
+        NoyauxSignal.actifs().ajouter(bruit.tableau(), 0, donnees, 0, taille);
+        return this;
+    }
+
+    @Override
+    public void somme(Information<Float> information) {
+        if (information instanceof InformationRetardee) {
+            sommeVues((InformationRetardee) information);
+            return;
+        }
+        verifierModifiable();
+        InformationAnalogique autre = convertir(information);
+        int commun = Math.min(taille, autre.taille);
+        float[] d = autre.donnees;
+        int tailleAutre = autre.taille;
+        NoyauxSignal.actifs().ajouter(d, 0, donnees, 0, commun);
+        if (tailleAutre > taille) {
+            ajouter(d, taille, tailleAutre - taille);
+        }
+    }
+
+    /**
+     * Ajoute des échos (vues retardées et atténuées) en une seule boucle, sans
+     * tableau intermédiaire par écho d'une source analogique.  Pour des vues
+     * d'autres informations, le résultat est celui de somme appelée vue après
+     * vue, l'information étant prolongée si un écho la dépasse.
+     * <br>
+     * Les vues peuvent porter sur cette information elle-même : elles lisent
+     * alors le signal d'avant la somme (échos en parallèle), comme les copies
+     * de genererInformationRetardee.  Le parcours à rebours le garantit : le
+     * rang i n'est écrit qu'après la lecture de tous les rangs i - tau.
+     *
+     * @param vues les échos à ajouter
+     */
+    public void sommeVues(InformationRetardee... vues) {
+        verifierModifiable();
+        int ancienneTaille = taille;
+        int longueur = taille;
+        for (InformationRetardee vue : vues) {
+            longueur = Math.max(longueur, vue.nbElements());
+        }
+        assurerCapacite(longueur);
+        Arrays.fill(donnees, taille, longueur, 0f);
+        taille = longueur;
+
+        int nbVues = vues.length;
+        float[][] sources = new float[nbVues][];
+        int[] taus = new int[nbVues];
+        int[] longueurs = new int[nbVues];
+        float[] alphas = new float[nbVues];
+        for (int k = 0; k < nbVues; k++) {
+            sources[k] = convertir(vues[k].getSource()).tableau();
+            taus[k] = vues[k].getTau();
+            longueurs[k] = vues[k].nbElements();
+            alphas[k] = vues[k].getAlpha();
+        }
+        for (int i = longueur - 1; i >= 0; i--) {
+            // -0 + x = x : au-delà de l'ancienne taille, la première vue est recopiée telle quelle
+            float somme = (i < ancienneTaille) ? donnees[i] : -0.0f;
+            for (int k = 0; k < nbVues; k++) {
+                if (i < longueurs[k]) {
+                    somme += (i < taus[k]) ? 0f : alphas[k] * sources[k][i - taus[k]];
+                }
+            }
+            donnees[i] = somme;
+        }
+    }
+
+    @Override
+    public InformationAnalogique genererInformationRetardee(ParametreTrajet parametreTrajet) {
+        if (parametreTrajet == null) {
+            throw new IllegalArgumentException("ParametreTrajet ne peut pas être null");
+        }
+        int tau = parametreTrajet.getTau();
+        float alpha = parametreTrajet.getAlpha();
+        float[] retardee = new float[tau + taille];
+        for (int i = 0; i < taille; i++) {
+            retardee[tau + i] = alpha * donnees[i];
+        }
+        return new InformationAnalogique(retardee);
+    }
+
+    @Override
+    public double calculerPuissance() {
+        if (taille == 0) {
+            return 0.0;
+        }
+        double[] voies = new double[NoyauxSignal.NB_VOIES];
+        NoyauxSignal.actifs().cumulerCarres(donnees, 0, taille, voies, 0);
+        return NoyauxSignal.sommeVoies(voies) / taille;
+    }
+
+    @Override
+    public Iterator<Float> iterator() {
+        return new Iterator<Float>() {
+            private int courant = 0;
+
+            @Override
+            public boolean hasNext() {
+                return courant < taille;
+            }
+
+            @Override
+            public Float next() {
+                if (courant >= taille) {
+                    throw new NoSuchElementException();
+                }
+                return donnees[courant++];
+            }
+        };
+    }
+}
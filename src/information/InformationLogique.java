@@ -0,0 +1,349 @@
+package information;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Information logique dont les bits sont rangés 64 par 64 dans un tableau de long
+ * plutôt que dans une liste de Boolean.
+ * Le bit de rang i occupe le bit (i % 64) du mot (i / 64) ; les bits situés
+ * au-delà de nbElements() sont toujours à 0, ce qui permet de comparer deux
+ * informations mot par mot.
+ */
+public class InformationLogique extends Information<Boolean> {
+
+    private static final int MOTS_INITIAUX = 2;
+
+    private long[] mots;
+
+    private int taille;
+
+    /**
+     * pour construire une information logique vide
+     */
+    public InformationLogique() {
+        this.mots = new long[MOTS_INITIAUX];
+        this.taille = 0;
+    }
+
+    /**
+     * pour construire une information logique vide en réservant sa capacité
+     *
+     * @param capacite le nombre de bits prévus
+     */
+    public InformationLogique(int capacite) {
+        if (capacite < 0) {
+            throw new IllegalArgumentException("La capacité doit être positive : " + capacite);
+        }
+        this.mots = new long[nbMots(capacite)];
+        this.taille = 0;
+    }
+
+    /**
+     * pour construire une information logique à partir de mots déjà remplis.
+     * Le tableau est utilisé tel quel (il n'est pas copié).
+     *
+     * @param mots   les bits rangés 64 par mot
+     * @param taille le nombre de bits significatifs
+     */
+    public InformationLogique(long[] mots, int taille) {
+        Objects.requireNonNull(mots, "mots ne doit pas être null");
+        if (taille < 0 || nbMots(taille) > mots.length) {
+            throw new IllegalArgumentException("Taille incohérente avec le nombre de mots : " + taille);
+        }
+        this.mots = mots;
+        this.taille = taille;
+        nettoyerFin();
+    }
+
+    /**
+     * pour construire une information logique à partir d'une information de Boolean
+     *
+     * @param information une information a copier
+     */
+    public InformationLogique(Information<Boolean> information) {
+        int n = information.nbElements();
+        if (information instanceof InformationLogique) {
+            this.mots = Arrays.copyOf(((InformationLogique) information).mots, Math.max(nbMots(n), 1));
+        } else {
+            this.mots = new long[Math.max(nbMots(n), 1)];
+            for (int i = 0; i < n; i++) {
+                if (information.iemeElement(i)) {
+                    mots[i >>> 6] |= 1L << i;
+                }
+            }
+        }
+        this.taille = n;
+    }
+
+    /**
+     * Retourne l'information elle-même si elle est déjà logique, sa copie compacte sinon.
+     *
+     * @param information l'information à convertir
+     * @return une information logique de même contenu
+     */
+    public static InformationLogique convertir(Information<Boolean> information) {
+        if (information instanceof InformationLogique) {
+            return (InformationLogique) information;
+        }
+        return new InformationLogique(information);
+    }
+
+    /**
+     * pour connaître le nombre de mots nécessaires à un nombre de bits
+     *
+     * @param nbBits le nombre de bits
+     * @return le nombre de long nécessaires
+     */
+    public static int nbMots(int nbBits) {
+        return (nbBits + 63) >>> 6;
+    }
+
+    /**
+     * Compte les bits différents entre deux informations logiques sur leurs
+     * nbBits premiers bits, par OU exclusif et comptage de population mot par mot.
+     *
+     * @param a      première information
+     * @param b      seconde information
+     * @param nbBits le nombre de bits à comparer
+     * @return le nombre de bits différents
+     */
+    public static long compterDifferences(InformationLogique a, InformationLogique b, int nbBits) {
+        Objects.checkFromIndexSize(0, nbBits, a.taille);
+        Objects.checkFromIndexSize(0, nbBits, b.taille);
+        int motsComplets = nbBits >>> 6;
+        long nbDifferences = 0;
+        for (int m = 0; m < motsComplets; m++) {
+            nbDifferences += Long.bitCount(a.mots[m] ^ b.mots[m]);
+        }
+        int reste = nbBits & 63;
+        if (reste != 0) {
+            long masque = (1L << reste) - 1;
+            nbDifferences += Long.bitCount((a.mots[motsComplets] ^ b.mots[motsComplets]) & masque);
+        }
+        return nbDifferences;
+    }
+
+    /**
+     * Compte les bits différents entre deux portions de même longueur de deux
+     * informations logiques, quelle que soit la position des portions dans les mots.
+     *
+     * @param a      première information
+     * @param debutA rang du premier bit comparé dans a
+     * @param b      seconde information
+     * @param debutB rang du premier bit comparé dans b
+     * @param nbBits le nombre de bits à comparer
+     * @return le nombre de bits différents
+     */
+    public static long compterDifferences(InformationLogique a, int debutA, InformationLogique b, int debutB, int nbBits) {
+        Objects.checkFromIndexSize(debutA, nbBits, a.taille);
+        Objects.checkFromIndexSize(debutB, nbBits, b.taille);
+        long nbDifferences = 0;
+        int i = 0;
+        for (; i + 64 <= nbBits; i += 64) {
+            nbDifferences += Long.bitCount(a.extraireMot(debutA + i) ^ b.extraireMot(debutB + i));
+        }
+        int reste = nbBits - i;
+        if (reste != 0) {
+            long masque = (1L << reste) - 1;
+            nbDifferences += Long.bitCount((a.extraireMot(debutA + i) ^ b.extraireMot(debutB + i)) & masque);
+        }
+        return nbDifferences;
+    }
+
+    /**
+     * pour lire 64 bits consécutifs à partir d'un rang quelconque ; les bits
+     * situés au-delà de l'information valent 0
+     *
+     * @param debut le rang du premier bit lu (bit de poids faible du résultat)
+     * @return les 64 bits
+     */
+    public long extraireMot(int debut) {
+        int m = debut >>> 6;
+        int decalage = debut & 63;
+        long bas = (m < mots.length) ? mots[m] >>> decalage : 0L;
+        if (decalage == 0) {
+            return bas;
+        }
+        long haut = (m + 1 < mots.length) ? mots[m + 1] << (64 - decalage) : 0L;
+        return bas | haut;
+    }
+
+    /**
+     * pour renvoyer un bit sans conversion en Boolean
+     *
+     * @param i le rang du bit (à partir de 0)
+     * @return le ieme bit
+     */
+    public boolean bit(int i) {
+        Objects.checkIndex(i, taille);
+        return (mots[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * pour modifier un bit sans conversion en Boolean
+     *
+     * @param i le rang du bit (à partir de 0)
+     * @param b la nouvelle valeur
+     */
+    public void setBit(int i, boolean b) {
+        Objects.checkIndex(i, taille);
+        verifierModifiable();
+        if (b) {
+            mots[i >>> 6] |= 1L << i;
+        } else {
+            mots[i >>> 6] &= ~(1L << i);
+        }
+    }
+
+    /**
+     * pour ajouter un bit à la fin de l'information
+     *
+     * @param b le bit à rajouter
+     */
+    public void ajouter(boolean b) {
+        verifierModifiable();
+        assurerCapacite(taille + 1);
+        if (b) {
+            mots[taille >>> 6] |= 1L << taille;
+        }
+        taille++;
+    }
+
+    /**
+     * Donne accès au tableau interne des mots. Seuls les nbMots(nbElements())
+     * premiers mots sont significatifs ; le tableau n'est plus valable après
+     * un ajout qui agrandit l'information. Il ne doit pas être modifié
+     * si l'information est figée.
+     *
+     * @return le tableau des mots
+     */
+    public long[] mots() {
+        return mots;
+    }
+
+    /**
+     * pour compter le nombre de bits à 1
+     *
+     * @return le nombre de bits à 1
+     */
+    public long nbUns() {
+        long n = 0;
+        for (int m = 0; m < nbMots(taille); m++) {
+            n += Long.bitCount(mots[m]);
+        }
+        return n;
+    }
+
+    private void assurerCapacite(int nbBits) {
+        int necessaires = nbMots(nbBits);
+        if (necessaires > mots.length) {
+            mots = Arrays.copyOf(mots, Math.max(necessaires, 2 * mots.length));
+        }
+    }
+
+    private void nettoyerFin() {
+        int reste = taille & 63;
+        int dernier = nbMots(taille);
+        if (reste != 0) {
+            mots[dernier - 1] &= (1L << reste) - 1;
+        }
+        Arrays.fill(mots, dernier, mots.length, 0L);
+    }
+
+    @Override
+    public int nbElements() {
+        return taille;
+    }
+
+    @Override
+    public boolean estVide() {
+        return taille == 0;
+    }
+
+    @Override
+    public Boolean iemeElement(int i) {
+        return bit(i);
+    }
+
+    @Override
+    public void setIemeElement(int i, Boolean v) {
+        setBit(i, v);
+    }
+
+    @Override
+    public void add(Boolean valeur) {
+        ajouter(valeur);
+    }
+
+    /**
+     * Les bits étant stockés sous forme compacte, la liste renvoyée
+     * est une copie : la modifier ne modifie pas l'information.
+     *
+     * @return une copie du contenu
+     */
+    @Override
+    public ArrayList<Boolean> getContent() {
+        ArrayList<Boolean> liste = new ArrayList<>(taille);
+        for (int i = 0; i < taille; i++) {
+            liste.add(bit(i));
+        }
+        return liste;
+    }
+
+    @Override
+    public InformationLogique copie() {
+        return new InformationLogique(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof InformationLogique)) {
+            return super.equals(o);
+        }
+        InformationLogique information = (InformationLogique) o;
+        return this.taille == information.taille
+                && compterDifferences(this, information, taille) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (int i = 0; i < taille; i++) {
+            h = 31 * h + Boolean.hashCode(bit(i));
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder();
+        for (int i = 0; i < taille; i++) {
+            s.append(' ').append(bit(i));
+        }
+        return s.toString();
+    }
+
+    @Override
+    public Iterator<Boolean> iterator() {
+        return new Iterator<Boolean>() {
+            private int courant = 0;
+
+            @Override
+            public boolean hasNext() {
+                return courant < taille;
+            }
+
+            @Override
+            public Boolean next() {
+                if (courant >= taille) {
+                    throw new NoSuchElementException();
+                }
+                return bit(courant++);
+            }
+        };
+    }
+}
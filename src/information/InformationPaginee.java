@@ -0,0 +1,412 @@
+package information;
+
+import bruits.Bruit;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Information analogique rangée dans des pages de float de taille fixe.
+ * <br>
+ * Ajouter un échantillon ne recopie jamais les échantillons déjà rangés : une
+ * page pleine est conservée telle quelle et une nouvelle page est allouée, si
+ * bien que l'ajout coûte O(1) même pour un signal construit échantillon par
+ * échantillon dont la taille n'est pas connue à l'avance.  La taille des pages
+ * est une puissance de deux, le rang d'un échantillon donne sa page par un
+ * décalage.
+ * <br>
+ * Les pages sont indépendantes : forEachPage, pages() et spliteratorPages()
+ * permettent de les traiter en parallèle (fork-join), comme le font
+ * ajouterBruit, calculerPuissance et le décodage.  Les résultats ne dépendent
+ * pas du découpage : chaque page est traitée en entier par une seule tâche et
+ * les sommes partielles sont cumulées dans l'ordre des pages.
+ */
+public class InformationPaginee extends Information<Float> {
+
+    /**
+     * nombre d'échantillons d'une page par défaut (64 Kio)
+     */
+    public static final int TAILLE_PAGE = 1 << 14;
+
+    /**
+     * Une page du signal : les échantillons [debut, debut + longueur) de
+     * l'information, rangés à partir du rang 0 de echantillons.
+     */
+    public static final class Page {
+
+        private final int rang;
+        private final int debut;
+        private final int longueur;
+        private final float[] echantillons;
+
+        private Page(int rang, int debut, int longueur, float[] echantillons) {
+            this.rang = rang;
+            this.debut = debut;
+            this.longueur = longueur;
+            this.echantillons = echantillons;
+        }
+
+        /**
+         * @return le rang de la page dans l'information
+         */
+        public int getRang() {
+            return rang;
+        }
+
+        /**
+         * @return le rang, dans l'information, du premier échantillon de la page
+         */
+        public int getDebut() {
+            return debut;
+        }
+
+        /**
+         * @return le nombre d'échantillons significatifs de la page
+         */
+        public int getLongueur() {
+            return longueur;
+        }
+
+        /**
+         * Le tableau de la page, modifiable sur ses getLongueur() premiers rangs
+         * si l'information n'est pas figée.
+         *
+         * @return les échantillons de la page
+         */
+        public float[] getEchantillons() {
+            return echantillons;
+        }
+    }
+
+    private final ArrayList<float[]> pages = new ArrayList<>();
+
+    private final int decalage;
+
+    private final int masque;
+
+    private int taille;
+
+    /**
+     * pour construire une information paginée vide, de pages de TAILLE_PAGE échantillons
+     */
+    public InformationPaginee() {
+        this(TAILLE_PAGE);
+    }
+
+    /**
+     * pour construire une information paginée vide
+     *
+     * @param taillePage le nombre d'échantillons d'une page, puissance de deux
+     */
+    public InformationPaginee(int taillePage) {
+        if (taillePage <= 0 || Integer.bitCount(taillePage) != 1) {
+            throw new IllegalArgumentException("La taille des pages doit être une puissance de deux : " + taillePage);
+        }
+        this.decalage = Integer.numberOfTrailingZeros(taillePage);
+        this.masque = taillePage - 1;
+        this.taille = 0;
+    }
+
+    /**
+     * pour construire une information paginée à partir d'une information de Float
+     *
+     * @param information une information à copier
+     */
+    public InformationPaginee(Information<Float> information) {
+        this(TAILLE_PAGE);
+        if (information instanceof InformationAnalogique) {
+            InformationAnalogique analogique = (InformationAnalogique) information;
+            ajouter(analogique.tableau(), 0, analogique.nbElements());
+        } else {
+            for (Float valeur : information) {
+                ajouter(valeur);
+            }
+        }
+    }
+
+    /**
+     * @return le nombre d'échantillons d'une page
+     */
+    public int taillePage() {
+        return masque + 1;
+    }
+
+    /**
+     * @return le nombre de pages
+     */
+    public int nbPages() {
+        return pages.size();
+    }
+
+    /**
+     * @param p le rang de la page
+     * @return la page p
+     */
+    public Page page(int p) {
+        Objects.checkIndex(p, pages.size());
+        int debut = p << decalage;
+        return new Page(p, debut, Math.min(taillePage(), taille - debut), pages.get(p));
+    }
+
+    /**
+     * pour renvoyer un échantillon sans conversion en Float
+     *
+     * @param i le rang de l'échantillon (à partir de 0)
+     * @return le ieme échantillon
+     */
+    public float valeur(int i) {
+        Objects.checkIndex(i, taille);
+        return pages.get(i >>> decalage)[i & masque];
+    }
+
+    /**
+     * pour modifier un échantillon sans conversion en Float
+     *
+     * @param i le rang de l'échantillon (à partir de 0)
+     * @param v la nouvelle valeur
+     */
+    public void setValeur(int i, float v) {
+        Objects.checkIndex(i, taille);
+        verifierModifiable();
+        pages.get(i >>> decalage)[i & masque] = v;
+    }
+
+    /**
+     * pour ajouter un échantillon à la fin de l'information, sans recopier les
+     * échantillons déjà rangés
+     *
+     * @param v l'échantillon à rajouter
+     */
+    public void ajouter(float v) {
+        verifierModifiable();
+        if (taille == Integer.MAX_VALUE) {
+            throw new SizeInformationException("Information pleine");
+        }
+        if ((taille & masque) == 0) {
+            pages.add(new float[taillePage()]);
+        }
+        pages.get(taille >>> decalage)[taille & masque] = v;
+        taille++;
+    }
+
+    /**
+     * pour ajouter une portion de tableau à la fin de l'information
+     *
+     * @param valeurs  le tableau source
+     * @param debut    l'indice du premier échantillon à copier
+     * @param longueur le nombre d'échantillons à copier
+     */
+    public void ajouter(float[] valeurs, int debut, int longueur) {
+        verifierModifiable();
+        Objects.checkFromIndexSize(debut, longueur, valeurs.length);
+        if ((long) taille + longueur > Integer.MAX_VALUE) {
+            throw new SizeInformationException("Information pleine");
+        }
+        while (longueur > 0) {
+            if ((taille & masque) == 0) {
+                pages.add(new float[taillePage()]);
+            }
+            int decalagePage = taille & masque;
+            int n = Math.min(longueur, taillePage() - decalagePage);
+            System.arraycopy(valeurs, debut, pages.get(taille >>> decalage), decalagePage, n);
+            taille += n;
+            debut += n;
+            longueur -= n;
+        }
+    }
+
+    /**
+     * Applique un traitement à chaque page, les pages étant réparties entre les
+     * fils du pool fork-join commun
+     *
+     * @param traitement le traitement d'une page
+     */
+    public void forEachPage(Consumer<Page> traitement) {
+        pages().forEach(traitement);
+    }
+
+    /**
+     * @return le flux parallèle des pages
+     */
+    public Stream<Page> pages() {
+        return StreamSupport.stream(spliteratorPages(), true);
+    }
+
+    /**
+     * Spliterator des pages : il se divise en deux plages de pages, jusqu'à une page par tâche.
+     *
+     * @return un Spliterator sur les pages, dans l'ordre
+     */
+    public Spliterator<Page> spliteratorPages() {
+        return new SpliteratorPages(0, pages.size());
+    }
+
+    private final class SpliteratorPages implements Spliterator<Page> {
+
+        private int courant;
+        private final int fin;
+
+        private SpliteratorPages(int debut, int fin) {
+            this.courant = debut;
+            this.fin = fin;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Page> action) {
+            if (courant >= fin) {
+                return false;
+            }
+            action.accept(page(courant++));
+            return true;
+        }
+
+        @Override
+        public Spliterator<Page> trySplit() {
+            int milieu = (courant + fin) >>> 1;
+            if (milieu <= courant) {
+                return null;
+            }
+            Spliterator<Page> debut = new SpliteratorPages(courant, milieu);
+            courant = milieu;
+            return debut;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fin - courant;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+
+    @Override
+    public int nbElements() {
+        return taille;
+    }
+
+    @Override
+    public boolean estVide() {
+        return taille == 0;
+    }
+
+    @Override
+    public Float iemeElement(int i) {
+        return valeur(i);
+    }
+
+    @Override
+    public void setIemeElement(int i, Float v) {
+        setValeur(i, v);
+    }
+
+    @Override
+    public void add(Float valeur) {
+        ajouter(valeur);
+    }
+
+    /**
+     * Les échantillons étant stockés sous forme primitive, la liste renvoyée
+     * est une copie : la modifier ne modifie pas l'information.
+     *
+     * @return une copie du contenu
+     */
+    @Override
+    public ArrayList<Float> getContent() {
+        ArrayList<Float> liste = new ArrayList<>(taille);
+        for (Float valeur : this) {
+            liste.add(valeur);
+        }
+        return liste;
+    }
+
+    @Override
+    public InformationPaginee copie() {
+        InformationPaginee copie = new InformationPaginee(taillePage());
+        for (int p = 0; p < pages.size(); p++) {
+            Page page = page(p);
+            copie.ajouter(page.echantillons, 0, page.longueur);
+        }
+        return copie;
+    }
+
+    /**
+     * pour copier les échantillons dans un tableau contigu
+     *
+     * @return un tableau de taille nbElements()
+     */
+    public float[] versTableau() {
+        float[] tableau = new float[taille];
+        for (int p = 0; p < pages.size(); p++) {
+            Page page = page(p);
+            System.arraycopy(page.echantillons, 0, tableau, page.debut, page.longueur);
+        }
+        return tableau;
+    }
+
+    /**
+     * Ajoute le bruit page par page, en parallèle
+     */
+    @Override
+    public Information<Float> ajouterBruit(Bruit bruit) {
+        if (bruit.nbElements() != this.nbElements()) {
+            throw new SizeInformationException("La taille du bruit est différente de la taille de l'information");
+        }
+        verifierModifiable();
+        float[] b = bruit.tableau();
+        NoyauxSignal noyaux = NoyauxSignal.actifs();
+        forEachPage(page -> noyaux.ajouter(b, page.debut, page.echantillons, 0, page.longueur));
+        return this;
+    }
+
+    /**
+     * Calcule la puissance page par page, en parallèle ; les sommes des pages
+     * sont cumulées dans l'ordre, le résultat ne dépend donc pas du parallélisme.
+     */
+    @Override
+    public double calculerPuissance() {
+        if (taille == 0) {
+            return 0.0;
+        }
+        double[] sommes = new double[pages.size()];
+        NoyauxSignal noyaux = NoyauxSignal.actifs();
+        forEachPage(page -> {
+            double[] voies = new double[NoyauxSignal.NB_VOIES];
+            noyaux.cumulerCarres(page.echantillons, 0, page.longueur, voies, page.debut);
+            sommes[page.rang] = NoyauxSignal.sommeVoies(voies);
+        });
+        double puissanceTotale = 0;
+        for (double somme : sommes) {
+            puissanceTotale += somme;
+        }
+        return puissanceTotale / taille;
+    }
+
+    @Override
+    public Iterator<Float> iterator() {
+        return new Iterator<Float>() {
+            private int courant = 0;
+
+            @Override
+            public boolean hasNext() {
+                return courant < taille;
+            }
+
+            @Override
+            public Float next() {
+                if (courant >= taille) {
+                    throw new NoSuchElementException();
+                }
+                return valeur(courant++);
+            }
+        };
+    }
+}
@@ -0,0 +1,167 @@
+package information;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Vue d'une information de Float retardée de tau échantillons et atténuée
+ * par alpha, sans copie : l'élément i vaut 0 pour i &lt; tau et
+ * alpha * source(i - tau) ensuite, calculé à chaque accès.
+ * <br>
+ * La vue a le contenu de genererInformationRetardee sur la même source, mais
+ * n'alloue ni les tau zéros ni la copie atténuée.  Elle est figée (lecture
+ * seule) ; elle lit la source au moment de l'accès, sur le nombre
+ * d'échantillons que la source avait à la création de la vue.  Une
+ * InformationAnalogique somme ses vues directement dans son tableau
+ * (voir InformationAnalogique.sommeVues).
+ */
+public class InformationRetardee extends Information<Float> {
+
+    private final Information<Float> source;
+
+    private final int tau;
+
+    private final float alpha;
+
+    private final int nbSource;
+
+    /**
+     * pour construire la vue retardée et atténuée d'une information
+     *
+     * @param source          l'information de Float retardée (non copiée)
+     * @param parametreTrajet le retard tau et l'atténuation alpha
+     */
+    public InformationRetardee(Information<Float> source, ParametreTrajet parametreTrajet) {
+        if (parametreTrajet == null) {
+            throw new IllegalArgumentException("ParametreTrajet ne peut pas être null");
+        }
+        this.source = Objects.requireNonNull(source, "source ne doit pas être null");
+        this.tau = parametreTrajet.getTau();
+        this.alpha = parametreTrajet.getAlpha();
+        this.nbSource = source.nbElements();
+        if ((long) tau + nbSource > Integer.MAX_VALUE) {
+            throw new SizeInformationException("Information retardée trop longue : " + ((long) tau + nbSource));
+        }
+        figer();
+    }
+
+    /**
+     * @return l'information retardée
+     */
+    public Information<Float> getSource() {
+        return source;
+    }
+
+    /**
+     * @return le retard en échantillons
+     */
+    public int getTau() {
+        return tau;
+    }
+
+    /**
+     * @return l'atténuation
+     */
+    public float getAlpha() {
+        return alpha;
+    }
+
+    /**
+     * @return le nombre d'échantillons de la source pris en compte par la vue
+     */
+    public int nbSource() {
+        return nbSource;
+    }
+
+    /**
+     * pour renvoyer un échantillon sans conversion en Float
+     *
+     * @param i le rang de l'échantillon (à partir de 0)
+     * @return 0 avant le retard, l'échantillon atténué de la source ensuite
+     */
+    public float valeur(int i) {
+        Objects.checkIndex(i, nbElements());
+        if (i < tau) {
+            return 0f;
+        }
+        float v = (source instanceof InformationAnalogique)
+                ? ((InformationAnalogique) source).valeur(i - tau) : source.iemeElement(i - tau);
+        return alpha * v;
+    }
+
+    @Override
+    public int nbElements() {
+        return tau + nbSource;
+    }
+
+    @Override
+    public boolean estVide() {
+        return nbElements() == 0;
+    }
+
+    @Override
+    public Float iemeElement(int i) {
+        return valeur(i);
+    }
+
+    /**
+     * La vue ne stocke pas ses éléments : la liste renvoyée est une copie.
+     *
+     * @return une copie du contenu
+     */
+    @Override
+    public ArrayList<Float> getContent() {
+        ArrayList<Float> liste = new ArrayList<>(nbElements());
+        for (int i = 0; i < nbElements(); i++) {
+            liste.add(valeur(i));
+        }
+        return liste;
+    }
+
+    /**
+     * @return une information analogique modifiable de même contenu
+     */
+    @Override
+    public InformationAnalogique copie() {
+        float[] echantillons = new float[nbElements()];
+        for (int i = tau; i < echantillons.length; i++) {
+            echantillons[i] = valeur(i);
+        }
+        return new InformationAnalogique(echantillons);
+    }
+
+    @Override
+    public double calculerPuissance() {
+        if (nbElements() == 0) {
+            return 0.0;
+        }
+        double puissanceTotale = 0;
+        for (int i = tau; i < nbElements(); i++) {
+            float v = valeur(i);
+            puissanceTotale += v * v;
+        }
+        return puissanceTotale / nbElements();
+    }
+
+    @Override
+    public Iterator<Float> iterator() {
+        return new Iterator<Float>() {
+            private int courant = 0;
+
+            @Override
+            public boolean hasNext() {
+                return courant < nbElements();
+            }
+
+            @Override
+            public Float next() {
+                if (courant >= nbElements()) {
+                    throw new NoSuchElementException();
+                }
+                return valeur(courant++);
+            }
+        };
+    }
+}
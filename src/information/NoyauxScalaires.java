@@ -0,0 +1,53 @@
+package information;
+
+/**
+ * Noyaux de calcul en boucles Java ordinaires
+ */
+final class NoyauxScalaires extends NoyauxSignal {
+
+    @Override
+    public void ajouter(float[] x, int px, float[] y, int py, int n) {
+        for (int i = 0; i < n; i++) {
+            y[py + i] += x[px + i];
+        }
+    }
+
+    @Override
+    public void ajouterProduit(float a, float[] x, int px, float[] y, int py, int n) {
+        for (int i = n - 1; i >= 0; i--) {
+            y[py + i] += a * x[px + i];
+        }
+    }
+
+    @Override
+    public void cumulerCarres(float[] x, int debut, int n, double[] voies, long rang) {
+        for (int i = 0; i < n; i++) {
+            float v = x[debut + i];
+            voies[(int) ((rang + i) & (NB_VOIES - 1))] += v * v;
+        }
+    }
+
+    @Override
+    public long seuiller(float[] x, int base, int pas, int nb, int debut, int fin, float seuil) {
+        return seuillerScalaire(x, base, pas, 0, nb, debut, fin, seuil);
+    }
+
+    /**
+     * Décide les symboles premier à nb - 1, les bits ayant leur rang de symbole
+     */
+    static long seuillerScalaire(float[] x, int base, int pas, int premier, int nb, int debut, int fin, float seuil) {
+        int nbValeur = fin - debut;
+        long mot = 0L;
+        for (int k = premier; k < nb; k++) {
+            int origine = base + k * pas;
+            float somme = 0;
+            for (int j = origine + debut; j < origine + fin; j++) {
+                somme += x[j];
+            }
+            if (somme / nbValeur >= seuil) {
+                mot |= 1L << k;
+            }
+        }
+        return mot;
+    }
+}
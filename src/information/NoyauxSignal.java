@@ -0,0 +1,156 @@
+package information;
+
+/**
+ * Noyaux de calcul élément par élément sur des tableaux de float : somme,
+ * somme pondérée, somme des carrés et décision à seuil.  Ce sont les boucles
+ * des étages à échantillons primitifs (InformationAnalogique,
+ * InformationPaginee, SignalHorsTas, trajets multiples, décodeur).
+ * <br>
+ * Deux implémentations donnent exactement les mêmes résultats :
+ * <ul>
+ *     <li>NoyauxScalaires, des boucles Java ordinaires ;</li>
+ *     <li>NoyauxVectoriels, l'API vectorielle jdk.incubator.vector, qui traite
+ *     plusieurs float par instruction.  Elle n'est disponible que si le module
+ *     est chargé (java --add-modules jdk.incubator.vector ...) et si le
+ *     processeur a des registres d'au moins 256 bits.</li>
+ * </ul>
+ * Les noyaux vectoriels sont utilisés lorsqu'ils sont disponibles, sauf
+ * -Dnoyaux=scalaires ; utiliserVectoriels(boolean) change ce choix en cours
+ * d'exécution.
+ * <br>
+ * La somme des carrés est cumulée sur NB_VOIES voies (l'échantillon de rang r
+ * dans la voie r mod NB_VOIES), dans le même ordre par les deux
+ * implémentations : son résultat ne dépend pas des noyaux choisis.
+ */
+public abstract class NoyauxSignal {
+
+    /**
+     * nombre de voies de cumul de la somme des carrés
+     */
+    public static final int NB_VOIES = 8;
+
+    private static final NoyauxSignal SCALAIRES = new NoyauxScalaires();
+
+    private static final NoyauxSignal VECTORIELS = chargerVectoriels();
+
+    private static volatile NoyauxSignal actifs =
+            (VECTORIELS != null && !"scalaires".equalsIgnoreCase(System.getProperty("noyaux"))) ? VECTORIELS : SCALAIRES;
+
+    /**
+     * @return les noyaux utilisés par les étages du simulateur
+     */
+    public static NoyauxSignal actifs() {
+        return actifs;
+    }
+
+    /**
+     * @return les noyaux scalaires, toujours disponibles
+     */
+    public static NoyauxSignal scalaires() {
+        return SCALAIRES;
+    }
+
+    /**
+     * @return les noyaux vectoriels, null s'ils ne sont pas disponibles
+     */
+    public static NoyauxSignal vectoriels() {
+        return VECTORIELS;
+    }
+
+    /**
+     * pour choisir les noyaux utilisés par les étages du simulateur
+     *
+     * @param vectoriels true pour les noyaux vectoriels (s'ils sont disponibles), false pour les noyaux scalaires
+     * @return true si les noyaux vectoriels sont utilisés
+     */
+    public static boolean utiliserVectoriels(boolean vectoriels) {
+        actifs = (vectoriels && VECTORIELS != null) ? VECTORIELS : SCALAIRES;
+        return actifs == VECTORIELS;
+    }
+
+    /**
+     * @return true si les noyaux vectoriels sont utilisés
+     */
+    public static boolean estVectoriel() {
+        return actifs != SCALAIRES;
+    }
+
+    /**
+     * pour additionner dans l'ordre les voies d'une somme des carrés
+     *
+     * @param voies les NB_VOIES voies cumulées par cumulerCarres
+     * @return la somme des carrés
+     */
+    public static double sommeVoies(double[] voies) {
+        double somme = 0;
+        for (int v = 0; v < NB_VOIES; v++) {
+            somme += voies[v];
+        }
+        return somme;
+    }
+
+    private static NoyauxSignal chargerVectoriels() {
+        try {
+            // la classe n'est chargée que si le module jdk.incubator.vector est présent
+            return (NoyauxSignal) Class.forName("information.NoyauxVectoriels").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * y[py + i] += x[px + i] pour i de 0 à n - 1
+     *
+     * @param x  le tableau ajouté
+     * @param px le rang du premier élément de x
+     * @param y  le tableau modifié
+     * @param py le rang du premier élément de y
+     * @param n  le nombre d'éléments
+     */
+    public abstract void ajouter(float[] x, int px, float[] y, int py, int n);
+
+    /**
+     * y[py + i] += a * x[px + i] pour i de n - 1 à 0.  Le parcours à rebours
+     * permet l'écho d'un tableau sur lui-même (x == y et px &lt; py) : chaque
+     * élément lu n'a pas encore été modifié.
+     *
+     * @param a  le coefficient
+     * @param x  le tableau pondéré
+     * @param px le rang du premier élément de x
+     * @param y  le tableau modifié
+     * @param py le rang du premier élément de y
+     * @param n  le nombre d'éléments
+     */
+    public abstract void ajouterProduit(float a, float[] x, int px, float[] y, int py, int n);
+
+    /**
+     * Cumule les carrés x[debut + i]² (produits en float) dans les voies : le
+     * carré de rang + i va dans la voie (rang + i) mod NB_VOIES.  Des appels
+     * successifs sur des tranches consécutives, rang suivant le nombre
+     * d'échantillons déjà cumulés, donnent le résultat d'un seul appel.
+     *
+     * @param x     le tableau
+     * @param debut le rang du premier élément de x
+     * @param n     le nombre d'éléments
+     * @param voies les NB_VOIES voies de cumul, modifiées
+     * @param rang  le rang de x[debut] dans le signal
+     */
+    public abstract void cumulerCarres(float[] x, int debut, int n, double[] voies, long rang);
+
+    /**
+     * Décide nb symboles de pas échantillons : le bit k du résultat vaut 1 si
+     * la moyenne des échantillons [origine + debut, origine + fin) du symbole k,
+     * origine = base + k * pas, est supérieure ou égale au seuil.  Les
+     * échantillons d'un symbole sont sommés en float, dans l'ordre.
+     *
+     * @param x     le signal
+     * @param base  le rang du premier échantillon du premier symbole
+     * @param pas   le nombre d'échantillons d'un symbole
+     * @param nb    le nombre de symboles (au plus 64)
+     * @param debut début de la fenêtre d'intégration dans un symbole
+     * @param fin   fin (exclue) de la fenêtre d'intégration
+     * @param seuil le seuil de décision
+     * @return le mot des nb bits décidés
+     */
+    public abstract long seuiller(float[] x, int base, int pas, int nb, int debut, int fin, float seuil);
+}
@@ -0,0 +1,104 @@
+package information;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Noyaux de calcul sur l'API vectorielle (jdk.incubator.vector).
+ * <br>
+ * Les opérations sont celles des noyaux scalaires, élément par élément et
+ * dans le même ordre pour chaque élément : produit puis somme en float (sans
+ * fma), carrés cumulés voie par voie en double, échantillons d'un symbole
+ * sommés dans l'ordre (un symbole par élément du vecteur, lus par
+ * rassemblement).  Les résultats sont donc identiques bit à bit.
+ */
+final class NoyauxVectoriels extends NoyauxSignal {
+
+    private static final VectorSpecies<Float> ESPECE = FloatVector.SPECIES_PREFERRED;
+
+    // NB_VOIES float et leurs carrés en deux moitiés de double
+    private static final VectorSpecies<Float> ESPECE_VOIES = FloatVector.SPECIES_256;
+
+    private static final VectorSpecies<Double> ESPECE_DOUBLE = DoubleVector.SPECIES_256;
+
+    NoyauxVectoriels() {
+        if (ESPECE.vectorBitSize() < 256) {
+            // l'API serait émulée, plus lente que les boucles scalaires
+            throw new UnsupportedOperationException("Registres vectoriels de " + ESPECE.vectorBitSize() + " bits");
+        }
+    }
+
+    @Override
+    public void ajouter(float[] x, int px, float[] y, int py, int n) {
+        int i = 0;
+        for (int borne = ESPECE.loopBound(n); i < borne; i += ESPECE.length()) {
+            FloatVector.fromArray(ESPECE, y, py + i)
+                    .add(FloatVector.fromArray(ESPECE, x, px + i))
+                    .intoArray(y, py + i);
+        }
+        for (; i < n; i++) {
+            y[py + i] += x[px + i];
+        }
+    }
+
+    @Override
+    public void ajouterProduit(float a, float[] x, int px, float[] y, int py, int n) {
+        // à rebours, un vecteur entier lu avant d'être écrit : valable pour tout décalage px < py
+        int i = n;
+        for (int longueur = ESPECE.length(); i >= longueur; i -= longueur) {
+            int s = i - longueur;
+            FloatVector produit = FloatVector.fromArray(ESPECE, x, px + s).mul(a);
+            FloatVector.fromArray(ESPECE, y, py + s).add(produit).intoArray(y, py + s);
+        }
+        for (i--; i >= 0; i--) {
+            y[py + i] += a * x[px + i];
+        }
+    }
+
+    @Override
+    public void cumulerCarres(float[] x, int debut, int n, double[] voies, long rang) {
+        int i = 0;
+        // jusqu'au début de la voie 0
+        for (; i < n && ((rang + i) & (NB_VOIES - 1)) != 0; i++) {
+            float v = x[debut + i];
+            voies[(int) ((rang + i) & (NB_VOIES - 1))] += v * v;
+        }
+        DoubleVector bas = DoubleVector.fromArray(ESPECE_DOUBLE, voies, 0);
+        DoubleVector haut = DoubleVector.fromArray(ESPECE_DOUBLE, voies, NB_VOIES / 2);
+        for (int borne = i + ((n - i) & -NB_VOIES); i < borne; i += NB_VOIES) {
+            FloatVector v = FloatVector.fromArray(ESPECE_VOIES, x, debut + i);
+            FloatVector carres = v.mul(v);
+            bas = bas.add((DoubleVector) carres.convertShape(VectorOperators.F2D, ESPECE_DOUBLE, 0));
+            haut = haut.add((DoubleVector) carres.convertShape(VectorOperators.F2D, ESPECE_DOUBLE, 1));
+        }
+        bas.intoArray(voies, 0);
+        haut.intoArray(voies, NB_VOIES / 2);
+        for (; i < n; i++) {
+            float v = x[debut + i];
+            voies[(int) ((rang + i) & (NB_VOIES - 1))] += v * v;
+        }
+    }
+
+    @Override
+    public long seuiller(float[] x, int base, int pas, int nb, int debut, int fin, float seuil) {
+        int longueur = ESPECE.length();
+        int[] carte = new int[longueur];
+        for (int l = 0; l < longueur; l++) {
+            carte[l] = l * pas;
+        }
+        float nbValeur = fin - debut;
+        long mot = 0L;
+        int k = 0;
+        for (; k + longueur <= nb; k += longueur) {
+            int origine = base + k * pas;
+            FloatVector somme = FloatVector.zero(ESPECE);
+            for (int j = debut; j < fin; j++) {
+                somme = somme.add(FloatVector.fromArray(ESPECE, x, origine + j, carte, 0));
+            }
+            mot |= somme.div(nbValeur).compare(VectorOperators.GE, seuil).toLong() << k;
+        }
+        return mot | NoyauxScalaires.seuillerScalaire(x, base, pas, k, nb, debut, fin, seuil);
+    }
+}
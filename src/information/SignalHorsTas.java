@@ -0,0 +1,295 @@
+package information;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Signal de float rangé hors du tas Java, indexé par des long.
+ * <br>
+ * Une Information est limitée à 2^31 éléments et vit dans le tas : un message
+ * de 10^8 bits à 30 échantillons par bit ne peut pas y être représenté.  Le
+ * signal hors tas est découpé en segments de mémoire directe
+ * (ByteBuffer.allocateDirect) de TAILLE_SEGMENT échantillons, que le ramasse-miettes
+ * ne parcourt ni ne déplace.  La mémoire d'un segment est rendue quand le
+ * signal n'est plus référencé ; sa quantité est bornée par l'option
+ * -XX:MaxDirectMemorySize de la JVM.
+ * <br>
+ * Un signal projeté (projete) range ses segments dans un fichier temporaire
+ * projeté en mémoire (FileChannel.map) : le système pagine le fichier, si bien
+ * que le signal peut dépasser la mémoire vive de la machine, tant qu'il est
+ * parcouru bloc par bloc.
+ * <br>
+ * Le signal a une capacité fixée à la construction et une taille, le nombre
+ * d'échantillons significatifs, qui peut croître jusqu'à la capacité
+ * (les échantillons sont initialement nuls).  Les éléments de la chaîne le
+ * lisent et l'écrivent par blocs (lire, ecrire) dans des tableaux de travail.
+ */
+public class SignalHorsTas {
+
+    /**
+     * nombre d'échantillons d'un segment (64 Mio)
+     */
+    public static final int TAILLE_SEGMENT = 1 << 24;
+
+    private static final int DECALAGE_SEGMENT = 24;
+
+    private static final int MASQUE_SEGMENT = TAILLE_SEGMENT - 1;
+
+    private static final int TAILLE_BLOC_PUISSANCE = 1 << 16;
+
+    private final FloatBuffer[] segments;
+
+    private final long capacite;
+
+    private long taille;
+
+    private final boolean projete;
+
+    /**
+     * pour construire un signal de n échantillons nuls
+     *
+     * @param nbEchantillons le nombre d'échantillons
+     */
+    public SignalHorsTas(long nbEchantillons) {
+        this(nbEchantillons, nbEchantillons);
+    }
+
+    /**
+     * pour construire un signal de n échantillons nuls, en réservant de la place
+     * pour l'agrandir (par exemple pour la traîne des trajets multiples)
+     *
+     * @param nbEchantillons le nombre d'échantillons
+     * @param capacite       le nombre maximal d'échantillons
+     */
+    public SignalHorsTas(long nbEchantillons, long capacite) {
+        this(nbEchantillons, capacite, new FloatBuffer[nbSegments(nbEchantillons, capacite)], false);
+        for (int s = 0; s < segments.length; s++) {
+            segments[s] = ByteBuffer.allocateDirect(4 * longueurSegment(s)).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        }
+    }
+
+    private SignalHorsTas(long nbEchantillons, long capacite, FloatBuffer[] segments, boolean projete) {
+        this.segments = segments;
+        this.capacite = capacite;
+        this.taille = nbEchantillons;
+        this.projete = projete;
+    }
+
+    /**
+     * pour construire un signal de n échantillons nuls rangé dans un fichier
+     * temporaire (répertoire java.io.tmpdir) projeté en mémoire.  Le fichier est
+     * effacé dès qu'il est projeté (à la fin du programme si le système ne le
+     * permet pas) ; ses pages sont rendues quand le signal n'est plus référencé.
+     *
+     * @param nbEchantillons le nombre d'échantillons
+     * @param capacite       le nombre maximal d'échantillons
+     * @return le signal projeté
+     * @throws IOException si le fichier temporaire ne peut pas être créé ou projeté
+     */
+    public static SignalHorsTas projete(long nbEchantillons, long capacite) throws IOException {
+        SignalHorsTas signal = new SignalHorsTas(nbEchantillons, capacite,
+                new FloatBuffer[nbSegments(nbEchantillons, capacite)], true);
+        Path fichier = Files.createTempFile("signal", ".bin");
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (int s = 0; s < signal.segments.length; s++) {
+                // le fichier est agrandi (de zéros) à mesure que les segments sont projetés
+                signal.segments[s] = canal.map(FileChannel.MapMode.READ_WRITE, 4L * ((long) s << DECALAGE_SEGMENT),
+                        4L * signal.longueurSegment(s)).order(ByteOrder.nativeOrder()).asFloatBuffer();
+            }
+        } finally {
+            try {
+                Files.delete(fichier);
+            } catch (IOException e) {
+                fichier.toFile().deleteOnExit();
+            }
+        }
+        return signal;
+    }
+
+    private static int nbSegments(long nbEchantillons, long capacite) {
+        if (nbEchantillons < 0 || capacite < nbEchantillons) {
+            throw new IllegalArgumentException("Taille " + nbEchantillons + " incompatible avec la capacité " + capacite);
+        }
+        long nbSegments = (capacite + TAILLE_SEGMENT - 1) >>> DECALAGE_SEGMENT;
+        if (nbSegments > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacité trop grande : " + capacite);
+        }
+        return (int) nbSegments;
+    }
+
+    private int longueurSegment(int s) {
+        return (int) Math.min(TAILLE_SEGMENT, capacite - ((long) s << DECALAGE_SEGMENT));
+    }
+
+    /**
+     * @return true si le signal est rangé dans un fichier projeté en mémoire
+     */
+    public boolean estProjete() {
+        return projete;
+    }
+
+    /**
+     * @return le nombre d'échantillons significatifs
+     */
+    public long nbElements() {
+        return taille;
+    }
+
+    /**
+     * @return le nombre maximal d'échantillons
+     */
+    public long capacite() {
+        return capacite;
+    }
+
+    /**
+     * Agrandit le signal ; les nouveaux échantillons sont ceux présents dans la
+     * capacité réservée (nuls s'ils n'ont jamais été écrits).  Si la capacité ne
+     * suffit pas, le signal est recopié dans un nouveau signal, projeté si
+     * celui-ci l'est.
+     *
+     * @param nbEchantillons la nouvelle taille, au moins égale à la taille actuelle
+     * @return ce signal, ou sa copie agrandie
+     * @throws UncheckedIOException si la copie projetée ne peut pas être créée
+     */
+    public SignalHorsTas agrandir(long nbEchantillons) {
+        if (nbEchantillons < taille) {
+            throw new IllegalArgumentException("Taille " + nbEchantillons + " inférieure à la taille actuelle " + taille);
+        }
+        if (nbEchantillons <= capacite) {
+            taille = nbEchantillons;
+            return this;
+        }
+        SignalHorsTas copie;
+        try {
+            copie = projete ? projete(nbEchantillons, nbEchantillons) : new SignalHorsTas(nbEchantillons);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        float[] bloc = new float[(int) Math.min(TAILLE_SEGMENT, taille)];
+        for (long i = 0; i < taille; i += bloc.length) {
+            int longueur = (int) Math.min(bloc.length, taille - i);
+            lire(i, bloc, 0, longueur);
+            copie.ecrire(i, bloc, 0, longueur);
+        }
+        return copie;
+    }
+
+    /**
+     * pour renvoyer un échantillon
+     *
+     * @param i le rang de l'échantillon (à partir de 0)
+     * @return le ieme échantillon
+     */
+    public float valeur(long i) {
+        Objects.checkIndex(i, taille);
+        return segments[(int) (i >>> DECALAGE_SEGMENT)].get((int) (i & MASQUE_SEGMENT));
+    }
+
+    /**
+     * pour modifier un échantillon
+     *
+     * @param i le rang de l'échantillon (à partir de 0)
+     * @param v la nouvelle valeur
+     */
+    public void setValeur(long i, float v) {
+        Objects.checkIndex(i, taille);
+        segments[(int) (i >>> DECALAGE_SEGMENT)].put((int) (i & MASQUE_SEGMENT), v);
+    }
+
+    /**
+     * Copie des échantillons du signal dans un tableau
+     *
+     * @param debut    le rang du premier échantillon lu
+     * @param dest     le tableau de destination
+     * @param position le rang du premier échantillon écrit dans dest
+     * @param longueur le nombre d'échantillons copiés
+     */
+    public void lire(long debut, float[] dest, int position, int longueur) {
+        Objects.checkFromIndexSize(debut, longueur, taille);
+        while (longueur > 0) {
+            FloatBuffer segment = segments[(int) (debut >>> DECALAGE_SEGMENT)];
+            int decalage = (int) (debut & MASQUE_SEGMENT);
+            int n = Math.min(longueur, segment.capacity() - decalage);
+            segment.get(decalage, dest, position, n);
+            debut += n;
+            position += n;
+            longueur -= n;
+        }
+    }
+
+    /**
+     * Copie des échantillons d'un tableau dans le signal
+     *
+     * @param debut    le rang du premier échantillon écrit dans le signal
+     * @param source   le tableau source
+     * @param position le rang du premier échantillon lu dans source
+     * @param longueur le nombre d'échantillons copiés
+     */
+    public void ecrire(long debut, float[] source, int position, int longueur) {
+        Objects.checkFromIndexSize(debut, longueur, taille);
+        while (longueur > 0) {
+            FloatBuffer segment = segments[(int) (debut >>> DECALAGE_SEGMENT)];
+            int decalage = (int) (debut & MASQUE_SEGMENT);
+            int n = Math.min(longueur, segment.capacity() - decalage);
+            segment.put(decalage, source, position, n);
+            debut += n;
+            position += n;
+            longueur -= n;
+        }
+    }
+
+    /**
+     * Calcule la puissance moyenne des échantillons [debut, fin)
+     *
+     * @param debut le rang du premier échantillon
+     * @param fin   le rang suivant le dernier échantillon
+     * @return la puissance moyenne par échantillon (0 si l'intervalle est vide)
+     */
+    public double calculerPuissance(long debut, long fin) {
+        Objects.checkFromToIndex(debut, fin, taille);
+        if (fin == debut) {
+            return 0.0;
+        }
+        // par blocs copiés dans le tas, cumulés dans les voies comme pour un tableau [debut, fin)
+        NoyauxSignal noyaux = NoyauxSignal.actifs();
+        double[] voies = new double[NoyauxSignal.NB_VOIES];
+        float[] bloc = new float[(int) Math.min(TAILLE_BLOC_PUISSANCE, fin - debut)];
+        for (long i = debut; i < fin; i += bloc.length) {
+            int n = (int) Math.min(bloc.length, fin - i);
+            lire(i, bloc, 0, n);
+            noyaux.cumulerCarres(bloc, 0, n, voies, i - debut);
+        }
+        return NoyauxSignal.sommeVoies(voies) / (fin - debut);
+    }
+
+    /**
+     * @return la puissance moyenne de tout le signal
+     */
+    public double calculerPuissance() {
+        return calculerPuissance(0, taille);
+    }
+
+    /**
+     * pour copier le signal dans une information analogique (tas Java)
+     *
+     * @return l'information analogique de mêmes échantillons
+     * @throws SizeInformationException si le signal dépasse la taille d'un tableau
+     */
+    public InformationAnalogique versInformation() {
+        if (taille > Integer.MAX_VALUE - 8) {
+            throw new SizeInformationException("Signal trop long pour une information : " + taille);
+        }
+        float[] echantillons = new float[(int) taille];
+        lire(0, echantillons, 0, echantillons.length);
+        return new InformationAnalogique(echantillons);
+    }
+}
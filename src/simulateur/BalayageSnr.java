@@ -0,0 +1,151 @@
+package simulateur;
+
+import bruits.BruitBlancGaussien;
+import elements.codeurs.Codeur;
+import elements.decodeurs.Decodeur;
+import elements.sources.SourceAleatoire;
+import elements.transmetteurs.CanalMultiTrajet;
+import information.InformationAnalogique;
+import information.InformationLogique;
+import information.InformationNonConformeException;
+
+import java.util.Random;
+
+/**
+ * La classe BalayageSnr calcule en une seule passe le TEB d'une chaîne
+ * analogique pour tout un vecteur de SNR par bit.
+ * <br>
+ * Le message est émis et mis en forme une seule fois, et un seul bruit
+ * centré réduit z est tiré.  Le décodeur ne regardant que la moyenne des
+ * échantillons d'un bit sur sa fenêtre, un seul parcours des échantillons
+ * donne, pour chaque bit, la moyenne A du signal et la moyenne B du bruit
+ * réduit ; au SNR k, le bit est décidé par A + sigma_k B, sigma_k étant
+ * l'écart-type du bruit à ce SNR.  Tous les points du balayage partagent
+ * ainsi les mêmes nombres aléatoires (courbes plus lisses), et le coût est
+ * celui d'une seule simulation.  Avec un germe, chaque point donne le TEB
+ * d'un Simulateur de même configuration, aux arrondis près.
+ * <br>
+ * Plusieurs formes d'onde peuvent être évaluées sur le même message et le
+ * même bruit réduit : les écarts entre formes ne viennent alors que de la
+ * forme d'onde.
+ */
+public class BalayageSnr {
+
+    private final ConfigurationSimulation configuration;
+
+    /**
+     * @param configuration la chaîne à simuler (son SNR est ignoré)
+     * @throws ArgumentsException si la chaîne n'est pas une transmission analogique
+     *                            sans mode flux, canal discret ni sondes
+     */
+    public BalayageSnr(ConfigurationSimulation configuration) throws ArgumentsException {
+        if (!configuration.isTransmissionAnalogique() || configuration.getTailleBlocFlux() > 0
+                || configuration.isCanalDiscret() || configuration.isAffichage()) {
+            throw new ArgumentsException("Le balayage en SNR demande une transmission analogique sans -flux, -discret ni sondes");
+        }
+        this.configuration = configuration;
+    }
+
+    /**
+     * Simule la chaîne une fois et renvoie son TEB pour chaque SNR
+     *
+     * @param snrpb les SNR par bit en dB
+     * @return le TEB pour chaque SNR
+     * @throws InformationNonConformeException si la simulation échoue
+     */
+    public double[] calculerTeb(float[] snrpb) throws InformationNonConformeException {
+        return calculerTeb(new Mode[]{configuration.getForm()}, snrpb)[0];
+    }
+
+    /**
+     * Simule la chaîne une fois pour plusieurs formes d'onde : toutes reçoivent
+     * le même message et le même bruit réduit, si bien que leurs TEB ne
+     * diffèrent que par la forme d'onde (nombres aléatoires communs).
+     *
+     * @param formes les formes d'onde à comparer (celle de la configuration est ignorée)
+     * @param snrpb  les SNR par bit en dB
+     * @return teb[forme][snr]
+     * @throws InformationNonConformeException si la simulation échoue
+     */
+    public double[][] calculerTeb(Mode[] formes, float[] snrpb) throws InformationNonConformeException {
+        ConfigurationSimulation c = configuration;
+        int nbEch = c.getNbEch();
+        Integer seed = c.getSeed();
+
+        InformationLogique bits = message();
+        int nbBitsTransmis = c.isCodageCanal() ? 3 * bits.nbElements() : bits.nbElements();
+        Random random = (seed != null) ? new Random(seed) : new Random();
+        float[] bruit = BruitBlancGaussien.reduit(nbBitsTransmis * nbEch, random, c.getMoteurGaussien()).tableau();
+
+        double[][] teb = new double[formes.length][];
+        for (int f = 0; f < formes.length; f++) {
+            teb[f] = evaluer(formes[f], bits, bruit, snrpb);
+        }
+        return teb;
+    }
+
+    private double[] evaluer(Mode forme, InformationLogique bits, float[] bruit, float[] snrpb)
+            throws InformationNonConformeException {
+        ConfigurationSimulation c = configuration;
+        int nbEch = c.getNbEch();
+        Float[] amplitude = {c.getAmplitudeMin(), c.getAmplitudeMax()};
+
+        Codeur codeur = new Codeur(forme, nbEch, amplitude, c.isCodageCanal());
+        Decodeur decodeur = new Decodeur(forme, nbEch, amplitude, c.isCodageCanal());
+        codeur.recevoir(bits);
+        InformationAnalogique emis = InformationAnalogique.convertir(codeur.getInformationEmise());
+        double pSignal = emis.calculerPuissance();
+
+        float[] signal = emis.tableau();
+        if (c.getTrajets() != null) {
+            signal = new CanalMultiTrajet(c.getTrajets()).appliquer(signal, emis.nbElements());
+        }
+        int nbBitsTransmis = emis.nbElements() / nbEch;
+
+        // une seule passe : moyennes du signal et du bruit réduit sur la fenêtre de chaque bit
+        int[] fenetre = decodeur.getFenetre();
+        int largeur = fenetre[1] - fenetre[0];
+        float[] moyennesSignal = new float[nbBitsTransmis];
+        float[] moyennesBruit = new float[nbBitsTransmis];
+        for (int i = 0; i < nbBitsTransmis; i++) {
+            float sommeSignal = 0;
+            float sommeBruit = 0;
+            for (int j = i * nbEch + fenetre[0]; j < i * nbEch + fenetre[1]; j++) {
+                sommeSignal += signal[j];
+                sommeBruit += bruit[j];
+            }
+            moyennesSignal[i] = sommeSignal / largeur;
+            moyennesBruit[i] = sommeBruit / largeur;
+        }
+
+        float seuil = decodeur.getSeuil();
+        double[] teb = new double[snrpb.length];
+        for (int k = 0; k < snrpb.length; k++) {
+            float ecartType = (float) BruitBlancGaussien.ecartType(snrpb[k], pSignal, nbEch);
+            long[] mots = new long[InformationLogique.nbMots(nbBitsTransmis)];
+            for (int i = 0; i < nbBitsTransmis; i++) {
+                if (moyennesSignal[i] + ecartType * moyennesBruit[i] >= seuil) {
+                    mots[i >>> 6] |= 1L << i;
+                }
+            }
+            InformationLogique recus = new InformationLogique(mots, nbBitsTransmis);
+            InformationLogique decides = c.isCodageCanal() ? Decodeur.decoderCanal(recus) : recus;
+            teb[k] = (double) InformationLogique.compterDifferences(bits, decides, bits.nbElements()) / bits.nbElements();
+        }
+        return teb;
+    }
+
+    private InformationLogique message() throws InformationNonConformeException {
+        ConfigurationSimulation c = configuration;
+        if (c.isMessageAleatoire()) {
+            SourceAleatoire source = (c.getSeed() != null) ? new SourceAleatoire(c.getNbBitsMess(), c.getSeed())
+                    : new SourceAleatoire(c.getNbBitsMess());
+            return InformationLogique.convertir(source.emettre());
+        }
+        InformationLogique message = new InformationLogique(c.getMessageString().length());
+        for (char e : c.getMessageString().toCharArray()) {
+            message.ajouter(e == '1');
+        }
+        return message;
+    }
+}
@@ -0,0 +1,549 @@
+package simulateur;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * La classe Campagne exécute une campagne de Monte-Carlo (par exemple TEB en
+ * fonction du SNR) en répartissant les essais sur tous les cœurs.
+ * <br>
+ * Une campagne est une grille de nbPoints points (une forme et un SNR, par
+ * exemple) répétés nbEssais fois.  Chaque couple (point, essai) est une unité
+ * de travail indépendante, exécutée par un ForkJoinPool ; son résultat est
+ * rangé à sa place dans un tableau, puis les moyennes sont calculées dans
+ * l'ordre des essais.  Le résultat ne dépend donc pas du nombre de threads,
+ * pourvu que chaque essai fixe lui-même ses germes (par exemple seed + essai).
+ * <br>
+ * Plutôt qu'un nombre d'essais fixe, estimer() répète les essais de chaque
+ * point jusqu'à ce qu'un CritereArret soit atteint (nombre d'erreurs, largeur
+ * de l'intervalle de confiance ou budget de bits), et renvoie le TEB avec son
+ * intervalle de confiance.
+ * <br>
+ * comparerFormes() compare des formes d'onde avec des nombres aléatoires
+ * communs : dans chaque essai, toutes les formes reçoivent le même message et
+ * le même bruit réduit (BalayageSnr), si bien que les écarts entre formes ne
+ * viennent que de la forme d'onde.
+ */
+public class Campagne {
+
+    /**
+     * Un essai de la campagne : il construit et exécute sa propre chaîne de
+     * transmission, sans rien partager avec les autres essais.
+     */
+    @FunctionalInterface
+    public interface Essai {
+        /**
+         * @param point le rang du point de la grille
+         * @param essai le rang de l'essai pour ce point
+         * @return la mesure obtenue (un TEB par exemple)
+         * @throws Exception si la simulation échoue
+         */
+        double executer(int point, int essai) throws Exception;
+    }
+
+    /**
+     * Configuration de la chaîne d'un essai d'une comparaison de formes d'onde
+     * (sa forme d'onde est ignorée).
+     */
+    @FunctionalInterface
+    public interface Configurateur {
+        /**
+         * @param point le rang du point de la grille
+         * @param essai le rang de l'essai pour ce point
+         * @return la configuration de cet essai
+         * @throws Exception si la configuration est incorrecte
+         */
+        ConfigurationSimulation configurer(int point, int essai) throws Exception;
+    }
+
+    /**
+     * Critère d'arrêt des essais d'un point : les essais s'arrêtent dès que le
+     * nombre d'erreurs cible est atteint, ou que l'intervalle de confiance à 95 %
+     * est assez étroit relativement au TEB, ou que le budget de bits est épuisé.
+     */
+    public static class CritereArret {
+        private final long nbErreursCible;
+        private final double largeurRelativeCible;
+        private final long nbBitsMax;
+
+        /**
+         * @param nbErreursCible       le nombre d'erreurs à atteindre (0 : critère inutilisé)
+         * @param largeurRelativeCible la largeur de l'intervalle de confiance rapportée au TEB (0 : critère inutilisé)
+         * @param nbBitsMax            le nombre maximal de bits simulés pour un point
+         */
+        public CritereArret(long nbErreursCible, double largeurRelativeCible, long nbBitsMax) {
+            if (nbErreursCible < 0 || !(largeurRelativeCible >= 0.0) || nbBitsMax < 1) {
+                throw new IllegalArgumentException("Critère d'arrêt invalide : " + nbErreursCible + ", "
+                        + largeurRelativeCible + ", " + nbBitsMax);
+            }
+            this.nbErreursCible = nbErreursCible;
+            this.largeurRelativeCible = largeurRelativeCible;
+            this.nbBitsMax = nbBitsMax;
+        }
+
+        public long getNbErreursCible() {
+            return nbErreursCible;
+        }
+
+        public double getLargeurRelativeCible() {
+            return largeurRelativeCible;
+        }
+
+        public long getNbBitsMax() {
+            return nbBitsMax;
+        }
+
+        /**
+         * @param estimation l'estimation courante d'un point
+         * @return true s'il n'est plus nécessaire de simuler ce point
+         */
+        public boolean estAtteint(Estimation estimation) {
+            if (estimation.getNbBits() >= nbBitsMax) {
+                return true;
+            }
+            if (nbErreursCible > 0 && estimation.getNbErreurs() >= nbErreursCible) {
+                return true;
+            }
+            return largeurRelativeCible > 0 && estimation.getNbErreurs() > 0
+                    && estimation.getBorneSup() - estimation.getBorneInf() <= largeurRelativeCible * estimation.getTeb();
+        }
+    }
+
+    /**
+     * TEB estimé sur un point de la campagne, avec son intervalle de confiance
+     * à 95 %.  Estimé en comptant les erreurs, l'intervalle est celui de Wilson,
+     * qui reste informatif sans aucune erreur : il donne alors une borne
+     * supérieure du TEB.  Estimé par la moyenne d'essais dont les erreurs sont
+     * pondérées (échantillonnage préférentiel), l'intervalle est déduit de la
+     * dispersion des essais.
+     */
+    public static class Estimation {
+        /**
+         * quantile à 97,5 % de la loi normale
+         */
+        private static final double Z = 1.959963984540054;
+
+        private final long nbErreurs;
+        private final long nbBits;
+        private final int nbEssais;
+        private final double teb;
+        private final double borneInf;
+        private final double borneSup;
+
+        /**
+         * @param nbErreurs le nombre de bits faux
+         * @param nbBits    le nombre de bits simulés
+         * @param nbEssais  le nombre d'essais exécutés
+         */
+        public Estimation(long nbErreurs, long nbBits, int nbEssais) {
+            this.nbErreurs = nbErreurs;
+            this.nbBits = nbBits;
+            this.nbEssais = nbEssais;
+            this.teb = (nbBits == 0) ? 0.0 : (double) nbErreurs / nbBits;
+            double centre = 0.5;
+            double demiLargeur = 0.5;
+            if (nbBits > 0) {
+                double z2n = Z * Z / nbBits;
+                centre = (teb + z2n / 2) / (1.0 + z2n);
+                demiLargeur = Z * Math.sqrt(teb * (1 - teb) / nbBits + z2n / (4.0 * nbBits)) / (1.0 + z2n);
+            }
+            // sans erreur, la borne inférieure est exactement nulle, aux arrondis près
+            this.borneInf = (nbErreurs == 0) ? 0.0 : Math.max(0.0, centre - demiLargeur);
+            this.borneSup = Math.min(1.0, centre + demiLargeur);
+        }
+
+        private Estimation(long nbBits, int nbEssais, double teb, double borneInf, double borneSup) {
+            this.nbErreurs = 0;
+            this.nbBits = nbBits;
+            this.nbEssais = nbEssais;
+            this.teb = teb;
+            this.borneInf = borneInf;
+            this.borneSup = borneSup;
+        }
+
+        /**
+         * Estime le TEB par la moyenne des TEB d'essais indépendants (par exemple
+         * pondérés par échantillonnage préférentiel) ; l'intervalle de confiance
+         * est moyenne +/- 1,96 écart-type de la moyenne.  Les erreurs n'étant pas
+         * dénombrées, getNbErreurs() vaut 0.
+         *
+         * @param tebs           le TEB de chaque essai (au moins deux)
+         * @param nbBitsParEssai le nombre de bits de chaque essai
+         * @return l'estimation
+         */
+        public static Estimation depuisEssais(double[] tebs, int nbBitsParEssai) {
+            int n = tebs.length;
+            if (n < 2) {
+                throw new IllegalArgumentException("Au moins deux essais sont nécessaires : " + n);
+            }
+            double somme = 0.0;
+            for (double t : tebs) {
+                somme += t;
+            }
+            double moyenne = somme / n;
+            double sommeCarres = 0.0;
+            for (double t : tebs) {
+                sommeCarres += (t - moyenne) * (t - moyenne);
+            }
+            double demiLargeur = Z * Math.sqrt(sommeCarres / (n - 1) / n);
+            return new Estimation((long) n * nbBitsParEssai, n, moyenne,
+                    Math.max(0.0, moyenne - demiLargeur), Math.min(1.0, moyenne + demiLargeur));
+        }
+
+        public long getNbErreurs() {
+            return nbErreurs;
+        }
+
+        public long getNbBits() {
+            return nbBits;
+        }
+
+        public int getNbEssais() {
+            return nbEssais;
+        }
+
+        /**
+         * @return le taux d'erreur binaire estimé
+         */
+        public double getTeb() {
+            return teb;
+        }
+
+        /**
+         * @return la borne inférieure de l'intervalle de confiance à 95 %
+         */
+        public double getBorneInf() {
+            return borneInf;
+        }
+
+        /**
+         * @return la borne supérieure de l'intervalle de confiance à 95 %
+         */
+        public double getBorneSup() {
+            return borneSup;
+        }
+    }
+
+    /**
+     * nombre minimal d'essais lancés pour un point à chaque tour de estimer()
+     */
+    private static final int LOT_MIN = 8;
+
+    private final int parallelisme;
+
+    /**
+     * Construit une campagne utilisant tous les cœurs disponibles.
+     */
+    public Campagne() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construit une campagne utilisant au plus parallelisme threads.
+     *
+     * @param parallelisme le nombre de threads (au moins 1)
+     */
+    public Campagne(int parallelisme) {
+        if (parallelisme < 1) {
+            throw new IllegalArgumentException("Le parallélisme doit être au moins 1 : " + parallelisme);
+        }
+        this.parallelisme = parallelisme;
+    }
+
+    /**
+     * Exécute tous les essais et renvoie les mesures brutes.
+     *
+     * @param nbPoints le nombre de points de la grille
+     * @param nbEssais le nombre d'essais par point
+     * @param essai    l'essai à exécuter pour chaque couple (point, essai)
+     * @return mesures[point][essai]
+     * @throws Exception la première exception levée par un essai
+     */
+    public double[][] executer(int nbPoints, int nbEssais, Essai essai) throws Exception {
+        double[][] mesures = new double[nbPoints][nbEssais];
+        executerUnites(nbPoints * nbEssais,
+                u -> mesures[u / nbEssais][u % nbEssais] = essai.executer(u / nbEssais, u % nbEssais));
+        return mesures;
+    }
+
+    /**
+     * Compare plusieurs formes d'onde sur tous les points de la grille : chaque
+     * essai simule toutes les formes en une passe, avec le même message et le
+     * même bruit réduit.  Les moyennes sont calculées dans l'ordre des essais.
+     *
+     * @param formes       les formes d'onde à comparer
+     * @param nbPoints     le nombre de points de la grille
+     * @param nbEssais     le nombre d'essais par point
+     * @param configurateur la configuration (SNR, trajets, germe...) de chaque essai
+     * @return le TEB moyen teb[forme][point]
+     * @throws Exception la première exception levée par un essai
+     */
+    public double[][] comparerFormes(Mode[] formes, int nbPoints, int nbEssais, Configurateur configurateur) throws Exception {
+        double[][][] mesures = new double[nbPoints][nbEssais][];
+        executerUnites(nbPoints * nbEssais, u -> {
+            int point = u / nbEssais;
+            int essai = u % nbEssais;
+            ConfigurationSimulation configuration = configurateur.configurer(point, essai);
+            double[][] teb = new BalayageSnr(configuration).calculerTeb(formes, new float[]{configuration.getSnrpb()});
+            double[] parForme = new double[formes.length];
+            for (int f = 0; f < formes.length; f++) {
+                parForme[f] = teb[f][0];
+            }
+            mesures[point][essai] = parForme;
+        });
+        double[][] moyennes = new double[formes.length][nbPoints];
+        for (int f = 0; f < formes.length; f++) {
+            for (int p = 0; p < nbPoints; p++) {
+                double somme = 0.0;
+                for (int e = 0; e < nbEssais; e++) {
+                    somme += mesures[p][e][f];
+                }
+                moyennes[f][p] = somme / nbEssais;
+            }
+        }
+        return moyennes;
+    }
+
+    /**
+     * Estime le TEB de chaque point en répétant ses essais jusqu'à ce que le
+     * critère d'arrêt soit atteint.  Les essais sont lancés par tours : à
+     * chaque tour, chaque point encore actif exécute ses essais suivants
+     * (au moins LOT_MIN, et autant qu'il en a déjà exécutés), puis le critère
+     * est évalué.  Les essais exécutés pour un point ne dépendent donc que de
+     * ses résultats, et non du nombre de threads.
+     *
+     * @param nbPoints       le nombre de points de la grille
+     * @param nbBitsParEssai le nombre de bits du message de chaque essai
+     * @param critere        le critère d'arrêt
+     * @param essai          l'essai à exécuter, qui renvoie le TEB d'un message de nbBitsParEssai bits
+     * @return l'estimation du TEB de chaque point
+     * @throws Exception la première exception levée par un essai
+     */
+    public Estimation[] estimer(int nbPoints, int nbBitsParEssai, CritereArret critere, Essai essai) throws Exception {
+        if (nbBitsParEssai < 1) {
+            throw new IllegalArgumentException("Nombre de bits par essai invalide : " + nbBitsParEssai);
+        }
+        long essaisMax = (critere.getNbBitsMax() + nbBitsParEssai - 1) / nbBitsParEssai;
+        long[] nbErreurs = new long[nbPoints];
+        int[] nbEssais = new int[nbPoints];
+        Estimation[] estimations = new Estimation[nbPoints];
+        for (int p = 0; p < nbPoints; p++) {
+            estimations[p] = new Estimation(0, 0, 0);
+        }
+        while (true) {
+            int[] lots = new int[nbPoints];
+            int nbUnites = 0;
+            for (int p = 0; p < nbPoints; p++) {
+                if (!critere.estAtteint(estimations[p])) {
+                    lots[p] = (int) Math.min(Math.max(LOT_MIN, nbEssais[p]), essaisMax - nbEssais[p]);
+                    nbUnites += lots[p];
+                }
+            }
+            if (nbUnites == 0) {
+                return estimations;
+            }
+            int[] points = new int[nbUnites];
+            int[] rangs = new int[nbUnites];
+            for (int p = 0, u = 0; p < nbPoints; p++) {
+                for (int k = 0; k < lots[p]; k++, u++) {
+                    points[u] = p;
+                    rangs[u] = nbEssais[p] + k;
+                }
+            }
+            double[] tebs = new double[nbUnites];
+            executerUnites(nbUnites, u -> tebs[u] = essai.executer(points[u], rangs[u]));
+            for (int u = 0; u < nbUnites; u++) {
+                nbErreurs[points[u]] += Math.round(tebs[u] * nbBitsParEssai);
+            }
+            for (int p = 0; p < nbPoints; p++) {
+                nbEssais[p] += lots[p];
+                estimations[p] = new Estimation(nbErreurs[p], (long) nbEssais[p] * nbBitsParEssai, nbEssais[p]);
+            }
+        }
+    }
+
+    /**
+     * Exécute les unités de travail 0 à nbUnites - 1 sur un ForkJoinPool
+     * propre à cet appel ; ses Ouvrier, et les chaînes qu'ils gardent,
+     * disparaissent avec lui.
+     */
+    private void executerUnites(int nbUnites, Unite unite) throws Exception {
+        AtomicReference<Exception> echec = new AtomicReference<>();
+        ForkJoinPool pool = new ForkJoinPool(parallelisme, Ouvrier::new, null, false);
+        try {
+            pool.invoke(new Tranche(unite, 0, nbUnites, echec));
+        } finally {
+            pool.shutdown();
+        }
+        if (echec.get() != null) {
+            throw echec.get();
+        }
+    }
+
+    /**
+     * Exécute tous les essais et renvoie, pour chaque point, la moyenne des
+     * mesures, sommées dans l'ordre des essais.
+     *
+     * @param nbPoints le nombre de points de la grille
+     * @param nbEssais le nombre d'essais par point
+     * @param essai    l'essai à exécuter pour chaque couple (point, essai)
+     * @return la moyenne des mesures pour chaque point
+     * @throws Exception la première exception levée par un essai
+     */
+    public double[] moyennes(int nbPoints, int nbEssais, Essai essai) throws Exception {
+        double[][] mesures = executer(nbPoints, nbEssais, essai);
+        double[] moyennes = new double[nbPoints];
+        for (int p = 0; p < nbPoints; p++) {
+            double somme = 0.0;
+            for (int e = 0; e < nbEssais; e++) {
+                somme += mesures[p][e];
+            }
+            moyennes[p] = somme / nbEssais;
+        }
+        return moyennes;
+    }
+
+    /**
+     * Découpe les mesures d'une grille rangée ligne par ligne (par exemple
+     * forme * nbSnr + snr) en un tableau [ligne][colonne].
+     *
+     * @param mesures  les mesures, nbLignes * nbColonnes valeurs
+     * @param nbLignes le nombre de lignes de la grille
+     * @return mesures[ligne * nbColonnes + colonne] rangé en [ligne][colonne]
+     */
+    public static double[][] decouper(double[] mesures, int nbLignes) {
+        int nbColonnes = nbColonnes(mesures.length, nbLignes);
+        double[][] grille = new double[nbLignes][];
+        for (int l = 0; l < nbLignes; l++) {
+            grille[l] = Arrays.copyOfRange(mesures, l * nbColonnes, (l + 1) * nbColonnes);
+        }
+        return grille;
+    }
+
+    /**
+     * Découpe les estimations d'une grille rangée ligne par ligne en un
+     * tableau [ligne][colonne] (voir decouper(double[], int)).
+     *
+     * @param estimations les estimations, nbLignes * nbColonnes valeurs
+     * @param nbLignes    le nombre de lignes de la grille
+     * @return les estimations rangées en [ligne][colonne]
+     */
+    public static Estimation[][] decouper(Estimation[] estimations, int nbLignes) {
+        int nbColonnes = nbColonnes(estimations.length, nbLignes);
+        Estimation[][] grille = new Estimation[nbLignes][];
+        for (int l = 0; l < nbLignes; l++) {
+            grille[l] = Arrays.copyOfRange(estimations, l * nbColonnes, (l + 1) * nbColonnes);
+        }
+        return grille;
+    }
+
+    private static int nbColonnes(int nbValeurs, int nbLignes) {
+        if (nbLignes < 1 || nbValeurs % nbLignes != 0) {
+            throw new IllegalArgumentException(nbValeurs + " mesures ne forment pas " + nbLignes + " lignes");
+        }
+        return nbValeurs / nbLignes;
+    }
+
+    /**
+     * Construit un Simulateur à partir des arguments de la ligne de commande,
+     * l'exécute et renvoie son TEB.
+     *
+     * @param args les arguments du Simulateur
+     * @return le taux d'erreur binaire obtenu
+     * @throws Exception si la simulation échoue
+     */
+    public static double teb(String... args) throws Exception {
+        Simulateur simulateur = new Simulateur(args);
+        simulateur.execute();
+        return simulateur.calculTauxErreurBinaire();
+    }
+
+    /**
+     * Exécute la simulation décrite par une configuration et renvoie son TEB.
+     * Dans un essai d'une campagne, chaque thread conserve sa chaîne de
+     * transmission jusqu'à la fin de l'appel (executer, estimer...) et la
+     * reconfigure (Simulateur.reconfigurer) au lieu d'en construire une
+     * nouvelle à chaque essai ; ailleurs, une chaîne est construite à chaque appel.
+     *
+     * @param configuration la configuration de la simulation
+     * @return le taux d'erreur binaire obtenu
+     * @throws Exception si la simulation échoue
+     */
+    public static double teb(ConfigurationSimulation configuration) throws Exception {
+        Simulateur simulateur;
+        if (!(Thread.currentThread() instanceof Ouvrier)) {
+            simulateur = new Simulateur(configuration);
+        } else {
+            Ouvrier ouvrier = (Ouvrier) Thread.currentThread();
+            if (ouvrier.chaine == null) {
+                ouvrier.chaine = new Simulateur(configuration);
+            } else {
+                ouvrier.chaine.reconfigurer(configuration);
+            }
+            simulateur = ouvrier.chaine;
+        }
+        simulateur.execute();
+        return simulateur.calculTauxErreurBinaire();
+    }
+
+    /**
+     * Une unité de travail, qui range elle-même son résultat
+     */
+    @FunctionalInterface
+    private interface Unite {
+        void executer(int unite) throws Exception;
+    }
+
+    /**
+     * Thread du ForkJoinPool d'un appel : la chaîne de transmission qu'il
+     * reconfigure d'un essai à l'autre
+     */
+    private static final class Ouvrier extends ForkJoinWorkerThread {
+        private Simulateur chaine;
+
+        Ouvrier(ForkJoinPool pool) {
+            super(pool);
+        }
+    }
+
+    /**
+     * Tranche [debut, fin) des unités de travail, découpée en deux tant
+     * qu'elle contient plus d'une unité.
+     */
+    private static class Tranche extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Unite unite;
+        private final int debut;
+        private final int fin;
+        private final AtomicReference<Exception> echec;
+
+        Tranche(Unite unite, int debut, int fin, AtomicReference<Exception> echec) {
+            this.unite = unite;
+            this.debut = debut;
+            this.fin = fin;
+            this.echec = echec;
+        }
+
+        @Override
+        protected void compute() {
+            if (fin - debut > 1) {
+                int milieu = (debut + fin) >>> 1;
+                invokeAll(new Tranche(unite, debut, milieu, echec),
+                        new Tranche(unite, milieu, fin, echec));
+                return;
+            }
+            if (debut == fin || echec.get() != null) {
+                return;
+            }
+            try {
+                unite.executer(debut);
+            } catch (Exception e) {
+                echec.compareAndSet(null, e);
+            }
+        }
+    }
+}
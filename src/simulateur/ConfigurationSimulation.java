@@ -0,0 +1,528 @@
+package simulateur;
+
+import bruits.MoteurGaussien;
+import information.ParametreTrajet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * La classe ConfigurationSimulation regroupe, sous forme typée, les options
+ * d'une simulation (celles de la ligne de commande du Simulateur).
+ * <br>
+ * Une configuration est immuable ; elle se construit avec un Builder :
+ * <pre>
+ * ConfigurationSimulation configuration = ConfigurationSimulation.builder()
+ *         .messageAleatoire(1000)
+ *         .form(Mode.NRZT)
+ *         .amplitude(-4f, 4f)
+ *         .snrpb(3f)
+ *         .trajet(12, 0.5f)
+ *         .seed(42)
+ *         .build();
+ * Simulateur simulateur = new Simulateur(configuration);
+ * </pre>
+ * Comme sur la ligne de commande, les options analogiques (form, nbEch,
+ * amplitude, snrpb, trajets) activent la transmission analogique.
+ */
+public class ConfigurationSimulation {
+
+    private final boolean affichage;
+    private final boolean messageAleatoire;
+    private final boolean aleatoireAvecGerme;
+    private final Integer seed;
+    private final int nbBitsMess;
+    private final String messageString;
+    private final Mode form;
+    private final int nbEch;
+    private final float amplitudeMin;
+    private final float amplitudeMax;
+    private final float snrpb;
+    private final List<ParametreTrajet> trajets;
+    private final boolean transmissionAnalogique;
+    private final boolean codageCanal;
+    private final int tailleBlocFlux;
+    private final MoteurGaussien moteurGaussien;
+    private final double probabiliteErreur;
+    private final boolean canalDiscret;
+    private final boolean echantillonnagePreferentiel;
+    private final long budgetTas;
+
+    private ConfigurationSimulation(Builder builder) {
+        this.affichage = builder.affichage;
+        this.messageAleatoire = builder.messageAleatoire;
+        this.aleatoireAvecGerme = builder.seed != null;
+        this.seed = builder.seed;
+        this.nbBitsMess = builder.nbBitsMess;
+        this.messageString = builder.messageString;
+        this.form = builder.form;
+        this.nbEch = builder.nbEch;
+        this.amplitudeMin = builder.amplitudeMin;
+        this.amplitudeMax = builder.amplitudeMax;
+        this.snrpb = builder.snrpb;
+        this.trajets = (builder.trajets == null) ? null : Collections.unmodifiableList(new ArrayList<>(builder.trajets));
+        this.transmissionAnalogique = builder.transmissionAnalogique;
+        this.codageCanal = builder.codageCanal;
+        this.tailleBlocFlux = builder.tailleBlocFlux;
+        this.moteurGaussien = builder.moteurGaussien;
+        this.probabiliteErreur = builder.probabiliteErreur;
+        this.canalDiscret = builder.canalDiscret;
+        this.echantillonnagePreferentiel = builder.echantillonnagePreferentiel;
+        this.budgetTas = builder.budgetTas;
+    }
+
+    /**
+     * @return un Builder initialisé avec les valeurs par défaut du Simulateur
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return un Builder initialisé avec les valeurs de cette configuration
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    public boolean isAffichage() {
+        return affichage;
+    }
+
+    public boolean isMessageAleatoire() {
+        return messageAleatoire;
+    }
+
+    public boolean isAleatoireAvecGerme() {
+        return aleatoireAvecGerme;
+    }
+
+    /**
+     * @return la semence des générateurs aléatoires, null s'il n'y en a pas
+     */
+    public Integer getSeed() {
+        return seed;
+    }
+
+    public int getNbBitsMess() {
+        return nbBitsMess;
+    }
+
+    public String getMessageString() {
+        return messageString;
+    }
+
+    public Mode getForm() {
+        return form;
+    }
+
+    public int getNbEch() {
+        return nbEch;
+    }
+
+    public float getAmplitudeMin() {
+        return amplitudeMin;
+    }
+
+    public float getAmplitudeMax() {
+        return amplitudeMax;
+    }
+
+    public float getSnrpb() {
+        return snrpb;
+    }
+
+    /**
+     * @return les trajets multiples (non modifiables), null s'il n'y en a pas
+     */
+    public List<ParametreTrajet> getTrajets() {
+        return trajets;
+    }
+
+    public boolean isTransmissionAnalogique() {
+        return transmissionAnalogique;
+    }
+
+    public boolean isCodageCanal() {
+        return codageCanal;
+    }
+
+    public int getTailleBlocFlux() {
+        return tailleBlocFlux;
+    }
+
+    public MoteurGaussien getMoteurGaussien() {
+        return moteurGaussien;
+    }
+
+    /**
+     * @return la probabilité d'erreur du canal binaire symétrique de la chaîne logique, 0 pour un transmetteur parfait
+     */
+    public double getProbabiliteErreur() {
+        return probabiliteErreur;
+    }
+
+    /**
+     * @return true si la transmission analogique est simulée par son canal discret équivalent
+     */
+    public boolean isCanalDiscret() {
+        return canalDiscret;
+    }
+
+    /**
+     * @return true si le TEB est estimé par échantillonnage préférentiel dans le canal discret équivalent
+     */
+    public boolean isEchantillonnagePreferentiel() {
+        return echantillonnagePreferentiel;
+    }
+
+    /**
+     * @return le budget de tas de la chaîne analogique en octets, 0 si aucun
+     */
+    public long getBudgetTas() {
+        return budgetTas;
+    }
+
+    /**
+     * Estime la mémoire de tas occupée par la chaîne analogique complète : le
+     * signal mis en forme, le signal reçu et le bruit, chacun d'un float par
+     * échantillon (traîne des trajets multiples comprise).
+     *
+     * @return l'estimation en octets, 0 pour une chaîne sans signal échantillonné
+     */
+    public long empreinteTas() {
+        if (!transmissionAnalogique || canalDiscret) {
+            return 0L;
+        }
+        long nbBitsTransmis = messageAleatoire ? nbBitsMess : messageString.length();
+        if (codageCanal) {
+            nbBitsTransmis *= 3;
+        }
+        long traine = 0;
+        if (trajets != null) {
+            for (ParametreTrajet trajet : trajets) {
+                traine += trajet.getTau();
+            }
+        }
+        return 3L * Float.BYTES * (nbBitsTransmis * nbEch + traine);
+    }
+
+    /**
+     * @return true si la chaîne analogique dépasse le budget de tas et que ses
+     * signaux doivent être rangés dans des fichiers projetés en mémoire
+     * (message émis en une fois, sans sondes)
+     */
+    public boolean isDebordement() {
+        return budgetTas > 0 && tailleBlocFlux == 0 && !affichage && empreinteTas() > budgetTas;
+    }
+
+    /**
+     * Builder d'une ConfigurationSimulation.  Les valeurs par défaut sont
+     * celles du Simulateur sans argument : message aléatoire de 100 bits,
+     * transmission logique parfaite.
+     */
+    public static class Builder {
+
+        private boolean affichage = false;
+        private boolean messageAleatoire = true;
+        private Integer seed = null;
+        private int nbBitsMess = 100;
+        private String messageString = "";
+        private Mode form = Mode.RZ;
+        private int nbEch = 30;
+        private float amplitudeMin = 0.0f;
+        private float amplitudeMax = 1.0f;
+        private float snrpb = Float.POSITIVE_INFINITY;
+        private List<ParametreTrajet> trajets = null;
+        private boolean transmissionAnalogique = false;
+        private boolean codageCanal = false;
+        private int tailleBlocFlux = 0;
+        private MoteurGaussien moteurGaussien = MoteurGaussien.BOX_MULLER;
+        private double probabiliteErreur = 0.0;
+        private boolean canalDiscret = false;
+        private boolean echantillonnagePreferentiel = false;
+        private long budgetTas = 0L;
+
+        private Builder() {
+        }
+
+        private Builder(ConfigurationSimulation configuration) {
+            this.affichage = configuration.affichage;
+            this.messageAleatoire = configuration.messageAleatoire;
+            this.seed = configuration.seed;
+            this.nbBitsMess = configuration.nbBitsMess;
+            this.messageString = configuration.messageString;
+            this.form = configuration.form;
+            this.nbEch = configuration.nbEch;
+            this.amplitudeMin = configuration.amplitudeMin;
+            this.amplitudeMax = configuration.amplitudeMax;
+            this.snrpb = configuration.snrpb;
+            this.trajets = (configuration.trajets == null) ? null : new ArrayList<>(configuration.trajets);
+            this.transmissionAnalogique = configuration.transmissionAnalogique;
+            this.codageCanal = configuration.codageCanal;
+            this.tailleBlocFlux = configuration.tailleBlocFlux;
+            this.moteurGaussien = configuration.moteurGaussien;
+            this.probabiliteErreur = configuration.probabiliteErreur;
+            this.canalDiscret = configuration.canalDiscret;
+            this.echantillonnagePreferentiel = configuration.echantillonnagePreferentiel;
+            this.budgetTas = configuration.budgetTas;
+        }
+
+        /**
+         * @param affichage true pour utiliser les sondes d'affichage (option -s)
+         * @return ce Builder
+         */
+        public Builder affichage(boolean affichage) {
+            this.affichage = affichage;
+            return this;
+        }
+
+        /**
+         * @param seed la semence des générateurs aléatoires (option -seed)
+         * @return ce Builder
+         */
+        public Builder seed(int seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * pour revenir à des générateurs aléatoires sans semence
+         * @return ce Builder
+         */
+        public Builder sansSeed() {
+            this.seed = null;
+            return this;
+        }
+
+        /**
+         * @param nbBits la longueur du message aléatoire à transmettre (option -mess n)
+         * @return ce Builder
+         */
+        public Builder messageAleatoire(int nbBits) {
+            this.messageAleatoire = true;
+            this.nbBitsMess = nbBits;
+            this.messageString = Integer.toString(nbBits);
+            return this;
+        }
+
+        /**
+         * @param bits le message imposé, suite de 0 et de 1 (option -mess m)
+         * @return ce Builder
+         */
+        public Builder message(String bits) {
+            this.messageAleatoire = false;
+            this.nbBitsMess = bits.length();
+            this.messageString = bits;
+            return this;
+        }
+
+        /**
+         * @param form la forme d'onde (option -form)
+         * @return ce Builder
+         */
+        public Builder form(Mode form) {
+            this.transmissionAnalogique = true;
+            this.form = form;
+            return this;
+        }
+
+        /**
+         * @param nbEch le nombre d'échantillons par bit (option -nbEch)
+         * @return ce Builder
+         */
+        public Builder nbEch(int nbEch) {
+            this.transmissionAnalogique = true;
+            this.nbEch = nbEch;
+            return this;
+        }
+
+        /**
+         * @param min l'amplitude minimale (option -ampl)
+         * @param max l'amplitude maximale
+         * @return ce Builder
+         */
+        public Builder amplitude(float min, float max) {
+            this.transmissionAnalogique = true;
+            this.amplitudeMin = min;
+            this.amplitudeMax = max;
+            return this;
+        }
+
+        /**
+         * @param snrpb le rapport signal/bruit par bit en dB (option -snrpb)
+         * @return ce Builder
+         */
+        public Builder snrpb(float snrpb) {
+            this.transmissionAnalogique = true;
+            this.snrpb = snrpb;
+            return this;
+        }
+
+        /**
+         * ajoute un trajet multiple (option -ti)
+         * @param tau le retard en échantillons
+         * @param alpha l'amplitude relative (entre 0 et 1)
+         * @return ce Builder
+         */
+        public Builder trajet(int tau, float alpha) {
+            return trajet(new ParametreTrajet(tau, alpha));
+        }
+
+        /**
+         * ajoute un trajet multiple (option -ti)
+         * @param trajet les paramètres du trajet
+         * @return ce Builder
+         */
+        public Builder trajet(ParametreTrajet trajet) {
+            this.transmissionAnalogique = true;
+            if (trajets == null) {
+                trajets = new ArrayList<>();
+            }
+            trajets.add(trajet);
+            return this;
+        }
+
+        /**
+         * remplace les trajets multiples
+         * @param trajets les paramètres des trajets (null : aucun trajet multiple)
+         * @return ce Builder
+         */
+        public Builder trajets(List<ParametreTrajet> trajets) {
+            if (trajets == null) {
+                this.trajets = null;
+            } else {
+                this.transmissionAnalogique = true;
+                this.trajets = new ArrayList<>(trajets);
+            }
+            return this;
+        }
+
+        /**
+         * @param codageCanal true pour activer le codage canal (option -codeur)
+         * @return ce Builder
+         */
+        public Builder codageCanal(boolean codageCanal) {
+            this.codageCanal = codageCanal;
+            return this;
+        }
+
+        /**
+         * @param transmissionAnalogique true pour une chaîne codeur / transmetteur analogique / décodeur
+         * @return ce Builder
+         */
+        public Builder transmissionAnalogique(boolean transmissionAnalogique) {
+            this.transmissionAnalogique = transmissionAnalogique;
+            return this;
+        }
+
+        /**
+         * @param tailleBlocFlux la taille des blocs du mode flux, 0 pour émettre le message en une fois (option -flux)
+         * @return ce Builder
+         */
+        public Builder flux(int tailleBlocFlux) {
+            this.tailleBlocFlux = tailleBlocFlux;
+            return this;
+        }
+
+        /**
+         * @param moteurGaussien l'algorithme de tirage du bruit gaussien (option -gauss)
+         * @return ce Builder
+         */
+        public Builder moteurGaussien(MoteurGaussien moteurGaussien) {
+            this.moteurGaussien = moteurGaussien;
+            return this;
+        }
+
+        /**
+         * @param probabiliteErreur la probabilité d'erreur du canal binaire symétrique de la chaîne logique (option -bsc)
+         * @return ce Builder
+         */
+        public Builder probabiliteErreur(double probabiliteErreur) {
+            this.probabiliteErreur = probabiliteErreur;
+            return this;
+        }
+
+        /**
+         * @param canalDiscret true pour simuler la transmission analogique par son canal discret équivalent (option -discret)
+         * @return ce Builder
+         */
+        public Builder canalDiscret(boolean canalDiscret) {
+            if (canalDiscret) this.transmissionAnalogique = true;
+            this.canalDiscret = canalDiscret;
+            return this;
+        }
+
+        /**
+         * @param echantillonnagePreferentiel true pour estimer le TEB par échantillonnage préférentiel
+         *                                    (option -is, qui implique le canal discret équivalent)
+         * @return ce Builder
+         */
+        public Builder echantillonnagePreferentiel(boolean echantillonnagePreferentiel) {
+            if (echantillonnagePreferentiel) canalDiscret(true);
+            this.echantillonnagePreferentiel = echantillonnagePreferentiel;
+            return this;
+        }
+
+        /**
+         * @param budgetTas le budget de tas de la chaîne analogique en octets (option -budget, en Mio) :
+         *                  au-delà, les signaux sont rangés dans des fichiers projetés en mémoire ; 0 pour aucun budget
+         * @return ce Builder
+         */
+        public Builder budgetTas(long budgetTas) {
+            this.budgetTas = budgetTas;
+            return this;
+        }
+
+        /**
+         * vérifie la cohérence des options et construit la configuration
+         * @return la configuration
+         * @throws ArgumentsException si une option est incorrecte
+         */
+        public ConfigurationSimulation build() throws ArgumentsException {
+            if (messageAleatoire && nbBitsMess < 1) {
+                throw new ArgumentsException("Valeur du parametre -mess invalide : " + nbBitsMess);
+            }
+            if (!messageAleatoire && !messageString.matches("[01]+")) {
+                throw new ArgumentsException("Caractere invalide");
+            }
+            if (nbEch <= 2) {
+                throw new ArgumentsException("Valeur du parametre -nbEch invalide : " + nbEch
+                        + "doit être strictement supérieur à 2");
+            }
+            if (nbEch % 3 != 0) {
+                throw new ArgumentsException("Valeur du parametre -nbEch invalide : " + nbEch +
+                        ". Le nbEch doit être multiple de 3");
+            }
+            if (amplitudeMin > amplitudeMax) {
+                throw new ArgumentsException("Valeur du parametre -ampl invalide : " + amplitudeMin);
+            }
+            if (tailleBlocFlux < 0) {
+                throw new ArgumentsException("Valeur du parametre -flux invalide : " + tailleBlocFlux);
+            }
+            if (tailleBlocFlux > 0 && affichage) {
+                throw new ArgumentsException("Les sondes d'affichage (-s) ne sont pas disponibles en mode -flux");
+            }
+            if (!(probabiliteErreur >= 0.0 && probabiliteErreur <= 1.0)) {
+                throw new ArgumentsException("Valeur du parametre -bsc invalide : " + probabiliteErreur);
+            }
+            if (probabiliteErreur > 0.0 && transmissionAnalogique) {
+                throw new ArgumentsException("Le canal binaire symétrique (-bsc) n'est disponible que pour la transmission logique");
+            }
+            if (echantillonnagePreferentiel && !canalDiscret) {
+                throw new ArgumentsException("L'échantillonnage préférentiel (-is) nécessite le canal discret équivalent");
+            }
+            if (canalDiscret && (tailleBlocFlux > 0 || affichage || (trajets != null && !trajets.isEmpty()))) {
+                throw new ArgumentsException("Le canal discret équivalent (-discret) n'est disponible ni avec trajets multiples, ni en mode -flux, ni avec les sondes");
+            }
+            if (budgetTas < 0) {
+                throw new ArgumentsException("Valeur du parametre -budget invalide : " + budgetTas);
+            }
+            if (form == null || moteurGaussien == null) {
+                throw new ArgumentsException("Forme d'onde et moteur gaussien obligatoires");
+            }
+            return new ConfigurationSimulation(this);
+        }
+    }
+}
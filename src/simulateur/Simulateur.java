@@ -2,6 +2,7 @@ package simulateur;
 
 
 import bruits.Bruit;
+import bruits.MoteurGaussien;
 import elements.codeurs.Codeur;
 import elements.decodeurs.Decodeur;
 import elements.destinations.Destination;
@@ -11,16 +12,21 @@ import elements.sources.Source;
 import elements.sources.SourceAleatoire;
 import elements.sources.SourceFixe;
 import elements.sources.SourceInterface;
+import elements.transmetteurs.CanalDiscretEquivalent;
 import elements.transmetteurs.Transmetteur;
+import elements.transmetteurs.TransmetteurBinaireSymetrique;
 import elements.transmetteurs.TransmetteurBruite;
 import elements.transmetteurs.TransmetteurParfait;
 import elements.visualisations.SondeAnalogique;
 import elements.visualisations.SondeLogique;
 import information.Information;
+import information.InformationLogique;
 import information.InformationNonConformeException;
 import information.ParametreTrajet;
+import information.SignalHorsTas;
 
 import java.util.LinkedList;
+import java.util.List;
 
 import static java.lang.Math.log10;
 
@@ -106,6 +112,43 @@ public class Simulateur {
 
     protected boolean codageCanal = false;
 
+    /**
+     * la taille des blocs émis par la source en mode flux (0 : message émis en une fois)
+     */
+    protected int tailleBlocFlux = 0;
+
+    /**
+     * l'algorithme de tirage du bruit gaussien
+     */
+    protected MoteurGaussien moteurGaussien = MoteurGaussien.BOX_MULLER;
+
+    /**
+     * la probabilité d'erreur du canal binaire symétrique de la chaîne logique (0 : transmetteur parfait)
+     */
+    protected double probabiliteErreur = 0.0;
+
+    /**
+     * true si la transmission analogique est simulée par son canal discret équivalent
+     * (un tirage de bruit par bit au lieu de nbEch)
+     */
+    protected boolean canalDiscret = false;
+
+    /**
+     * true si le TEB est estimé par échantillonnage préférentiel dans le canal discret équivalent
+     */
+    protected boolean echantillonnagePreferentiel = false;
+
+    /**
+     * true si la chaîne analogique dépasse le budget de tas : ses signaux sont
+     * rangés dans des fichiers temporaires projetés en mémoire
+     */
+    protected boolean debordement = false;
+
+    /**
+     * la configuration à partir de laquelle la chaîne a été construite
+     */
+    protected ConfigurationSimulation configuration;
+
     /**
      * pour connaitre le nombre d'enchantillon
      *
@@ -115,6 +158,13 @@ public class Simulateur {
         return nbEch;
     }
 
+    /**
+     * @return la configuration de la simulation
+     */
+    public ConfigurationSimulation getConfiguration() {
+        return configuration;
+    }
+
     /**
      * Le constructeur de Simulateur construit une chaîne de
      * transmission composée d'une Source <Boolean>, d'une Destination
@@ -128,19 +178,193 @@ public class Simulateur {
      */
     public Simulateur(String[] args) throws ArgumentsException {
         // analyser et récupérer les arguments
+        analyseArguments(args);
+        construireComposants();
+    }
 
-//        args = new String[7];
-//        args[0] = "-mess";
-//        args[1] = "1010111001";
-//        args[2] = "-form";
-//        args[3] = "RZ";
-//        args[4] = "-nbEch";
-//        args[5] = "99";
-//        args[6] = "-s";
-        this.transmissionAnalogique = false;
+    /**
+     * Construit et connecte la chaîne de transmission décrite par une
+     * configuration, sans passer par la ligne de commande.
+     *
+     * @param configuration la configuration de la simulation
+     * @throws ArgumentsException si la configuration est incorrecte
+     */
+    public Simulateur(ConfigurationSimulation configuration) throws ArgumentsException {
+        construireChaine(configuration);
+    }
 
-        analyseArguments(args);
+    /**
+     * Prépare la chaîne pour une nouvelle exécution décrite par une autre
+     * configuration.  Si seuls le germe, le SNR ou le message changent, les
+     * composants existants (et leurs tampons) sont conservés et simplement
+     * réinitialisés ; sinon la chaîne est reconstruite.  Dans les deux cas,
+     * une exécution donne le même résultat qu'un Simulateur neuf construit
+     * avec cette configuration.
+     *
+     * @param nouvelle la configuration de la prochaine exécution
+     * @throws ArgumentsException si la configuration est incorrecte
+     */
+    public void reconfigurer(ConfigurationSimulation nouvelle) throws ArgumentsException {
+        boolean sourceReutilisable = source instanceof SourceAleatoire || source instanceof SourceFixe;
+        if (!sourceReutilisable || !chaineReutilisable(configuration, nouvelle)) {
+            construireChaine(nouvelle);
+            return;
+        }
+        configuration = nouvelle;
+        aleatoireAvecGerme = nouvelle.isAleatoireAvecGerme();
+        seed = nouvelle.getSeed();
+        nbBitsMess = nouvelle.getNbBitsMess();
+        messageString = nouvelle.getMessageString();
+        snrpb = nouvelle.getSnrpb();
+        probabiliteErreur = nouvelle.getProbabiliteErreur();
+
+        if (source instanceof SourceAleatoire) {
+            ((SourceAleatoire) source).reinitialiser(nbBitsMess, seed);
+        } else {
+            ((SourceFixe) source).setMessage(messageFixe());
+        }
+        if (transmetteurAnalogique instanceof TransmetteurBruite) {
+            ((TransmetteurBruite) transmetteurAnalogique).reinitialiser(snrpb, seed);
+        }
+        if (transmetteurLogique instanceof TransmetteurBinaireSymetrique) {
+            ((TransmetteurBinaireSymetrique) transmetteurLogique).reinitialiser(probabiliteErreur, seed);
+        }
+        if (transmetteurLogique instanceof CanalDiscretEquivalent) {
+            ((CanalDiscretEquivalent) transmetteurLogique).reinitialiser(snrpb, seed);
+        }
+    }
+
+    /**
+     * pour relancer la même chaîne avec un autre germe
+     *
+     * @param seed le nouveau germe, null pour des tirages sans germe
+     * @throws ArgumentsException si la configuration est incorrecte
+     */
+    public void setSeed(Integer seed) throws ArgumentsException {
+        ConfigurationSimulation.Builder builder = configuration.toBuilder();
+        reconfigurer((seed == null ? builder.sansSeed() : builder.seed(seed)).build());
+    }
+
+    /**
+     * pour relancer la même chaîne avec un autre SNR par bit
+     *
+     * @param snrpb le nouveau SNR par bit en dB
+     * @throws ArgumentsException si la configuration est incorrecte
+     */
+    public void setSnrpb(float snrpb) throws ArgumentsException {
+        reconfigurer(configuration.toBuilder().snrpb(snrpb).build());
+    }
+
+    /**
+     * pour relancer la même chaîne avec un autre message imposé
+     *
+     * @param message le nouveau message, suite de 0 et de 1
+     * @throws ArgumentsException si le message est incorrect
+     */
+    public void setMessage(String message) throws ArgumentsException {
+        reconfigurer(configuration.toBuilder().message(message).build());
+    }
+
+    /**
+     * Deux configurations partagent la même chaîne si elles ne diffèrent que par
+     * le germe, le SNR ou la probabilité d'erreur du canal binaire symétrique
+     * (sans passer d'un transmetteur parfait à un transmetteur bruité) ou le
+     * contenu du message (aléatoire ou imposé dans les deux cas).
+     */
+    private static boolean chaineReutilisable(ConfigurationSimulation a, ConfigurationSimulation b) {
+        if (a == null || a.isAffichage() || b.isAffichage()) {
+            return false;
+        }
+        return a.isMessageAleatoire() == b.isMessageAleatoire()
+                && a.getForm() == b.getForm()
+                && a.getNbEch() == b.getNbEch()
+                && a.getAmplitudeMin() == b.getAmplitudeMin()
+                && a.getAmplitudeMax() == b.getAmplitudeMax()
+                && memesTrajets(a.getTrajets(), b.getTrajets())
+                && a.isTransmissionAnalogique() == b.isTransmissionAnalogique()
+                && a.isCodageCanal() == b.isCodageCanal()
+                && a.getTailleBlocFlux() == b.getTailleBlocFlux()
+                && a.getMoteurGaussien() == b.getMoteurGaussien()
+                && a.isCanalDiscret() == b.isCanalDiscret()
+                && a.isEchantillonnagePreferentiel() == b.isEchantillonnagePreferentiel()
+                && a.isDebordement() == b.isDebordement()
+                && transmissionParfaite(a) == transmissionParfaite(b)
+                && (a.getProbabiliteErreur() == 0.0) == (b.getProbabiliteErreur() == 0.0);
+    }
+
+    private static boolean transmissionParfaite(ConfigurationSimulation configuration) {
+        return configuration.getSnrpb() == Float.POSITIVE_INFINITY && configuration.getTrajets() == null;
+    }
+
+    private static boolean memesTrajets(List<ParametreTrajet> a, List<ParametreTrajet> b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i).getTau() != b.get(i).getTau() || a.get(i).getAlpha() != b.get(i).getAlpha()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private InformationLogique messageFixe() throws ArgumentsException {
+        InformationLogique information = new InformationLogique(messageString.length());
+        for (char e : messageString.toCharArray()) {
+            if (e == '0') {
+                information.ajouter(false);
+            } else if (e == '1') {
+                information.ajouter(true);
+            } else {
+                throw new ArgumentsException("Caractere invalide");
+            }
+        }
+        return information;
+    }
+
+    /**
+     * recopie dans les attributs du simulateur les options d'une configuration
+     */
+    private void appliquerConfiguration(ConfigurationSimulation configuration) {
+        this.configuration = configuration;
+        affichage = configuration.isAffichage();
+        messageAleatoire = configuration.isMessageAleatoire();
+        aleatoireAvecGerme = configuration.isAleatoireAvecGerme();
+        seed = configuration.getSeed();
+        nbBitsMess = configuration.getNbBitsMess();
+        messageString = configuration.getMessageString();
+        form = configuration.getForm();
+        nbEch = configuration.getNbEch();
+        amplitude = new Float[] {configuration.getAmplitudeMin(), configuration.getAmplitudeMax()};
+        snrpb = configuration.getSnrpb();
+        params = (configuration.getTrajets() == null) ? null : new LinkedList<>(configuration.getTrajets());
+        transmissionAnalogique = configuration.isTransmissionAnalogique();
+        codageCanal = configuration.isCodageCanal();
+        tailleBlocFlux = configuration.getTailleBlocFlux();
+        moteurGaussien = configuration.getMoteurGaussien();
+        probabiliteErreur = configuration.getProbabiliteErreur();
+        canalDiscret = configuration.isCanalDiscret();
+        echantillonnagePreferentiel = configuration.isEchantillonnagePreferentiel();
+        debordement = configuration.isDebordement();
+    }
 
+    /**
+     * crée et connecte tous les composants de la chaîne décrite par la configuration
+     */
+    private void construireChaine(ConfigurationSimulation configuration) throws ArgumentsException {
+        appliquerConfiguration(configuration);
+        construireComposants();
+    }
+
+    /**
+     * crée et connecte tous les composants de la chaîne décrite par les attributs du simulateur
+     */
+    private void construireComposants() throws ArgumentsException {
+        transmetteurLogique = null;
+        transmetteurAnalogique = null;
 
         if (messageAleatoire) {
             if (aleatoireAvecGerme) {
@@ -149,20 +373,21 @@ public class Simulateur {
                 source = new SourceAleatoire(nbBitsMess);
             }
         } else {
-            Information<Boolean> information = new Information<>();
-            for (char e : messageString.toCharArray()) {
-                if (e == '0') {
-                    information.add(Boolean.FALSE);
-                } else if (e == '1') {
-                    information.add(Boolean.TRUE);
-                } else {
-                    throw new ArgumentsException("Caractere invalide");
-                }
-            }
-            source = new SourceFixe(information);
+            source = new SourceFixe(messageFixe());
         }
         codeur = new Codeur(form, nbEch, amplitude, codageCanal);
-        if(transmissionAnalogique){
+        decodeur = new Decodeur(form, nbEch, amplitude, codageCanal);
+        if (canalDiscret) {
+            CanalDiscretEquivalent canal;
+            if (aleatoireAvecGerme) {
+                canal = new CanalDiscretEquivalent(codeur, decodeur, snrpb, nbEch, codageCanal, seed);
+            } else {
+                canal = new CanalDiscretEquivalent(codeur, decodeur, snrpb, nbEch, codageCanal);
+            }
+            canal.setMoteurGaussien(moteurGaussien);
+            canal.setEchantillonnagePreferentiel(echantillonnagePreferentiel);
+            transmetteurLogique = canal;
+        } else if(transmissionAnalogique){
             if(snrpb == Float.POSITIVE_INFINITY && params == null){
                 transmetteurAnalogique = new TransmetteurParfait<>();
             }
@@ -187,15 +412,33 @@ public class Simulateur {
 
             }
 
+            if (transmetteurAnalogique instanceof TransmetteurBruite) {
+                ((TransmetteurBruite) transmetteurAnalogique).setMoteurGaussien(moteurGaussien);
+                // en mode flux, le bruit ne dépend pas de la taille des blocs
+                ((TransmetteurBruite) transmetteurAnalogique).setPuissanceFlux(codeur.puissanceMoyenne());
+            }
+
+        } else if (probabiliteErreur > 0.0) {
+            if (aleatoireAvecGerme) {
+                transmetteurLogique = new TransmetteurBinaireSymetrique(probabiliteErreur, seed);
+            } else {
+                transmetteurLogique = new TransmetteurBinaireSymetrique(probabiliteErreur);
+            }
         } else {
             transmetteurLogique = new TransmetteurParfait<>();
         }
 
-        decodeur = new Decodeur(form, nbEch, amplitude, codageCanal);
         destination = new DestinationFinale();
 
-        if (transmissionAnalogique){
-            source.connecter(codeur);
+        if (tailleBlocFlux > 0) {
+            // la référence doit parvenir à la destination avant les bits décodés du même bloc
+            source.connecter(((DestinationFinale) destination).getEntreeReference());
+        }
+        if (transmissionAnalogique && !canalDiscret){
+            if (!debordement) {
+                // en débordement, execute() fait passer le message par des signaux projetés
+                source.connecter(codeur);
+            }
             codeur.connecter(transmetteurAnalogique);
             transmetteurAnalogique.connecter(decodeur);
             decodeur.connecter(destination);
@@ -279,8 +522,24 @@ public class Simulateur {
 
     /**
      * La méthode analyseArguments extrait d'un tableau de chaînes de
-     * caractères les différentes options de la simulation.  <br>Elle met
-     * à jour les attributs correspondants du Simulateur.
+     * caractères les différentes options de la simulation et les recopie
+     * dans les attributs du simulateur (voir lireArguments).  La chaîne est
+     * ensuite construite d'après ces attributs : une redéfinition peut les
+     * modifier après super.analyseArguments(args).
+     *
+     * @param args le tableau des différents arguments.
+     * @throws ArgumentsException si un des arguments est incorrect.
+     */
+    protected void analyseArguments(String[] args) throws ArgumentsException {
+        appliquerConfiguration(lireArguments(args));
+    }
+
+
+    /**
+     * La méthode lireArguments extrait d'un tableau de chaînes de
+     * caractères les différentes options de la simulation.  <br>Elle se
+     * contente de remplir une ConfigurationSimulation, dont le Builder
+     * vérifie la cohérence.
      *
      * @param args le tableau des différents arguments.
      *             <br>
@@ -295,102 +554,89 @@ public class Simulateur {
      *             <dt> -nbEch ne </dt><dd> ne (int >2) : nombre d'échantillons pour la transmission analogique</dd>
      *             <dt> -ampl min max </dt><dd> min et max (float) : amplitude minimale et maximale pour la transmission analogique</dd>
      *             <dt> -snrpb s </dt><dd> s (float) : rapport signal/bruit par bit en dB</dd>
-     *             <dt> -ti dt ar </dt><dd> paramètres des trajets multiples (1 à 5 couples dt/ar)</dd>
+     *             <dt> -ti dt ar </dt><dd> paramètres des trajets multiples (un ou plusieurs couples dt/ar)</dd>
      *             <dt> -codeur </dt><dd> active le codage canal</dd>
+     *             <dt> -gauss g </dt><dd> g (BOXMULLER, ZIGGURAT) : algorithme de tirage du bruit gaussien</dd>
+     *             <dt> -flux t </dt><dd> t (int) : le message est émis par blocs de t bits (mode flux, sans sondes) ; le bruit est calculé d'après la puissance moyenne de la forme d'onde (Codeur.puissanceMoyenne), et non d'après celle du message</dd>
+     *             <dt> -bsc p </dt><dd> p (double) : canal binaire symétrique de probabilité d'erreur p sur la chaîne logique</dd>
+     *             <dt> -is </dt><dd> le TEB est estimé par échantillonnage préférentiel dans le canal discret équivalent (implique -discret)</dd>
+     *             <dt> -discret </dt><dd> la transmission analogique (sans trajets multiples) est simulée par son canal discret équivalent, un tirage de bruit par bit</dd>
+     *             <dt> -budget m </dt><dd> m (long, en Mio) : budget de tas de la chaîne analogique, au-delà duquel ses signaux sont rangés dans des fichiers projetés en mémoire</dd>
      *             </dl>
+     * @return la configuration correspondante
      * @throws ArgumentsException si un des arguments est incorrect.
      */
-    protected void analyseArguments(String[] args) throws ArgumentsException {
+    protected static ConfigurationSimulation lireArguments(String[] args) throws ArgumentsException {
+        ConfigurationSimulation.Builder configuration = ConfigurationSimulation.builder();
 
         for (int i = 0; i < args.length; i++) { // traiter les arguments 1 par 1
 
             if (args[i].matches("-s")) {
-                affichage = true;
+                configuration.affichage(true);
             } else if (args[i].matches("-seed")) {
-                aleatoireAvecGerme = true;
                 i++;
                 // traiter la valeur associee
                 try {
-                    seed = Integer.valueOf(args[i]);
+                    configuration.seed(Integer.parseInt(args[i]));
                 } catch (Exception e) {
                     throw new ArgumentsException("Valeur du parametre -seed  invalide :" + args[i]);
                 }
             } else if (args[i].matches("-mess")) {
                 i++;
                 // traiter la valeur associee
-                messageString = args[i];
                 if (args[i].matches("[0,1]{7,}")) {
-                    messageAleatoire = false;
-                    nbBitsMess = args[i].length();
+                    configuration.message(args[i]);
                 } else if (args[i].matches("[0-9]{1,6}")) { // de 1 à 6 chiffres
-                    messageAleatoire = true;
-                    nbBitsMess = Integer.valueOf(args[i]);
-                    if (nbBitsMess < 1)
-                        throw new ArgumentsException("Valeur du parametre -mess invalide : " + nbBitsMess);
+                    configuration.messageAleatoire(Integer.parseInt(args[i]));
                 } else throw new ArgumentsException("Valeur du parametre -mess invalide : " + args[i]);
             } else if (args[i].matches("-form")) {
-                transmissionAnalogique = true;
                 i++;
                 // traiter la valeur associee
                 if (args[i].toUpperCase().matches("NRZ|NRZT|RZ")) {
-                    if (args[i].toUpperCase().matches("NRZ")) {
-                        form = Mode.NRZ;
-                    } else if (args[i].toUpperCase().matches("NRZT")) {
-                        form = Mode.NRZT;
-                    } else if (args[i].toUpperCase().matches("RZ")) {
-                        form = Mode.RZ;
-                    }
+                    configuration.form(Mode.valueOf(args[i].toUpperCase()));
                 } else {
                     throw new ArgumentsException("Valeur du parametre -form invalide : " + args[i]);
                 }
             } else if (args[i].matches("-nbEch")) {
-                transmissionAnalogique = true;
                 // traiter la valeur associee
                 i++;
                 if ((i < args.length) && (args[i].toUpperCase().matches("[1-9]\\d*"))) {
-                    nbEch = Integer.parseInt(args[i]);
-                    if(nbEch <= 2) throw new ArgumentsException("Valeur du parametre -nbEch invalide : " + args[i]
-                            + "doit être strictement supérieur à 2");
-                    if(nbEch % 3 != 0) throw new ArgumentsException("Valeur du parametre -nbEch invalide : " + args[i] +
-                            ". Le nbEch doit être multiple de 3");
+                    try {
+                        configuration.nbEch(Integer.parseInt(args[i]));
+                    } catch (NumberFormatException e) {
+                        throw new ArgumentsException("Valeur du parametre -nbEch invalide : " + args[i]);
+                    }
                 } else {
-                    nbEch = 30;
+                    configuration.nbEch(30);
                 }
             } else if (args[i].matches("-ampl")) {
-                transmissionAnalogique = true;
                 if (i + 2 >= args.length) {
                     throw new ArgumentsException("Pas assez d'arguments après -ampl");
                 }
                 String minString = args[++i];
                 String maxString = args[++i];
                 try {
-                    float min = Float.parseFloat(minString);
-                    float max = Float.parseFloat(maxString);
-                    if (min > max) throw new ArgumentsException("Valeur du parametre -ampl invalide : " + minString);
-                    amplitude[0] = min;
-                    amplitude[1] = max;
+                    configuration.amplitude(Float.parseFloat(minString), Float.parseFloat(maxString));
                 } catch (Exception e) {
                     throw new ArgumentsException("Valeur du parametre -ampl invalide : " + args[i]);
                 }
             } else if(args[i].matches("-snrpb")) {
-                transmissionAnalogique = true;
                 i++;
                 try{
-                    snrpb = Float.parseFloat(args[i]); //on récupère la valeur du snr (en dB)
+                    configuration.snrpb(Float.parseFloat(args[i])); //on récupère la valeur du snr (en dB)
                 } catch(Exception e) {
                     throw new ArgumentsException("Valeur du parametre -snrpb  invalide :" + args[i]);
                 }
             } else if(args[i].matches("-ti")) {
-                transmissionAnalogique = true;
-                params = new LinkedList<>();
+                LinkedList<ParametreTrajet> params = new LinkedList<>();
 
                 int j=1;
                 while(i+j < args.length && args[i+j].matches("[0-9.]*")){
                     j++;
                 }
                 int nbTrajets =  j / 2; //nombre d'arguments de -ti / nombre de trajets (paire d'arguments)
-                if (nbTrajets <= 0 || nbTrajets > 5) {
-                    throw new ArgumentsException("Nombre incorrect de couples dt/ar après -ti (doit être entre 1 et 5)");
+                if (nbTrajets <= 0) {
+                    throw new ArgumentsException("Nombre incorrect de couples dt/ar après -ti (au moins un couple)");
                 }
                 for (int k = 0; k < nbTrajets; k++) {
                     if (i + k*2 + 2 >= args.length) {
@@ -404,42 +650,125 @@ public class Simulateur {
                         throw new ArgumentsException("Valeur incorrecte pour les paramètres dt/ar après -ti");
                     }
                 }
-                if (nbEch == 0){
-                    nbEch = 30;
-                }
+                configuration.trajets(params);
                 i+=nbTrajets*2;
             } else if (args[i].matches("-codeur")) {
-                codageCanal = true;
+                configuration.codageCanal(true);
+            } else if (args[i].matches("-gauss")) {
+                i++;
+                if ((i < args.length) && args[i].toUpperCase().matches("BOXMULLER|BOX_MULLER")) {
+                    configuration.moteurGaussien(MoteurGaussien.BOX_MULLER);
+                } else if ((i < args.length) && args[i].toUpperCase().matches("ZIGGURAT")) {
+                    configuration.moteurGaussien(MoteurGaussien.ZIGGURAT);
+                } else {
+                    throw new ArgumentsException("Valeur du parametre -gauss invalide");
+                }
+            } else if (args[i].matches("-flux")) {
+                i++;
+                if ((i < args.length) && args[i].matches("[1-9]\\d*")) {
+                    try {
+                        configuration.flux(Integer.parseInt(args[i]));
+                    } catch (NumberFormatException e) {
+                        throw new ArgumentsException("Valeur du parametre -flux invalide : " + args[i]);
+                    }
+                } else {
+                    throw new ArgumentsException("Valeur du parametre -flux invalide");
+                }
+            } else if (args[i].matches("-bsc")) {
+                i++;
+                try {
+                    configuration.probabiliteErreur(Double.parseDouble(args[i]));
+                } catch (Exception e) {
+                    throw new ArgumentsException("Valeur du parametre -bsc invalide");
+                }
+            } else if (args[i].matches("-discret")) {
+                configuration.canalDiscret(true);
+            } else if (args[i].matches("-is")) {
+                configuration.echantillonnagePreferentiel(true);
+            } else if (args[i].matches("-budget")) {
+                i++;
+                if ((i < args.length) && args[i].matches("[1-9]\\d{0,12}")) {
+                    configuration.budgetTas(Long.parseLong(args[i]) << 20);
+                } else {
+                    throw new ArgumentsException("Valeur du parametre -budget invalide");
+                }
             }
 
             //TODO : ajouter ci-après le traitement des nouvelles options
 
             else throw new ArgumentsException("Option invalide :" + args[i]);
         }
+        return configuration.build();
     }
 
 
     /**
      * La méthode execute effectue un envoi de message par la source
-     * de la chaîne de transmission du Simulateur.
+     * de la chaîne de transmission du Simulateur, en une fois ou
+     * par blocs successifs en mode flux.
      *
      * @throws Exception si un problème survient lors de l'exécution
      */
     public void execute() throws Exception {
-        source.emettre();
+        if (debordement) {
+            executerProjete();
+        } else if (tailleBlocFlux > 0) {
+            source.emettreFlux(tailleBlocFlux);
+        } else {
+            source.emettre();
+        }
     }
 
 
+    /**
+     * Fait passer le message émis par la source dans la chaîne analogique sans
+     * que ses signaux n'occupent le tas : le codeur met en forme dans un fichier
+     * temporaire projeté en mémoire, le transmetteur le modifie sur place et le
+     * décodeur le parcourt, chacun par blocs successifs.  Le message décodé est
+     * le même que celui de la chaîne habituelle.
+     *
+     * @throws Exception si un problème survient lors de l'exécution
+     */
+    private void executerProjete() throws Exception {
+        source.emettre();
+        InformationLogique bits = InformationLogique.convertir(source.getInformationEmise());
+        TransmetteurBruite transmetteurBruite = (transmetteurAnalogique instanceof TransmetteurBruite)
+                ? (TransmetteurBruite) transmetteurAnalogique : null;
+        int traine = (transmetteurBruite != null) ? transmetteurBruite.getTraine() : 0;
+        SignalHorsTas signal = codeur.mettreEnFormeProjete(bits, traine);
+        if (transmetteurBruite != null) {
+            signal = transmetteurBruite.transmettreHorsTas(signal);
+        }
+        destination.recevoir(decodeur.decoderHorsTas(signal));
+    }
+
     /**
      * La méthode qui calcule le taux d'erreur binaire en comparant
      * les bits du message émis avec ceux du message reçu.
+     * Lorsque les deux messages sont compactés (InformationLogique), la
+     * comparaison se fait 64 bits à la fois (OU exclusif puis Long.bitCount).
+     * En mode flux, les erreurs ont été comptées bloc par bloc par la destination ;
+     * en échantillonnage préférentiel, les erreurs sont pondérées par le canal.
      *
      * @return La valeur du Taux dErreur Binaire.
      */
     public float calculTauxErreurBinaire() {
+        if (tailleBlocFlux > 0 && destination instanceof DestinationFinale) {
+            return (float) ((double) ((DestinationFinale) destination).getNbErreursFlux() / nbBitsMess);
+        }
+        if (echantillonnagePreferentiel && transmetteurLogique instanceof CanalDiscretEquivalent) {
+            return (float) (((CanalDiscretEquivalent) transmetteurLogique).getSommePoidsErreurs() / nbBitsMess);
+        }
+
         Information<Boolean> informationEmise = source.getInformationEmise();
         Information<Boolean> informationRecue = destination.getInformationRecue();
 
+        if (informationEmise instanceof InformationLogique && informationRecue instanceof InformationLogique) {
+            long nbErreurs = InformationLogique.compterDifferences((InformationLogique) informationEmise,
+                    (InformationLogique) informationRecue, nbBitsMess);
+            return (float) nbErreurs / nbBitsMess;
+        }
+
         float nbErreurs = 0.0f;
 
         for (int i = 0; i < nbBitsMess; i++) {
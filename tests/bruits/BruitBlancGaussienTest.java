@@ -5,7 +5,9 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ErrorCollector;
 
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Random;
 
 import static org.hamcrest.CoreMatchers.is;
 
@@ -59,4 +61,50 @@ public class BruitBlancGaussienTest {
     public void seed(){
         collector.checkThat("Seed fixé bruit different", bruitBlancGaussien4, is(bruitBlancGaussien3));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void ziggurat() {
+        // snrpb = 0 dB, pSignal = 2, nbEch = 1 : écart-type attendu de 1
+        int n = 200000;
+        BruitBlancGaussien ziggurat = new BruitBlancGaussien(n, 0f, 2, 1, new Random(2024), MoteurGaussien.ZIGGURAT);
+        BruitBlancGaussien boxMuller = new BruitBlancGaussien(n, 0f, 2, 1, new Random(2025), MoteurGaussien.BOX_MULLER);
+
+        double somme = 0, sommeCarres = 0, sommeQuatre = 0;
+        int auDelaDeTrois = 0;
+        for (float x : ziggurat.tableau()) {
+            somme += x;
+            sommeCarres += x * x;
+            sommeQuatre += (double) x * x * x * x;
+            if (Math.abs(x) > 3) auDelaDeTrois++;
+        }
+        double moyenne = somme / n;
+        double variance = sommeCarres / n - moyenne * moyenne;
+        collector.checkThat("Error moyenne ziggurat", Math.abs(moyenne) < 4 / Math.sqrt(n), is(true));
+        collector.checkThat("Error variance ziggurat", Math.abs(variance - 1) < 0.02, is(true));
+        collector.checkThat("Error kurtosis ziggurat", Math.abs(sommeQuatre / n - 3) < 0.1, is(true));
+        collector.checkThat("Error queue ziggurat", Math.abs(auDelaDeTrois / (double) n - 0.0027) < 0.0006, is(true));
+
+        // Kolmogorov-Smirnov à deux échantillons contre Box-Muller, seuil 0.1 %
+        float[] a = Arrays.copyOf(ziggurat.tableau(), n);
+        float[] b = Arrays.copyOf(boxMuller.tableau(), n);
+        Arrays.sort(a);
+        Arrays.sort(b);
+        double ecartMax = 0;
+        int i = 0, j = 0;
+        while (i < n && j < n) {
+            float x = Math.min(a[i], b[j]);
+            while (i < n && a[i] <= x) i++;
+            while (j < n && b[j] <= x) j++;
+            ecartMax = Math.max(ecartMax, Math.abs(i - j) / (double) n);
+        }
+        collector.checkThat("Error Kolmogorov-Smirnov ziggurat/Box-Muller", ecartMax < 1.95 * Math.sqrt(2.0 / n), is(true));
+    }
+
+    @Test
+    public void zigguratSeed() {
+        BruitBlancGaussien b1 = new BruitBlancGaussien(1000, 1f, 4, 50, new Random(1234), MoteurGaussien.ZIGGURAT);
+        BruitBlancGaussien b2 = new BruitBlancGaussien(1000, 1f, 4, 50, new Random(1234), MoteurGaussien.ZIGGURAT);
+        collector.checkThat("Seed fixé bruit ziggurat different", b2, is(b1));
+        collector.checkThat("Error moteur", b1.getMoteur(), is(MoteurGaussien.ZIGGURAT));
+    }
+}
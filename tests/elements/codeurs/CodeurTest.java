@@ -1,6 +1,8 @@
 package elements.codeurs;
 
 import information.Information;
+import information.InformationAnalogique;
+import information.InformationLogique;
 import information.InformationNonConformeException;
 import org.junit.Before;
 import org.junit.Rule;
@@ -10,6 +12,7 @@ import simulateur.Mode;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.Mockito.*;
@@ -190,6 +193,16 @@ public class CodeurTest {
         collector.checkThat("Error transformer()", codeurNRZT.transformer(), is(informationEmiseNRZT));
     }
 
+    @Test
+    public void transformerGabaritsIntacts() throws InformationNonConformeException {
+        codeurNRZT.recevoir(informationRecu);
+        InformationAnalogique premier = codeurNRZT.transformer();
+        for (int i = 0; i < premier.nbElements(); i++) {
+            premier.setValeur(i, 99f);
+        }
+        collector.checkThat("Error transformer() après modification d'un signal produit", codeurNRZT.transformer(), is(informationEmiseNRZT));
+    }
+
     @Test
     public void emettre() throws InformationNonConformeException {
         codeurRZ.recevoir(informationRecu);
@@ -202,6 +215,71 @@ public class CodeurTest {
         collector.checkThat("Erreur codageCanal()", codeur.codageCanal(), is(informationAttenduCodage));
     }
 
+    @Test
+    public void codageCanalLong() throws InformationNonConformeException {
+        Random random = new Random(3);
+        for (int nbBits : new int[]{1, 8, 63, 64, 65, 200}) {
+            InformationLogique bits = new InformationLogique();
+            InformationLogique attendu = new InformationLogique();
+            for (int i = 0; i < nbBits; i++) {
+                boolean b = random.nextBoolean();
+                bits.ajouter(b);
+                attendu.ajouter(b);
+                attendu.ajouter(!b);
+                attendu.ajouter(b);
+            }
+            codeur.recevoir(bits);
+            collector.checkThat("Erreur codageCanal() sur " + nbBits + " bits", codeur.codageCanal(), is(attendu));
+        }
+    }
+
+    @Test
+    public void puissanceEtMoyennes() throws InformationNonConformeException {
+        Random random = new Random(5);
+        InformationLogique bits = new InformationLogique();
+        for (int i = 0; i < 100; i++) {
+            bits.ajouter(random.nextBoolean());
+        }
+        for (Mode mode : Mode.values()) {
+            Codeur c = new Codeur(mode, 12, new Float[]{-1.0f, 2.0f}, false);
+            c.recevoir(bits);
+            InformationAnalogique signal = InformationAnalogique.convertir(c.getInformationEmise());
+            collector.checkThat("Erreur puissance() " + mode,
+                    Math.abs(c.puissance(bits) - signal.calculerPuissance()) < 1e-4, is(true));
+
+            float[] moyennes = c.moyennesFenetre(bits, 4, 8);
+            boolean egales = true;
+            for (int i = 0; i < bits.nbElements(); i++) {
+                float somme = 0;
+                for (int j = 4; j < 8; j++) {
+                    somme += signal.tableau()[i * 12 + j];
+                }
+                egales &= Math.abs(somme / 4 - moyennes[i]) < 1e-5;
+            }
+            collector.checkThat("Erreur moyennesFenetre() " + mode, egales, is(true));
+        }
+    }
+
+    @Test
+    public void puissanceMoyenne() {
+        collector.checkThat("Erreur puissanceMoyenne() NRZ",
+                new Codeur(Mode.NRZ, 12, new Float[]{-1.0f, 2.0f}, false).puissanceMoyenne(), is(2.5));
+
+        Random random = new Random(8);
+        InformationLogique bits = new InformationLogique();
+        for (int i = 0; i < 100_000; i++) {
+            bits.ajouter(random.nextBoolean());
+        }
+        for (Mode mode : Mode.values()) {
+            for (boolean codage : new boolean[]{false, true}) {
+                Codeur c = new Codeur(mode, 12, new Float[]{-1.0f, 2.0f}, codage);
+                double mesuree = c.puissance(codage ? Codeur.coderCanal(bits) : bits);
+                collector.checkThat("Erreur puissanceMoyenne() " + mode + " codage " + codage,
+                        Math.abs(c.puissanceMoyenne() - mesuree) < 0.01 * mesuree, is(true));
+            }
+        }
+    }
+
     @Test(expected = InformationNonConformeException.class)
     public void codageCanal2() throws InformationNonConformeException {
         collector.checkThat("Erreur codageCanal", codeur.codageCanal(), is(informationAttenduCodage2));
@@ -1,7 +1,10 @@
 package elements.decodeurs;
 
 import information.Information;
+import information.InformationAnalogique;
+import information.InformationLogique;
 import information.InformationNonConformeException;
+import information.InformationPaginee;
 import information.SizeInformationException;
 import org.junit.Before;
 import org.junit.Rule;
@@ -11,6 +14,7 @@ import simulateur.Mode;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -112,6 +116,50 @@ public class DecodeurTest {
         assertEquals("NRZT : problème de décodage", message, sortie);
     }
 
+    @Test
+    public void testDecodeLong() throws InformationNonConformeException {
+        // assez de bits pour que le décodage soit réparti en plusieurs tâches
+        int nbBits = 50000;
+        int nbEchLong = 6;
+        decodeur = new Decodeur(Mode.NRZ, nbEchLong, amplitude, false);
+        Random random = new Random(13);
+        InformationLogique message = new InformationLogique(nbBits);
+        float[] signal = new float[nbBits * nbEchLong];
+        for (int i = 0; i < nbBits; i++) {
+            boolean b = random.nextBoolean();
+            message.ajouter(b);
+            for (int j = 0; j < nbEchLong; j++) {
+                signal[i * nbEchLong + j] = (b ? amplitude[1] : amplitude[0]) + (float) (0.1 * random.nextGaussian());
+            }
+        }
+        decodeur.recevoir(new InformationAnalogique(signal));
+
+        assertEquals("NRZ : problème de décodage d'un long message", message, decodeur.getInformationEmise());
+    }
+
+    @Test
+    public void testDecodePaginee() throws InformationNonConformeException {
+        // pages de 16 échantillons : des symboles de 6 échantillons sont à cheval sur deux pages
+        int nbBits = 40000;
+        int nbEchLong = 6;
+        Random random = new Random(17);
+        float[] signal = new float[nbBits * nbEchLong];
+        for (int i = 0; i < signal.length; i++) {
+            signal[i] = (random.nextBoolean() ? amplitude[1] : amplitude[0]) + (float) (0.3 * random.nextGaussian());
+        }
+        InformationPaginee paginee = new InformationPaginee(16);
+        paginee.ajouter(signal, 0, signal.length);
+
+        for (Mode mode : new Mode[]{Mode.NRZ, Mode.NRZT, Mode.RZ}) {
+            decodeur = new Decodeur(mode, nbEchLong, amplitude, false);
+            decodeur.recevoir(new InformationAnalogique(signal.clone()));
+            Information<Boolean> attendu = decodeur.getInformationEmise();
+            decodeur = new Decodeur(mode, nbEchLong, amplitude, false);
+            decodeur.recevoir(paginee);
+            assertEquals(mode + " : décodage paginé différent", attendu, decodeur.getInformationEmise());
+        }
+    }
+
     // ---------- Méthodes pour générer des signaux ----------
     private Information<Float> genererSignalRZ(Information<Boolean> val) {
         informationRecue = new Information<>();
@@ -208,6 +256,52 @@ public class DecodeurTest {
         assertEquals("Contenu décodé incorrect", attendu, res);
     }
 
+    @Test
+    public void testDecodeCanal_Long() throws Throwable {
+        decodeur = new Decodeur(Mode.NRZ, 3, amplitude, true);
+        // dictionnaire des triplets b0 b1 b2 rangés en b0 + 2 b1 + 4 b2
+        boolean[] dictionnaire = {false, true, false, false, true, true, false, true};
+        Random random = new Random(7);
+        int nbTriplets = 1000;
+        Information<Boolean> bits = new Information<>();
+        Information<Boolean> attendu = new Information<>();
+        for (int t = 0; t < nbTriplets; t++) {
+            int triplet = random.nextInt(8);
+            bits.add((triplet & 1) != 0);
+            bits.add((triplet & 2) != 0);
+            bits.add((triplet & 4) != 0);
+            attendu.add(dictionnaire[triplet]);
+        }
+        int nbEchSauve = nbEch;
+        nbEch = 3;
+        Information<Float> analog = genererSignalNRZ(bits);
+        nbEch = nbEchSauve;
+
+        assertEquals("Contenu décodé incorrect", attendu, invokeDecodeCanal(analog));
+    }
+
+    @Test
+    public void testDecoderMots() {
+        // dictionnaire des triplets b0 b1 b2 rangés en b0 + 2 b1 + 4 b2
+        boolean[] dictionnaire = {false, true, false, false, true, true, false, true};
+        Random random = new Random(11);
+        for (int k = 0; k < 100; k++) {
+            long[] x = {random.nextLong(), random.nextLong(), random.nextLong()};
+            long attendu = 0;
+            for (int t = 0; t < 64; t++) {
+                int triplet = 0;
+                for (int j = 0; j < 3; j++) {
+                    int rang = 3 * t + j;
+                    triplet |= (int) ((x[rang >>> 6] >>> (rang & 63)) & 1L) << j;
+                }
+                if (dictionnaire[triplet]) {
+                    attendu |= 1L << t;
+                }
+            }
+            assertEquals("decoderMots incorrect", attendu, Decodeur.decoderMots(x[0], x[1], x[2]));
+        }
+    }
+
     @Test
     public void testDecodeCanal_TailleNonMultipleDe3() {
         decodeur = new Decodeur(Mode.NRZ, nbEch, amplitude, true);
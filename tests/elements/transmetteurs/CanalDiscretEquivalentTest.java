@@ -0,0 +1,86 @@
+package elements.transmetteurs;
+
+import elements.codeurs.Codeur;
+import elements.decodeurs.Decodeur;
+import information.Information;
+import information.InformationLogique;
+import information.InformationNonConformeException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ErrorCollector;
+import simulateur.Mode;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class CanalDiscretEquivalentTest {
+
+    private InformationLogique message;
+
+    @Rule
+    public ErrorCollector collector = new ErrorCollector();
+
+    @Before
+    public void setUp() {
+        Random random = new Random(8);
+        message = new InformationLogique();
+        for (int i = 0; i < 1000; i++) {
+            message.ajouter(random.nextBoolean());
+        }
+    }
+
+    private CanalDiscretEquivalent canal(Mode mode, Float snrpb, boolean codageCanal, int seed) {
+        Float[] amplitude = {-1.0f, 1.0f};
+        return new CanalDiscretEquivalent(new Codeur(mode, 30, amplitude, codageCanal),
+                new Decodeur(mode, 30, amplitude, codageCanal), snrpb, 30, codageCanal, seed);
+    }
+
+    @Test
+    public void sansBruit() throws InformationNonConformeException {
+        for (Mode mode : Mode.values()) {
+            for (boolean codageCanal : new boolean[]{false, true}) {
+                CanalDiscretEquivalent c = canal(mode, Float.POSITIVE_INFINITY, codageCanal, 1);
+                c.recevoir(message);
+                collector.checkThat("Error sans bruit " + mode + " codage " + codageCanal,
+                        c.getInformationEmise(), is((Information<Boolean>) message));
+            }
+        }
+    }
+
+    @Test
+    public void germe() throws InformationNonConformeException {
+        CanalDiscretEquivalent c1 = canal(Mode.NRZ, -5f, false, 3);
+        CanalDiscretEquivalent c2 = canal(Mode.NRZ, -5f, false, 3);
+        c1.recevoir(message);
+        c2.recevoir(message);
+        collector.checkThat("Error même germe", c1.getInformationEmise(), is(c2.getInformationEmise()));
+        collector.checkThat("Error bruit", c1.getInformationEmise().equals(message), is(false));
+    }
+
+    @Test
+    public void echantillonnagePreferentiel() throws InformationNonConformeException {
+        Random random = new Random(9);
+        InformationLogique grand = new InformationLogique();
+        for (int i = 0; i < 100000; i++) {
+            grand.ajouter(random.nextBoolean());
+        }
+        // NRZ antipodal : TEB = Q(sqrt(2 snrpb)) = 1e-9 pour sqrt(2 snrpb) = 5,998
+        float snrpb = (float) (10 * Math.log10(5.998 * 5.998 / 2));
+        CanalDiscretEquivalent c = canal(Mode.NRZ, snrpb, false, 2);
+        c.setEchantillonnagePreferentiel(true);
+        c.recevoir(grand);
+        double teb = c.getSommePoidsErreurs() / grand.nbElements();
+        collector.checkThat("Error TEB 1e-9 : " + teb, Math.abs(teb - 1e-9) < 1e-10, is(true));
+
+        // codage de canal : TEB = 3 p² - 2 p³, p = Q(sqrt(2 snrpb)) = 1,9091e-4 à 8 dB
+        double p = 1.9091e-4;
+        CanalDiscretEquivalent code = canal(Mode.NRZ, 8f, true, 2);
+        code.setEchantillonnagePreferentiel(true);
+        code.recevoir(grand);
+        teb = code.getSommePoidsErreurs() / grand.nbElements();
+        double attendu = 3 * p * p - 2 * p * p * p;
+        collector.checkThat("Error TEB codé : " + teb, Math.abs(teb - attendu) < 0.1 * attendu, is(true));
+    }
+}
@@ -0,0 +1,101 @@
+package elements.transmetteurs;
+
+import information.InformationAnalogique;
+import information.ParametreTrajet;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ErrorCollector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class CanalMultiTrajetTest {
+
+    private float[] signal;
+    private List<ParametreTrajet> trajets;
+
+    @Rule
+    public ErrorCollector collector = new ErrorCollector();
+
+    @Before
+    public void setUp() {
+        Random random = new Random(17);
+        signal = new float[5000];
+        for (int i = 0; i < signal.length; i++) {
+            signal[i] = (float) random.nextGaussian();
+        }
+        trajets = new ArrayList<>();
+        for (int k = 0; k < 40; k++) {
+            trajets.add(new ParametreTrajet(1 + random.nextInt(60), 0.9f * random.nextFloat()));
+        }
+    }
+
+    /**
+     * trajets appliqués un par un, comme avant le CanalMultiTrajet
+     */
+    private float[] reference(List<ParametreTrajet> trajets) {
+        InformationAnalogique information = new InformationAnalogique(signal.clone());
+        for (ParametreTrajet trajet : trajets) {
+            information.somme(information.genererInformationRetardee(trajet));
+        }
+        return information.versTableau();
+    }
+
+    private static double ecartRelatif(float[] a, float[] b) {
+        double ecart = 0;
+        double norme = 0;
+        for (int i = 0; i < a.length; i++) {
+            ecart = Math.max(ecart, Math.abs(a[i] - b[i]));
+            norme = Math.max(norme, Math.abs(a[i]));
+        }
+        return ecart / norme;
+    }
+
+    @Test
+    public void cascade() {
+        List<ParametreTrajet> deux = trajets.subList(0, 2);
+        CanalMultiTrajet canal = new CanalMultiTrajet(deux);
+        collector.checkThat("Error méthode", canal.getMethode(), is(CanalMultiTrajet.Methode.CASCADE));
+        collector.checkThat("Error cascade", Arrays.equals(canal.appliquer(signal, signal.length), reference(deux)), is(true));
+    }
+
+    @Test
+    public void firCreuxEtFft() {
+        float[] attendu = reference(trajets);
+        float[] fir = new CanalMultiTrajet(trajets, CanalMultiTrajet.Methode.FIR_CREUX).appliquer(signal, signal.length);
+        float[] fft = new CanalMultiTrajet(trajets, CanalMultiTrajet.Methode.FFT).appliquer(signal, signal.length);
+        collector.checkThat("Error taille FIR", fir.length, is(attendu.length));
+        collector.checkThat("Error taille FFT", fft.length, is(attendu.length));
+        collector.checkThat("Error FIR creux", ecartRelatif(attendu, fir) < 1e-4, is(true));
+        collector.checkThat("Error FFT", ecartRelatif(attendu, fft) < 1e-4, is(true));
+    }
+
+    @Test
+    public void choixMethode() {
+        List<ParametreTrajet> nombreux = new ArrayList<>();
+        for (int k = 0; k < 200; k++) {
+            nombreux.add(new ParametreTrajet(1 + k % 20, 0.1f));
+        }
+        collector.checkThat("Error méthode, nombreux trajets", new CanalMultiTrajet(nombreux).getMethode(), is(CanalMultiTrajet.Methode.FFT));
+        collector.checkThat("Error méthode, quelques trajets", new CanalMultiTrajet(trajets).getMethode(), is(CanalMultiTrajet.Methode.CASCADE));
+        List<ParametreTrajet> confondus = new ArrayList<>();
+        for (int k = 0; k < 4; k++) {
+            confondus.add(new ParametreTrajet(0, 0.5f));
+        }
+        collector.checkThat("Error méthode, retards confondus", new CanalMultiTrajet(confondus).getMethode(), is(CanalMultiTrajet.Methode.FIR_CREUX));
+        collector.checkThat("Error méthode, sans trajet", new CanalMultiTrajet(new ArrayList<>()).getMethode(), is(CanalMultiTrajet.Methode.CASCADE));
+    }
+
+    @Test
+    public void correspondA() {
+        CanalMultiTrajet canal = new CanalMultiTrajet(trajets);
+        collector.checkThat("Error correspondA", canal.correspondA(new ArrayList<>(trajets)), is(true));
+        collector.checkThat("Error correspondA", canal.correspondA(trajets.subList(0, 3)), is(false));
+        collector.checkThat("Error traîne", canal.getTraine(), is(trajets.stream().mapToInt(ParametreTrajet::getTau).sum()));
+    }
+}
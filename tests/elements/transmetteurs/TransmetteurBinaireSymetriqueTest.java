@@ -0,0 +1,105 @@
+package elements.transmetteurs;
+
+import information.Information;
+import information.InformationLogique;
+import information.InformationNonConformeException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ErrorCollector;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class TransmetteurBinaireSymetriqueTest {
+
+    private InformationLogique message;
+
+    @Rule
+    public ErrorCollector collector = new ErrorCollector();
+
+    @Before
+    public void setUp() {
+        Random random = new Random(21);
+        message = new InformationLogique();
+        for (int i = 0; i < 100000; i++) {
+            message.ajouter(random.nextBoolean());
+        }
+    }
+
+    private long nbErreurs(Information<Boolean> emise) {
+        return InformationLogique.compterDifferences(message, InformationLogique.convertir(emise), message.nbElements());
+    }
+
+    @Test
+    public void extremes() throws InformationNonConformeException {
+        TransmetteurBinaireSymetrique parfait = new TransmetteurBinaireSymetrique(0.0, 1);
+        parfait.recevoir(message);
+        collector.checkThat("Error p = 0", parfait.getInformationEmise(), is((Information<Boolean>) message));
+
+        TransmetteurBinaireSymetrique inverseur = new TransmetteurBinaireSymetrique(1.0, 1);
+        inverseur.recevoir(message);
+        collector.checkThat("Error p = 1", nbErreurs(inverseur.getInformationEmise()), is((long) message.nbElements()));
+    }
+
+    @Test
+    public void probabilite() throws InformationNonConformeException {
+        TransmetteurBinaireSymetrique canal = new TransmetteurBinaireSymetrique(0.05, 4);
+        canal.recevoir(message);
+        long n = message.nbElements();
+        double ecartType = Math.sqrt(n * 0.05 * 0.95);
+        collector.checkThat("Error nombre d'erreurs", Math.abs(nbErreurs(canal.getInformationEmise()) - n * 0.05) < 5 * ecartType, is(true));
+        collector.checkThat("Error message reçu non modifié", message.nbElements(), is(100000));
+    }
+
+    @Test
+    public void germe() throws InformationNonConformeException {
+        TransmetteurBinaireSymetrique canal1 = new TransmetteurBinaireSymetrique(0.01, 8);
+        TransmetteurBinaireSymetrique canal2 = new TransmetteurBinaireSymetrique(0.01, 8);
+        canal1.recevoir(message);
+        canal2.recevoir(message);
+        collector.checkThat("Error même germe", canal1.getInformationEmise(), is(canal2.getInformationEmise()));
+        Information<Boolean> premiere = canal1.getInformationEmise();
+        canal1.recevoir(message);
+        collector.checkThat("Error même germe, message suivant", canal1.getInformationEmise(), is(premiere));
+    }
+
+    @Test
+    public void flux() throws InformationNonConformeException {
+        TransmetteurBinaireSymetrique complet = new TransmetteurBinaireSymetrique(0.01, 5);
+        complet.recevoir(message);
+        InformationLogique attendu = InformationLogique.convertir(complet.getInformationEmise());
+
+        TransmetteurBinaireSymetrique parBlocs = new TransmetteurBinaireSymetrique(0.01, 5);
+        parBlocs.debuterFlux();
+        long nbDifferences = 0;
+        for (int debut = 0; debut < message.nbElements(); debut += 999) {
+            int taille = Math.min(999, message.nbElements() - debut);
+            InformationLogique bloc = new InformationLogique(taille);
+            for (int i = 0; i < taille; i++) {
+                bloc.ajouter(message.bit(debut + i));
+            }
+            parBlocs.recevoir(bloc);
+            nbDifferences += InformationLogique.compterDifferences(attendu, debut,
+                    InformationLogique.convertir(parBlocs.getInformationEmise()), 0, taille);
+        }
+        parBlocs.terminerFlux();
+        collector.checkThat("Error erreurs du flux", nbDifferences, is(0L));
+    }
+
+    @Test
+    public void tirerNbErreurs() {
+        TransmetteurBinaireSymetrique canal = new TransmetteurBinaireSymetrique(1e-9, 6);
+        long nbErreurs = canal.tirerNbErreurs(10_000_000_000L);
+        collector.checkThat("Error 1e10 bits à p = 1e-9", nbErreurs < 40, is(true));
+        TransmetteurBinaireSymetrique frequent = new TransmetteurBinaireSymetrique(0.1, 6);
+        long n = 1_000_000L;
+        collector.checkThat("Error nombre d'erreurs tiré", Math.abs(frequent.tirerNbErreurs(n) - 0.1 * n) < 5 * Math.sqrt(n * 0.09), is(true));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void probabiliteKO() {
+        new TransmetteurBinaireSymetrique(1.5);
+    }
+}
@@ -1,11 +1,18 @@
 package elements.transmetteurs;
 
+import elements.codeurs.Codeur;
+import elements.decodeurs.Decodeur;
+import elements.sources.SourceAleatoire;
 import information.Information;
+import information.InformationLogique;
 import information.InformationNonConformeException;
+import information.ParametreTrajet;
+import information.SignalHorsTas;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ErrorCollector;
+import simulateur.Mode;
 
 import java.util.LinkedList;
 
@@ -53,4 +60,31 @@ public class TransmetteurBruiteTest {
         collector.checkThat("Error bruiter()", transmetteurBruitee1.bruiter(transmetteurBruitee1.getInformationRecue(),Float.POSITIVE_INFINITY).equals(information), is(true));
         collector.checkThat("Error bruiter()", transmetteurBruitee1.bruiter(transmetteurBruitee1.getInformationRecue(),5.6f).equals(information), is(false));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void horsTas() throws InformationNonConformeException {
+        // 3 10^6 échantillons : plusieurs blocs du codeur, du transmetteur et du décodeur
+        InformationLogique bits = InformationLogique.convertir(new SourceAleatoire(100000, 3).emettre());
+        Float[] amplitude = {-1f, 1f};
+        LinkedList<ParametreTrajet> trajets = new LinkedList<>();
+        trajets.add(new ParametreTrajet(7, 0.5f));
+        trajets.add(new ParametreTrajet(100, 0.2f));
+
+        Codeur codeur = new Codeur(Mode.NRZT, 30, amplitude, true);
+        TransmetteurBruite transmetteur = new TransmetteurBruite(2f, 30, trajets, 12);
+        Decodeur decodeur = new Decodeur(Mode.NRZT, 30, amplitude, true);
+        codeur.connecter(transmetteur);
+        transmetteur.connecter(decodeur);
+        codeur.recevoir(bits);
+
+        Codeur codeurHorsTas = new Codeur(Mode.NRZT, 30, amplitude, true);
+        TransmetteurBruite transmetteurHorsTas = new TransmetteurBruite(2f, 30, trajets, 12);
+        Decodeur decodeurHorsTas = new Decodeur(Mode.NRZT, 30, amplitude, true);
+        SignalHorsTas signal = codeurHorsTas.mettreEnFormeHorsTas(bits, transmetteurHorsTas.getTraine());
+        SignalHorsTas recu = transmetteurHorsTas.transmettreHorsTas(signal);
+
+        collector.checkThat("Error horsTas() capacité", recu == signal, is(true));
+        collector.checkThat("Error horsTas() signal", recu.versInformation().equals(transmetteur.getInformationEmise()), is(true));
+        collector.checkThat("Error horsTas() décodage", decodeurHorsTas.decoderHorsTas(recu).equals(decodeur.getInformationEmise()), is(true));
+    }
+}
@@ -54,6 +54,12 @@ public class TransmetteurParfaitTest {
         collector.checkThat("Error emission", transmetteurParfait1.getInformationEmise(),is(information));
     }
 
+    @Test
+    public void emettreSansCopie() {
+        collector.checkThat("Error information partagée", transmetteurParfait1.getInformationEmise() == information, is(true));
+        collector.checkThat("Error information figée", information.estFigee(), is(true));
+    }
+
     @Test
     public void connecter() {
         collector.checkThat("Error connecter", transmetteurParfait1.getDestinationsConnectees().contains(destination1), is(true));
@@ -0,0 +1,88 @@
+package information;
+
+import bruits.Bruit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ErrorCollector;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+
+public class InformationAnalogiqueTest {
+
+    InformationAnalogique a1;
+    InformationAnalogique a2;
+    InformationAnalogique vide;
+    Information<Float> i1;
+
+    @Rule
+    public ErrorCollector collector = new ErrorCollector();
+
+    @Before
+    public void setUp() {
+        a1 = new InformationAnalogique(new float[]{1f, 2f, 3f});
+        a2 = new InformationAnalogique(new float[]{0f, 1f});
+        vide = new InformationAnalogique();
+        i1 = new Information<>(new Float[]{1f, 2f, 3f});
+    }
+
+    @Test
+    public void compatibiliteInformation() {
+        collector.checkThat("Test equals analogique/Information", a1.equals(i1), is(true));
+        collector.checkThat("Test equals Information/analogique", i1.equals(a1), is(true));
+        collector.checkThat("Test hashCode", a1.hashCode(), is(i1.hashCode()));
+        collector.checkThat("Test conversion", new InformationAnalogique(i1), is(a1));
+        collector.checkThat("Test iemeElement", a1.iemeElement(2), is(3f));
+        collector.checkThat("Test getContent", a1.getContent(), is(i1.getContent()));
+        float somme = 0;
+        for (float f : a1) {
+            somme += f;
+        }
+        collector.checkThat("Test iterateur", somme, is(6f));
+    }
+
+    @Test
+    public void ajouter() {
+        for (int i = 0; i < 100; i++) {
+            vide.ajouter(i);
+        }
+        vide.add(100f);
+        collector.checkThat("Test ajouter", vide.nbElements(), is(101));
+        collector.checkThat("Test ajouter", vide.valeur(100), is(100f));
+        collector.checkThat("Test ajouter tableau", vide.versTableau().length, is(101));
+    }
+
+    @Test (expected = IndexOutOfBoundsException.class)
+    public void valeurKO() {
+        new InformationAnalogique(10).valeur(0);
+    }
+
+    @Test
+    public void copie() {
+        InformationAnalogique copie = a1.copie();
+        copie.setValeur(0, 10f);
+        collector.checkThat("Test copie indépendante", a1.valeur(0), is(1f));
+        collector.checkThat("Test copie Information", i1.copie() instanceof InformationAnalogique, is(false));
+    }
+
+    @Test
+    public void operationsPrimitives() {
+        InformationAnalogique somme = a1.copie();
+        somme.somme(a2);
+        collector.checkThat("Test somme", somme, is(new InformationAnalogique(new float[]{1f, 3f, 3f})));
+        collector.checkThat("Test retard", a1.genererInformationRetardee(new ParametreTrajet(2, 0.5f)),
+                is(new InformationAnalogique(new float[]{0f, 0f, 0.5f, 1f, 1.5f})));
+        assertEquals("Test puissance", i1.calculerPuissance(), a1.calculerPuissance(), 0.0);
+
+        Bruit bruit = new Bruit(3);
+        bruit.setValeur(1, -2f);
+        collector.checkThat("Test ajouterBruit", a1.copie().ajouterBruit(bruit),
+                is(new Information<>(new Float[]{1f, 0f, 3f})));
+    }
+
+    @Test (expected = SizeInformationException.class)
+    public void ajouterBruitKO() {
+        a1.ajouterBruit(new Bruit(4));
+    }
+}
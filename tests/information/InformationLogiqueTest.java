@@ -0,0 +1,98 @@
+package information;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ErrorCollector;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class InformationLogiqueTest {
+
+    InformationLogique l1;
+    Information<Boolean> i1;
+    InformationLogique grand1;
+    InformationLogique grand2;
+
+    @Rule
+    public ErrorCollector collector = new ErrorCollector();
+
+    @Before
+    public void setUp() {
+        i1 = new Information<>(new Boolean[]{true, false, false, true, true});
+        l1 = new InformationLogique(i1);
+
+        Random random = new Random(42);
+        grand1 = new InformationLogique();
+        grand2 = new InformationLogique();
+        for (int i = 0; i < 200; i++) {
+            boolean b = random.nextBoolean();
+            grand1.ajouter(b);
+            grand2.ajouter(i % 7 == 0 ? !b : b);
+        }
+    }
+
+    @Test
+    public void compatibiliteInformation() {
+        collector.checkThat("Test nbElements", l1.nbElements(), is(5));
+        collector.checkThat("Test iemeElement", l1.iemeElement(3), is(true));
+        collector.checkThat("Test iemeElement", l1.iemeElement(2), is(false));
+        collector.checkThat("Test equals logique/Information", l1.equals(i1), is(true));
+        collector.checkThat("Test equals Information/logique", i1.equals(l1), is(true));
+        collector.checkThat("Test hashCode", l1.hashCode(), is(i1.hashCode()));
+        collector.checkThat("Test toString", l1.toString(), is(i1.toString()));
+        collector.checkThat("Test getContent", l1.getContent(), is(i1.getContent()));
+    }
+
+    @Test
+    public void setBit() {
+        l1.setBit(0, false);
+        l1.setIemeElement(1, true);
+        collector.checkThat("Test setBit", l1.bit(0), is(false));
+        collector.checkThat("Test setIemeElement", l1.bit(1), is(true));
+        collector.checkThat("Test nbUns", l1.nbUns(), is(3L));
+    }
+
+    @Test (expected = IndexOutOfBoundsException.class)
+    public void bitKO() {
+        new InformationLogique(64).bit(0);
+    }
+
+    @Test
+    public void compterDifferences() {
+        long attendu = 0;
+        for (int i = 0; i < 200; i++) {
+            if (grand1.bit(i) != grand2.bit(i)) attendu++;
+        }
+        collector.checkThat("Test compterDifferences", InformationLogique.compterDifferences(grand1, grand2, 200), is(attendu));
+        collector.checkThat("Test compterDifferences partiel", InformationLogique.compterDifferences(grand1, grand2, 7), is(1L));
+        collector.checkThat("Test compterDifferences identique", InformationLogique.compterDifferences(grand1, grand1.copie(), 200), is(0L));
+    }
+
+    @Test
+    public void compterDifferencesDecale() {
+        InformationLogique decale = new InformationLogique();
+        for (int i = 0; i < 37; i++) {
+            decale.ajouter(i % 2 == 0);
+        }
+        long attendu = 0;
+        for (int i = 0; i < 150; i++) {
+            decale.ajouter(grand2.bit(i + 13));
+            if (grand1.bit(i + 5) != grand2.bit(i + 13)) attendu++;
+        }
+        collector.checkThat("Test compterDifferences décalé",
+                InformationLogique.compterDifferences(grand1, 5, decale, 37, 150), is(attendu));
+        collector.checkThat("Test compterDifferences aligné",
+                InformationLogique.compterDifferences(grand1, 0, grand2, 0, 200),
+                is(InformationLogique.compterDifferences(grand1, grand2, 200)));
+    }
+
+    @Test
+    public void constructionParMots() {
+        InformationLogique l = new InformationLogique(new long[]{-1L}, 3);
+        collector.checkThat("Test bits au-delà de la taille ignorés", l.nbUns(), is(3L));
+        collector.checkThat("Test equals", l, is(new InformationLogique(new Information<>(new Boolean[]{true, true, true}))));
+    }
+}
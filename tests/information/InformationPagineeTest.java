@@ -0,0 +1,75 @@
+package information;
+
+import bruits.BruitBlancGaussien;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ErrorCollector;
+
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class InformationPagineeTest {
+
+    @Rule
+    public ErrorCollector collector = new ErrorCollector();
+
+    @Test
+    public void ajouter() {
+        InformationPaginee information = new InformationPaginee(4);
+        for (int i = 0; i < 6; i++) {
+            information.ajouter((float) i);
+        }
+        information.ajouter(new float[]{9f, 6f, 7f, 8f, 9f, 10f, 11f}, 1, 6);
+
+        collector.checkThat("Test ajouter nbElements", information.nbElements(), is(12));
+        collector.checkThat("Test ajouter nbPages", information.nbPages(), is(3));
+        collector.checkThat("Test ajouter valeur", information.valeur(7), is(7f));
+        collector.checkThat("Test ajouter page", information.page(2).getDebut(), is(8));
+        collector.checkThat("Test ajouter equals", information.equals(new InformationAnalogique(
+                new float[]{0f, 1f, 2f, 3f, 4f, 5f, 6f, 7f, 8f, 9f, 10f, 11f})), is(true));
+        collector.checkThat("Test ajouter conversion", InformationAnalogique.convertir(information).equals(information), is(true));
+        collector.checkThat("Test ajouter copie", information.copie().equals(information), is(true));
+    }
+
+    @Test
+    public void pages() {
+        InformationPaginee information = new InformationPaginee(8);
+        information.ajouter(new float[61], 0, 61);
+        AtomicInteger nbEchantillons = new AtomicInteger();
+        information.forEachPage(page -> nbEchantillons.addAndGet(page.getLongueur()));
+
+        Spliterator<InformationPaginee.Page> spliterator = information.spliteratorPages();
+        Spliterator<InformationPaginee.Page> moitie = spliterator.trySplit();
+        collector.checkThat("Test pages forEachPage", nbEchantillons.get(), is(61));
+        collector.checkThat("Test pages nbPages", information.nbPages(), is(8));
+        collector.checkThat("Test pages trySplit", moitie.estimateSize() + spliterator.estimateSize(), is(8L));
+        collector.checkThat("Test pages dernière", information.page(7).getLongueur(), is(5));
+    }
+
+    @Test
+    public void bruitEtPuissance() {
+        Random random = new Random(2);
+        float[] echantillons = new float[100003];
+        for (int i = 0; i < echantillons.length; i++) {
+            echantillons[i] = (float) random.nextGaussian();
+        }
+        InformationAnalogique analogique = new InformationAnalogique(echantillons.clone());
+        InformationPaginee paginee = new InformationPaginee(new InformationAnalogique(echantillons));
+        BruitBlancGaussien bruit = new BruitBlancGaussien(echantillons.length, 3f, 1.0, 30, 5);
+        analogique.ajouterBruit(bruit);
+        paginee.ajouterBruit(bruit);
+
+        collector.checkThat("Test ajouterBruit", paginee.equals(analogique), is(true));
+        collector.checkThat("Test calculerPuissance",
+                Math.abs(paginee.calculerPuissance() - analogique.calculerPuissance()) < 1e-9 * analogique.calculerPuissance(), is(true));
+        collector.checkThat("Test calculerPuissance déterministe", paginee.calculerPuissance(), is(paginee.calculerPuissance()));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void taillePageKO() {
+        new InformationPaginee(100);
+    }
+}
@@ -0,0 +1,89 @@
+package information;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ErrorCollector;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class InformationRetardeeTest {
+
+    InformationAnalogique a1;
+    Information<Float> i1;
+    ParametreTrajet trajet;
+
+    @Rule
+    public ErrorCollector collector = new ErrorCollector();
+
+    @Before
+    public void setUp() {
+        a1 = new InformationAnalogique(new float[]{1f, 2f, 3f});
+        i1 = new Information<>(new Float[]{1f, 2f, 3f});
+        trajet = new ParametreTrajet(2, 0.5f);
+    }
+
+    @Test
+    public void contenu() {
+        InformationRetardee vue = a1.vueRetardee(trajet);
+        collector.checkThat("Test vue analogique", vue, is(a1.genererInformationRetardee(trajet)));
+        collector.checkThat("Test vue Information", i1.vueRetardee(trajet).equals(i1.genererInformationRetardee(trajet)), is(true));
+        collector.checkThat("Test vue valeur", vue.valeur(4), is(1.5f));
+        collector.checkThat("Test vue puissance", vue.calculerPuissance(), is(a1.genererInformationRetardee(trajet).calculerPuissance()));
+        collector.checkThat("Test vue copie", vue.copie(), is(a1.genererInformationRetardee(trajet)));
+        collector.checkThat("Test vue figée", vue.estFigee(), is(true));
+    }
+
+    @Test (expected = UnsupportedOperationException.class)
+    public void vueNonModifiable() {
+        a1.vueRetardee(trajet).setIemeElement(0, 1f);
+    }
+
+    @Test
+    public void sommeVues() {
+        Random random = new Random(4);
+        InformationAnalogique signal = new InformationAnalogique(new float[500]);
+        for (int i = 0; i < 500; i++) {
+            signal.setValeur(i, (float) random.nextGaussian());
+        }
+        InformationAnalogique autre = new InformationAnalogique(new float[400]);
+        for (int i = 0; i < 400; i++) {
+            autre.setValeur(i, (float) random.nextGaussian());
+        }
+        ParametreTrajet[] trajets = {new ParametreTrajet(0, 0.3f), new ParametreTrajet(17, 0.6f), new ParametreTrajet(250, 0.9f)};
+
+        // échos d'une autre information : comme somme vue après vue, avec les copies
+        InformationAnalogique attendu = signal.copie();
+        InformationRetardee[] vues = new InformationRetardee[trajets.length];
+        for (int k = 0; k < trajets.length; k++) {
+            attendu.somme(autre.genererInformationRetardee(trajets[k]));
+            vues[k] = autre.vueRetardee(trajets[k]);
+        }
+        InformationAnalogique fusion = signal.copie();
+        fusion.sommeVues(vues);
+        collector.checkThat("Test sommeVues autre information", fusion, is(attendu));
+
+        // échos de l'information elle-même : ils portent sur le signal d'avant la somme
+        InformationAnalogique echos = signal.copie();
+        InformationAnalogique parallele = signal.copie();
+        InformationRetardee[] propres = new InformationRetardee[trajets.length];
+        InformationAnalogique[] copies = new InformationAnalogique[trajets.length];
+        for (int k = 0; k < trajets.length; k++) {
+            propres[k] = echos.vueRetardee(trajets[k]);
+            copies[k] = signal.genererInformationRetardee(trajets[k]);
+        }
+        echos.sommeVues(propres);
+        for (InformationAnalogique copie : copies) {
+            parallele.somme(copie);
+        }
+        collector.checkThat("Test sommeVues information elle-même", echos, is(parallele));
+
+        InformationAnalogique unEcho = signal.copie();
+        unEcho.somme(unEcho.vueRetardee(trajets[1]));
+        InformationAnalogique unEchoCopie = signal.copie();
+        unEchoCopie.somme(signal.genererInformationRetardee(trajets[1]));
+        collector.checkThat("Test somme d'une vue de soi", unEcho, is(unEchoCopie));
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ErrorCollector;
 
+import java.util.Iterator;
 import java.util.LinkedList;
 
 import static org.hamcrest.CoreMatchers.containsString;
@@ -187,6 +188,33 @@ public class InformationTest {
         collector.checkThat("Test calcul puissance information vide", puissanceVide, is(0.0));
     }
 
+    @Test
+    public void figer() {
+        collector.checkThat("Test information non figée", i3.estFigee(), is(false));
+        i3.figer();
+        collector.checkThat("Test information figée", i3.estFigee(), is(true));
+        Information copie = i3.copie();
+        copie.add(true);
+        collector.checkThat("Test copie modifiable", copie.nbElements(), is(6));
+        collector.checkThat("Test original intact", i3.nbElements(), is(5));
+        i3.getContent().clear();
+        collector.checkThat("Test getContent() d'une information figée", i3.nbElements(), is(5));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void figerIterateurKO() {
+        i3.figer();
+        Iterator<?> iterateur = i3.iterator();
+        iterateur.next();
+        iterateur.remove();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void figerKO() {
+        i7.figer();
+        i7.setIemeElement(0, 4f);
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     public void calculerPuissanceKO() {
         i3.calculerPuissance();
@@ -0,0 +1,137 @@
+package information;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ErrorCollector;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class NoyauxSignalTest {
+
+    private final Random random = new Random(6);
+
+    private boolean vectorielsActifs;
+
+    @Rule
+    public ErrorCollector collector = new ErrorCollector();
+
+    @Before
+    public void setUp() {
+        vectorielsActifs = NoyauxSignal.estVectoriel();
+    }
+
+    @After
+    public void tearDown() {
+        NoyauxSignal.utiliserVectoriels(vectorielsActifs);
+    }
+
+    private float[] aleatoire(int n) {
+        float[] x = new float[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = (float) random.nextGaussian();
+        }
+        return x;
+    }
+
+    @Test
+    public void scalaires() {
+        NoyauxSignal noyaux = NoyauxSignal.scalaires();
+        float[] y = {1f, 2f, 3f, 4f};
+        noyaux.ajouter(new float[]{9f, 1f, 1f}, 1, y, 2, 2);
+        collector.checkThat("Error ajouter()", y, is(new float[]{1f, 2f, 4f, 5f}));
+
+        // écho sur soi-même : les éléments lus sont ceux d'avant la somme
+        noyaux.ajouterProduit(0.5f, y, 0, y, 1, 3);
+        collector.checkThat("Error ajouterProduit()", y, is(new float[]{1f, 2.5f, 5f, 7f}));
+
+        double[] voies = new double[NoyauxSignal.NB_VOIES];
+        noyaux.cumulerCarres(new float[]{1f, 2f, 3f}, 0, 3, voies, 7);
+        collector.checkThat("Error cumulerCarres() voie", voies[1], is(9.0));
+        collector.checkThat("Error sommeVoies()", NoyauxSignal.sommeVoies(voies), is(14.0));
+
+        float[] symboles = {0f, 1f, 1f, 0f, 0f, 0.2f, 1f, 0.6f, 0.5f};
+        collector.checkThat("Error seuiller()", noyaux.seuiller(symboles, 0, 3, 3, 1, 3, 0.5f), is(0b101L));
+    }
+
+    @Test
+    public void vectorielsIdentiques() {
+        NoyauxSignal vectoriels = NoyauxSignal.vectoriels();
+        Assume.assumeTrue(vectoriels != null);
+        NoyauxSignal scalaires = NoyauxSignal.scalaires();
+
+        for (int n : new int[]{0, 1, 7, 8, 37, 1000, 4099}) {
+            float[] x = aleatoire(n + 5);
+            float[] y1 = aleatoire(n + 9);
+            float[] y2 = y1.clone();
+            scalaires.ajouter(x, 5, y1, 3, n);
+            vectoriels.ajouter(x, 5, y2, 3, n);
+            collector.checkThat("Error ajouter() n = " + n, y2, is(y1));
+
+            scalaires.ajouterProduit(0.7f, x, 1, y1, 2, n);
+            vectoriels.ajouterProduit(0.7f, x, 1, y2, 2, n);
+            collector.checkThat("Error ajouterProduit() n = " + n, y2, is(y1));
+
+            // échos d'un tableau sur lui-même, retard plus court et plus long qu'un vecteur
+            for (int tau : new int[]{1, 3, 17}) {
+                if (n > tau) {
+                    scalaires.ajouterProduit(0.4f, y1, 0, y1, tau, n - tau);
+                    vectoriels.ajouterProduit(0.4f, y2, 0, y2, tau, n - tau);
+                    collector.checkThat("Error ajouterProduit() tau = " + tau + ", n = " + n, y2, is(y1));
+                }
+            }
+
+            double[] voies1 = new double[NoyauxSignal.NB_VOIES];
+            double[] voies2 = new double[NoyauxSignal.NB_VOIES];
+            scalaires.cumulerCarres(x, 3, n, voies1, 5);
+            vectoriels.cumulerCarres(x, 3, n, voies2, 5);
+            collector.checkThat("Error cumulerCarres() n = " + n, voies2, is(voies1));
+        }
+
+        int pas = 30;
+        float[] signal = aleatoire(100 * pas);
+        for (int nb : new int[]{1, 15, 16, 64}) {
+            for (float seuil : new float[]{-0.1f, 0f, 0.05f}) {
+                collector.checkThat("Error seuiller() nb = " + nb,
+                        vectoriels.seuiller(signal, 7 * pas, pas, nb, 10, 20, seuil),
+                        is(scalaires.seuiller(signal, 7 * pas, pas, nb, 10, 20, seuil)));
+            }
+        }
+    }
+
+    @Test
+    public void cumulerParTranches() {
+        float[] x = aleatoire(10007);
+        for (NoyauxSignal noyaux : new NoyauxSignal[]{NoyauxSignal.scalaires(), NoyauxSignal.vectoriels()}) {
+            if (noyaux == null) {
+                continue;
+            }
+            double[] entier = new double[NoyauxSignal.NB_VOIES];
+            noyaux.cumulerCarres(x, 0, x.length, entier, 0);
+            double[] tranches = new double[NoyauxSignal.NB_VOIES];
+            int[] bornes = {0, 3, 1000, 1013, 5000, 10007};
+            for (int t = 0; t + 1 < bornes.length; t++) {
+                noyaux.cumulerCarres(x, bornes[t], bornes[t + 1] - bornes[t], tranches, bornes[t]);
+            }
+            collector.checkThat("Error cumulerCarres() par tranches", tranches, is(entier));
+        }
+    }
+
+    @Test
+    public void puissanceIndependanteDesNoyaux() {
+        float[] x = aleatoire(30001);
+        NoyauxSignal.utiliserVectoriels(false);
+        collector.checkThat("Error utiliserVectoriels(false)", NoyauxSignal.estVectoriel(), is(false));
+        double scalaire = new InformationAnalogique(x).calculerPuissance();
+
+        collector.checkThat("Error utiliserVectoriels(true)", NoyauxSignal.utiliserVectoriels(true), is(NoyauxSignal.vectoriels() != null));
+        collector.checkThat("Error calculerPuissance() vectorielle", new InformationAnalogique(x).calculerPuissance(), is(scalaire));
+        SignalHorsTas signal = new SignalHorsTas(x.length);
+        signal.ecrire(0, x, 0, x.length);
+        collector.checkThat("Error calculerPuissance() hors tas", signal.calculerPuissance(), is(scalaire));
+    }
+}
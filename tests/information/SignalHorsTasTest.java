@@ -0,0 +1,73 @@
+package information;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ErrorCollector;
+
+import static org.hamcrest.CoreMatchers.is;
+
+public class SignalHorsTasTest {
+
+    @Rule
+    public ErrorCollector collector = new ErrorCollector();
+
+    @Test
+    public void lireEcrire() {
+        SignalHorsTas signal = new SignalHorsTas(10);
+        signal.ecrire(2, new float[]{9f, 1f, 2f, 3f}, 1, 3);
+        signal.setValeur(9, -4f);
+        float[] lus = new float[5];
+        signal.lire(1, lus, 0, 5);
+
+        collector.checkThat("Error lire()", lus, is(new float[]{0f, 1f, 2f, 3f, 0f}));
+        collector.checkThat("Error valeur()", signal.valeur(9), is(-4f));
+        collector.checkThat("Error calculerPuissance()", signal.calculerPuissance(), is(3.0));
+        collector.checkThat("Error versInformation()", signal.versInformation().equals(
+                new InformationAnalogique(new float[]{0f, 0f, 1f, 2f, 3f, 0f, 0f, 0f, 0f, -4f})), is(true));
+    }
+
+    @Test
+    public void segments() {
+        // un bloc à cheval sur deux segments
+        long debut = SignalHorsTas.TAILLE_SEGMENT - 2;
+        SignalHorsTas signal = new SignalHorsTas(SignalHorsTas.TAILLE_SEGMENT + 3);
+        signal.ecrire(debut, new float[]{1f, 2f, 3f, 4f}, 0, 4);
+        float[] lus = new float[4];
+        signal.lire(debut, lus, 0, 4);
+
+        collector.checkThat("Error segments lire()", lus, is(new float[]{1f, 2f, 3f, 4f}));
+        collector.checkThat("Error segments valeur()", signal.valeur(SignalHorsTas.TAILLE_SEGMENT + 1), is(4f));
+        collector.checkThat("Error segments calculerPuissance()", signal.calculerPuissance(debut, debut + 4), is(7.5));
+    }
+
+    @Test
+    public void agrandir() {
+        SignalHorsTas signal = new SignalHorsTas(2, 4);
+        signal.setValeur(1, 5f);
+        collector.checkThat("Error agrandir() dans la capacité", signal.agrandir(4) == signal, is(true));
+        collector.checkThat("Error agrandir() taille", signal.nbElements(), is(4L));
+
+        SignalHorsTas copie = signal.agrandir(6);
+        collector.checkThat("Error agrandir() copie", copie == signal, is(false));
+        collector.checkThat("Error agrandir() contenu", copie.valeur(1), is(5f));
+        collector.checkThat("Error agrandir() nuls", copie.valeur(5), is(0f));
+    }
+
+    @Test
+    public void projete() throws Exception {
+        SignalHorsTas signal = SignalHorsTas.projete(3, 5);
+        signal.ecrire(0, new float[]{1f, 2f, 3f}, 0, 3);
+        SignalHorsTas agrandi = signal.agrandir(7);
+
+        collector.checkThat("Error projete()", signal.estProjete(), is(true));
+        collector.checkThat("Error projete() agrandir", agrandi.estProjete(), is(true));
+        collector.checkThat("Error projete() contenu", agrandi.valeur(2), is(3f));
+        collector.checkThat("Error projete() nuls", agrandi.valeur(6), is(0f));
+        collector.checkThat("Error projete() puissance", agrandi.calculerPuissance(0, 3), is(14.0 / 3));
+    }
+
+    @Test (expected = IndexOutOfBoundsException.class)
+    public void horsTaille() {
+        new SignalHorsTas(3, 10).valeur(3);
+    }
+}
@@ -0,0 +1,61 @@
+package simulateur;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ErrorCollector;
+
+import static org.hamcrest.core.Is.is;
+
+public class BalayageSnrTest {
+
+    @Rule
+    public ErrorCollector collector = new ErrorCollector();
+
+    private static final float[] SNR = {-6f, -2f, 0f, 3f, 6f};
+
+    @Test
+    public void commeLeSimulateur() throws Exception {
+        ConfigurationSimulation[] configurations = {
+                ConfigurationSimulation.builder().messageAleatoire(20000).seed(31).form(Mode.NRZ).nbEch(12).build(),
+                ConfigurationSimulation.builder().messageAleatoire(20000).seed(31).form(Mode.RZ).nbEch(9)
+                        .amplitude(-1f, 1f).build(),
+                ConfigurationSimulation.builder().messageAleatoire(20000).seed(31).form(Mode.NRZT).nbEch(30)
+                        .trajet(7, 0.4f).trajet(20, 0.2f).codageCanal(true).build(),
+        };
+        for (ConfigurationSimulation configuration : configurations) {
+            double[] teb = new BalayageSnr(configuration).calculerTeb(SNR);
+            for (int k = 0; k < SNR.length; k++) {
+                Simulateur simulateur = new Simulateur(configuration.toBuilder().snrpb(SNR[k]).build());
+                simulateur.execute();
+                // mêmes nombres aléatoires : seuls quelques bits au ras du seuil peuvent différer
+                double ecart = Math.abs(teb[k] - simulateur.calculTauxErreurBinaire());
+                collector.checkThat("Error balayage " + configuration.getForm() + " " + SNR[k] + " dB : " + ecart,
+                        ecart <= 5.0 / 20000, is(true));
+            }
+        }
+    }
+
+    @Test
+    public void plusieursFormes() throws Exception {
+        Mode[] formes = {Mode.RZ, Mode.NRZ, Mode.NRZT};
+        ConfigurationSimulation configuration = ConfigurationSimulation.builder().messageAleatoire(5000).seed(4)
+                .nbEch(15).amplitude(-1f, 1f).trajet(4, 0.3f).build();
+        double[][] teb = new BalayageSnr(configuration).calculerTeb(formes, SNR);
+        for (int f = 0; f < formes.length; f++) {
+            double[] seule = new BalayageSnr(configuration.toBuilder().form(formes[f]).build()).calculerTeb(SNR);
+            collector.checkThat("Error forme " + formes[f], teb[f], is(seule));
+        }
+    }
+
+    @Test
+    public void sansBruit() throws Exception {
+        double[] teb = new BalayageSnr(ConfigurationSimulation.builder().messageAleatoire(1000).form(Mode.NRZT).build())
+                .calculerTeb(new float[]{Float.POSITIVE_INFINITY});
+        collector.checkThat("Error SNR infini", teb[0], is(0.0));
+    }
+
+    @Test (expected = ArgumentsException.class)
+    public void logiqueKO() throws Exception {
+        new BalayageSnr(ConfigurationSimulation.builder().build());
+    }
+}
@@ -0,0 +1,123 @@
+package simulateur;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ErrorCollector;
+
+import static org.hamcrest.core.Is.is;
+
+public class CampagneTest {
+
+    @Rule
+    public ErrorCollector collector = new ErrorCollector();
+
+    private static final String[] FORMES = {"RZ", "NRZ", "NRZT"};
+    private static final String[] SNR = {"-6", "-2", "2"};
+
+    private final Campagne.Essai essai = (point, essai) -> Campagne.teb(
+            "-mess", "300",
+            "-form", FORMES[point / SNR.length],
+            "-ampl", "-1", "1",
+            "-snrpb", SNR[point % SNR.length],
+            "-seed", Long.toString(20251005L + essai));
+
+    @Test
+    public void deterministe() throws Exception {
+        double[] sequentiel = new Campagne(1).moyennes(FORMES.length * SNR.length, 8, essai);
+        double[] parallele = new Campagne(4).moyennes(FORMES.length * SNR.length, 8, essai);
+        collector.checkThat("Error campagne parallèle", parallele, is(sequentiel));
+
+        double sommeTeb = 0.0;
+        for (int k = 0; k < 8; k++) {
+            sommeTeb += Campagne.teb("-mess", "300", "-form", "NRZ", "-ampl", "-1", "1",
+                    "-snrpb", "-2", "-seed", Long.toString(20251005L + k));
+        }
+        collector.checkThat("Error campagne boucle série", parallele[SNR.length + 1], is(sommeTeb / 8));
+    }
+
+    @Test
+    public void mesures() throws Exception {
+        double[][] mesures = new Campagne(3).executer(4, 5, (point, essai) -> 10 * point + essai);
+        collector.checkThat("Error mesures", mesures[3][4], is(34.0));
+        collector.checkThat("Error mesures", mesures[0][2], is(2.0));
+    }
+
+    @Test
+    public void estimer() throws Exception {
+        Campagne.CritereArret critere = new Campagne.CritereArret(100, 0.0, 300_000);
+        Campagne.Estimation[] sequentiel = new Campagne(1).estimer(FORMES.length * SNR.length, 300, critere, essai);
+        Campagne.Estimation[] parallele = new Campagne(4).estimer(FORMES.length * SNR.length, 300, critere, essai);
+        for (int p = 0; p < sequentiel.length; p++) {
+            collector.checkThat("Error estimer parallèle", parallele[p].getNbErreurs(), is(sequentiel[p].getNbErreurs()));
+            collector.checkThat("Error estimer parallèle", parallele[p].getNbEssais(), is(sequentiel[p].getNbEssais()));
+            collector.checkThat("Error critère d'arrêt", parallele[p].getNbErreurs() >= 100
+                    || parallele[p].getNbBits() >= 300_000, is(true));
+            collector.checkThat("Error IC", parallele[p].getBorneInf() <= parallele[p].getTeb()
+                    && parallele[p].getTeb() <= parallele[p].getBorneSup(), is(true));
+        }
+        // à -6 dB en RZ les erreurs abondent : un seul tour de 8 essais suffit
+        collector.checkThat("Error arrêt précoce", parallele[0].getNbEssais(), is(8));
+    }
+
+    @Test
+    public void comparerFormes() throws Exception {
+        Mode[] formes = {Mode.RZ, Mode.NRZ, Mode.NRZT};
+        float[] snr = {-2f, 2f};
+        Campagne.Configurateur configurateur = (point, essai) -> ConfigurationSimulation.builder()
+                .messageAleatoire(2000).nbEch(12).amplitude(-1f, 1f).snrpb(snr[point]).seed(100 + essai).build();
+        double[][] sequentiel = new Campagne(1).comparerFormes(formes, snr.length, 6, configurateur);
+        double[][] parallele = new Campagne(4).comparerFormes(formes, snr.length, 6, configurateur);
+        collector.checkThat("Error comparerFormes parallèle", parallele, is(sequentiel));
+
+        double somme = 0.0;
+        for (int essai = 0; essai < 6; essai++) {
+            somme += new BalayageSnr(configurateur.configurer(1, essai).toBuilder().form(Mode.NRZT).build())
+                    .calculerTeb(new float[]{snr[1]})[0];
+        }
+        collector.checkThat("Error comparerFormes NRZT", parallele[2][1], is(somme / 6));
+    }
+
+    @Test
+    public void chainesReconfigurees() throws Exception {
+        Mode[] formes = {Mode.RZ, Mode.NRZ, Mode.NRZT};
+        Campagne.Essai essaiConfigure = (point, essai) -> Campagne.teb(ConfigurationSimulation.builder()
+                .messageAleatoire(500).form(formes[point]).amplitude(-1f, 1f).snrpb(0f).seed(40 + essai).build());
+        double[][] mesures = new Campagne(2).executer(formes.length, 6, essaiConfigure);
+        // hors campagne, chaque appel construit sa propre chaîne
+        for (int p = 0; p < formes.length; p++) {
+            for (int e = 0; e < 6; e++) {
+                collector.checkThat("Error chaîne reconfigurée", mesures[p][e], is(essaiConfigure.executer(p, e)));
+            }
+        }
+    }
+
+    @Test
+    public void estimation() {
+        Campagne.Estimation sansErreur = new Campagne.Estimation(0, 1_000_000, 10);
+        collector.checkThat("Error borne inf sans erreur", sansErreur.getBorneInf(), is(0.0));
+        collector.checkThat("Error borne sup sans erreur", Math.abs(sansErreur.getBorneSup() - 3.84e-6) < 1e-8, is(true));
+
+        Campagne.Estimation estimation = new Campagne.Estimation(100, 10_000, 1);
+        double demiLargeur = 1.96 * Math.sqrt(0.01 * 0.99 / 10_000);
+        collector.checkThat("Error IC", Math.abs(estimation.getBorneSup() - estimation.getBorneInf() - 2 * demiLargeur) < 1e-4, is(true));
+        collector.checkThat("Error largeur relative",
+                new Campagne.CritereArret(0, 0.5, 1_000_000).estAtteint(estimation), is(true));
+        collector.checkThat("Error largeur relative",
+                new Campagne.CritereArret(0, 0.3, 1_000_000).estAtteint(estimation), is(false));
+
+        Campagne.Estimation essais = Campagne.Estimation.depuisEssais(new double[]{1e-9, 3e-9}, 1000);
+        collector.checkThat("Error depuisEssais", Math.abs(essais.getTeb() - 2e-9) < 1e-20, is(true));
+        collector.checkThat("Error depuisEssais IC", Math.abs(essais.getBorneSup() - 2e-9 - 1.96e-9) < 1e-11, is(true));
+        collector.checkThat("Error depuisEssais bits", essais.getNbBits(), is(2000L));
+    }
+
+    @Test (expected = ArgumentsException.class)
+    public void essaiKO() throws Exception {
+        new Campagne(2).moyennes(2, 3, (point, essai) -> Campagne.teb("-form", "ABC"));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void parallelismeKO() {
+        new Campagne(0);
+    }
+}
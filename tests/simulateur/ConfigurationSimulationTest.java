@@ -0,0 +1,95 @@
+package simulateur;
+
+import bruits.MoteurGaussien;
+import information.ParametreTrajet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ErrorCollector;
+
+import static org.hamcrest.core.Is.is;
+
+public class ConfigurationSimulationTest {
+
+    @Rule
+    public ErrorCollector collector = new ErrorCollector();
+
+    @Test
+    public void commeLaLigneDeCommande() throws Exception {
+        Simulateur ligneDeCommande = new Simulateur(new String[] {"-mess", "500", "-seed", "77", "-form", "NRZT",
+                "-nbEch", "30", "-ampl", "-2", "2", "-snrpb", "1.5", "-ti", "5", "0.4", "9", "0.2", "-codeur"});
+        Simulateur builder = new Simulateur(ConfigurationSimulation.builder()
+                .messageAleatoire(500)
+                .seed(77)
+                .form(Mode.NRZT)
+                .nbEch(30)
+                .amplitude(-2f, 2f)
+                .snrpb(1.5f)
+                .trajet(5, 0.4f)
+                .trajet(new ParametreTrajet(9, 0.2f))
+                .codageCanal(true)
+                .build());
+        ligneDeCommande.execute();
+        builder.execute();
+
+        collector.checkThat("Error builder form", builder.form, is(ligneDeCommande.form));
+        collector.checkThat("Error builder nbEch", builder.nbEch, is(ligneDeCommande.nbEch));
+        collector.checkThat("Error builder ampl", builder.amplitude, is(ligneDeCommande.amplitude));
+        collector.checkThat("Error builder snrpb", builder.snrpb, is(ligneDeCommande.snrpb));
+        collector.checkThat("Error builder trajets", builder.params.size(), is(2));
+        collector.checkThat("Error builder seed", builder.seed, is(77));
+        collector.checkThat("Error builder analogique", builder.transmissionAnalogique, is(true));
+        collector.checkThat("Error builder TEB", builder.calculTauxErreurBinaire(), is(ligneDeCommande.calculTauxErreurBinaire()));
+    }
+
+    @Test
+    public void valeursParDefaut() throws Exception {
+        ConfigurationSimulation configuration = ConfigurationSimulation.builder().build();
+        collector.checkThat("Error défaut message", configuration.isMessageAleatoire(), is(true));
+        collector.checkThat("Error défaut nbBits", configuration.getNbBitsMess(), is(100));
+        collector.checkThat("Error défaut analogique", configuration.isTransmissionAnalogique(), is(false));
+        collector.checkThat("Error défaut seed", configuration.isAleatoireAvecGerme(), is(false));
+        collector.checkThat("Error défaut moteur", configuration.getMoteurGaussien(), is(MoteurGaussien.BOX_MULLER));
+        collector.checkThat("Error défaut trajets", configuration.getTrajets() == null, is(true));
+    }
+
+    @Test
+    public void toBuilder() throws Exception {
+        ConfigurationSimulation base = ConfigurationSimulation.builder().message("0110100").form(Mode.NRZ).build();
+        ConfigurationSimulation derivee = base.toBuilder().seed(3).build();
+        collector.checkThat("Error toBuilder message", derivee.getMessageString(), is("0110100"));
+        collector.checkThat("Error toBuilder message", derivee.isMessageAleatoire(), is(false));
+        collector.checkThat("Error toBuilder form", derivee.getForm(), is(Mode.NRZ));
+        collector.checkThat("Error toBuilder seed", derivee.getSeed(), is(3));
+        collector.checkThat("Error toBuilder base inchangée", base.getSeed() == null, is(true));
+    }
+
+    @Test (expected = ArgumentsException.class)
+    public void nbEchKO() throws Exception {
+        ConfigurationSimulation.builder().nbEch(10).build();
+    }
+
+    @Test (expected = ArgumentsException.class)
+    public void amplitudeKO() throws Exception {
+        ConfigurationSimulation.builder().amplitude(1f, -1f).build();
+    }
+
+    @Test (expected = ArgumentsException.class)
+    public void messageKO() throws Exception {
+        ConfigurationSimulation.builder().message("01201").build();
+    }
+
+    @Test
+    public void empreinteTas() throws Exception {
+        ConfigurationSimulation configuration = ConfigurationSimulation.builder().messageAleatoire(1000).nbEch(30)
+                .codageCanal(true).budgetTas(1L << 20).build();
+        // 3 signaux de 3000 bits x 30 échantillons x 4 octets
+        collector.checkThat("Error empreinteTas", configuration.empreinteTas(), is(1080000L));
+        collector.checkThat("Error empreinteTas débordement", configuration.isDebordement(), is(true));
+        collector.checkThat("Error empreinteTas sans budget", configuration.toBuilder().budgetTas(0).build().isDebordement(), is(false));
+    }
+
+    @Test (expected = ArgumentsException.class)
+    public void budgetKO() throws Exception {
+        ConfigurationSimulation.builder().budgetTas(-1).build();
+    }
+}
@@ -1,5 +1,7 @@
 package simulateur;
 
+import elements.codeurs.Codeur;
+import elements.destinations.DestinationFinale;
 import elements.destinations.DestinationInterface;
 import information.Information;
 import org.junit.Before;
@@ -7,6 +9,10 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ErrorCollector;
 import elements.sources.SourceInterface;
+import elements.transmetteurs.Transmetteur;
+
+import java.util.Arrays;
+
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.*;
 
@@ -98,6 +104,102 @@ public class SimulateurTest {
         collector.checkThat("Error AnalyseArgument -s", simulateur4.affichage, is(false));
     }
 
+    @Test
+    public void plusDeCinqTrajets() throws Exception {
+        Simulateur simulateur = new Simulateur(new String[]{"-mess", "200", "-seed", "3", "-form", "NRZ", "-ampl", "-1", "1",
+                "-ti", "1", "0.05", "2", "0.05", "3", "0.05", "4", "0.05", "5", "0.05", "6", "0.05", "7", "0.05"});
+        simulateur.execute();
+        collector.checkThat("Error -ti à sept trajets", simulateur.getConfiguration().getTrajets().size(), is(7));
+        collector.checkThat("Error TEB à sept trajets faibles", simulateur.calculTauxErreurBinaire(), is(0f));
+    }
+
+    @Test
+    public void canalBinaireSymetrique() throws Exception {
+        Simulateur simulateur = new Simulateur(new String[]{"-mess", "100000", "-seed", "9", "-bsc", "0.02"});
+        simulateur.execute();
+        collector.checkThat("Error -bsc", Math.abs(simulateur.calculTauxErreurBinaire() - 0.02) < 0.003, is(true));
+    }
+
+    @Test (expected = ArgumentsException.class)
+    public void canalBinaireSymetriqueAnalogiqueKO() throws Exception {
+        new Simulateur(new String[]{"-bsc", "0.02", "-form", "NRZ"});
+    }
+
+    @Test
+    public void canalDiscret() throws Exception {
+        String[][] configurations = {
+                {"-form", "NRZ", "-nbEch", "30", "-snrpb", "-8"},
+                {"-form", "NRZT", "-nbEch", "12", "-ampl", "-1", "1", "-snrpb", "-5"},
+                {"-form", "RZ", "-nbEch", "9", "-snrpb", "-2"},
+                {"-form", "NRZ", "-nbEch", "6", "-snrpb", "-6", "-codeur"},
+        };
+        int nbBits = 100000;
+        for (String[] configuration : configurations) {
+            String[] complet = new String[configuration.length + 4];
+            System.arraycopy(configuration, 0, complet, 0, configuration.length);
+            complet[configuration.length] = "-mess";
+            complet[configuration.length + 1] = String.valueOf(nbBits);
+            complet[configuration.length + 2] = "-seed";
+            complet[configuration.length + 3] = "5";
+            String[] discret = new String[complet.length + 1];
+            System.arraycopy(complet, 0, discret, 0, complet.length);
+            discret[complet.length] = "-discret";
+
+            Simulateur chaine = new Simulateur(complet);
+            chaine.execute();
+            Simulateur equivalent = new Simulateur(discret);
+            equivalent.execute();
+            double p = chaine.calculTauxErreurBinaire();
+            double q = equivalent.calculTauxErreurBinaire();
+            // deux estimations indépendantes du même TEB : écart inférieur à 5 écarts-types
+            double ecartType = Math.sqrt(2 * p * (1 - p) / nbBits);
+            collector.checkThat("Error -discret " + String.join(" ", configuration) + " : " + p + " / " + q,
+                    p > 0.01 && Math.abs(p - q) < 5 * ecartType, is(true));
+        }
+    }
+
+    @Test
+    public void echantillonnagePreferentiel() throws Exception {
+        Simulateur discret = new Simulateur(new String[]{"-mess", "100000", "-seed", "6", "-form", "RZ", "-snrpb", "4", "-discret"});
+        discret.execute();
+        Simulateur preferentiel = new Simulateur(new String[]{"-mess", "100000", "-seed", "6", "-form", "RZ", "-snrpb", "4", "-is"});
+        preferentiel.execute();
+        double p = discret.calculTauxErreurBinaire();
+        double q = preferentiel.calculTauxErreurBinaire();
+        collector.checkThat("Error -is canal discret", preferentiel.canalDiscret, is(true));
+        collector.checkThat("Error -is : " + p + " / " + q, Math.abs(p - q) < 5 * Math.sqrt(2 * p * (1 - p) / 100000), is(true));
+    }
+
+    @Test
+    public void debordement() throws Exception {
+        String[][] configurations = {
+                {"-mess", "100000", "-seed", "8", "-form", "NRZT", "-nbEch", "12", "-snrpb", "1"},
+                {"-mess", "100000", "-seed", "8", "-form", "NRZT", "-nbEch", "12", "-snrpb", "3", "-ti", "7", "0.6", "30", "0.9", "-codeur"},
+                {"-mess", "100000", "-seed", "8", "-form", "RZ", "-nbEch", "12", "-ampl", "-1", "1", "-ti", "25", "0.95"},
+        };
+        for (String[] configuration : configurations) {
+            String[] projete = new String[configuration.length + 2];
+            System.arraycopy(configuration, 0, projete, 0, configuration.length);
+            projete[configuration.length] = "-budget";
+            projete[configuration.length + 1] = "1";
+
+            Simulateur tas = new Simulateur(configuration);
+            tas.execute();
+            Simulateur fichier = new Simulateur(projete);
+            fichier.execute();
+            collector.checkThat("Error -budget débordement " + String.join(" ", configuration), fichier.debordement, is(true));
+            collector.checkThat("Error -budget TEB " + String.join(" ", configuration),
+                    fichier.calculTauxErreurBinaire(), is(tas.calculTauxErreurBinaire()));
+        }
+        Simulateur dansLeBudget = new Simulateur(new String[]{"-mess", "1000", "-form", "NRZ", "-budget", "1"});
+        collector.checkThat("Error -budget sans débordement", dansLeBudget.debordement, is(false));
+    }
+
+    @Test (expected = ArgumentsException.class)
+    public void canalDiscretTrajetsKO() throws Exception {
+        new Simulateur(new String[]{"-discret", "-ti", "5", "0.5"});
+    }
+
     @Test
     public void snrpb() throws Exception {
         simulateur2.execute();
@@ -112,5 +214,109 @@ public class SimulateurTest {
 
     }
 
+    @Test
+    public void flux() throws Exception {
+        String[][] configurations = {
+                {"-mess", "1000", "-seed", "12", "-form", "NRZT", "-nbEch", "12"},
+                {"-mess", "1000", "-seed", "12", "-form", "NRZT", "-nbEch", "12", "-ti", "7", "0.6", "30", "0.9", "-codeur"},
+                {"-mess", "1000", "-seed", "12", "-form", "RZ", "-nbEch", "12", "-ampl", "-1", "1", "-ti", "25", "0.95"},
+        };
+        for (String[] configuration : configurations) {
+            Simulateur enUneFois = new Simulateur(configuration);
+            enUneFois.execute();
+            for (String taille : new String[] {"1", "64", "333", "5000"}) {
+                String[] args = Arrays.copyOf(configuration, configuration.length + 2);
+                args[configuration.length] = "-flux";
+                args[configuration.length + 1] = taille;
+                Simulateur parBlocs = new Simulateur(args);
+                parBlocs.execute();
+                collector.checkThat("Error flux TEB " + String.join(" ", args),
+                        parBlocs.calculTauxErreurBinaire(), is(enUneFois.calculTauxErreurBinaire()));
+                collector.checkThat("Error flux nb bits comparés",
+                        ((DestinationFinale) parBlocs.destination).getNbBitsComparesFlux(), is(1000L));
+            }
+        }
+    }
+
+    @Test
+    public void fluxBruite() throws Exception {
+        String[][] configurations = {
+                {"-mess", "3000", "-seed", "12", "-form", "NRZT", "-nbEch", "12", "-snrpb", "2"},
+                {"-mess", "3000", "-seed", "12", "-form", "RZ", "-nbEch", "12", "-ampl", "-1", "1", "-snrpb", "4", "-ti", "25", "0.5"},
+                {"-mess", "3000", "-seed", "12", "-form", "NRZ", "-nbEch", "12", "-snrpb", "-2", "-codeur"},
+        };
+        for (String[] configuration : configurations) {
+            Simulateur enUneFois = new Simulateur(configuration);
+            enUneFois.execute();
+            Float tebFlux = null;
+            for (String taille : new String[] {"1", "64", "333", "5000"}) {
+                String[] args = Arrays.copyOf(configuration, configuration.length + 2);
+                args[configuration.length] = "-flux";
+                args[configuration.length + 1] = taille;
+                Simulateur parBlocs = new Simulateur(args);
+                parBlocs.execute();
+                // bruit calculé d'après la puissance attendue : même TEB quelle que soit la taille des blocs
+                if (tebFlux == null) {
+                    tebFlux = parBlocs.calculTauxErreurBinaire();
+                }
+                collector.checkThat("Error flux bruité TEB " + String.join(" ", args),
+                        parBlocs.calculTauxErreurBinaire(), is(tebFlux));
+            }
+            // et proche du TEB du message émis en une fois (puissance mesurée)
+            collector.checkThat("Error flux bruité / message complet " + String.join(" ", configuration),
+                    Math.abs(tebFlux - enUneFois.calculTauxErreurBinaire()) < 0.01f, is(true));
+            collector.checkThat("Error flux bruité sans erreur " + String.join(" ", configuration), tebFlux > 0f, is(true));
+        }
+    }
+
+    @Test
+    public void analyseArgumentsRedefinie() throws Exception {
+        Simulateur simulateur = new Simulateur(new String[] {"-mess", "100", "-seed", "3", "-snrpb", "-5"}) {
+            @Override
+            protected void analyseArguments(String[] args) throws ArgumentsException {
+                super.analyseArguments(args);
+                snrpb = Float.POSITIVE_INFINITY;
+            }
+        };
+        collector.checkThat("Error attribut modifié par analyseArguments", simulateur.snrpb, is(Float.POSITIVE_INFINITY));
+        simulateur.execute();
+        collector.checkThat("Error chaîne construite d'après les attributs", simulateur.calculTauxErreurBinaire(), is(0.0f));
+    }
+
+    @Test (expected = ArgumentsException.class)
+    public void fluxAvecSondesKO() throws Exception {
+        new Simulateur(new String[] {"-flux", "100", "-s"});
+    }
+
+    @Test
+    public void reconfigurer() throws Exception {
+        ConfigurationSimulation base = ConfigurationSimulation.builder().messageAleatoire(300).form(Mode.NRZT)
+                .amplitude(-1f, 1f).trajet(7, 0.5f).seed(1).snrpb(0f).build();
+        Simulateur reutilise = new Simulateur(base);
+        Codeur codeur = reutilise.codeur;
+        Transmetteur<Float> transmetteur = reutilise.transmetteurAnalogique;
+
+        for (int seed = 1; seed <= 4; seed++) {
+            for (float snr : new float[] {-3f, 2f}) {
+                ConfigurationSimulation configuration = base.toBuilder().seed(seed).snrpb(snr).build();
+                reutilise.reconfigurer(configuration);
+                reutilise.execute();
+                Simulateur neuf = new Simulateur(configuration);
+                neuf.execute();
+                collector.checkThat("Error reconfigurer TEB", reutilise.calculTauxErreurBinaire(), is(neuf.calculTauxErreurBinaire()));
+                collector.checkThat("Error reconfigurer message", reutilise.source.getInformationEmise(), is(neuf.source.getInformationEmise()));
+            }
+        }
+        collector.checkThat("Error reconfigurer codeur conservé", reutilise.codeur == codeur, is(true));
+        collector.checkThat("Error reconfigurer transmetteur conservé", reutilise.transmetteurAnalogique == transmetteur, is(true));
+
+        reutilise.setMessage("0110100111");
+        reutilise.execute();
+        collector.checkThat("Error setMessage", reutilise.destination.getInformationRecue().nbElements(), is(10));
+        collector.checkThat("Error setMessage chaîne reconstruite", reutilise.codeur == codeur, is(false));
+
+        reutilise.reconfigurer(base.toBuilder().form(Mode.RZ).build());
+        collector.checkThat("Error reconfigurer forme", reutilise.codeur == codeur, is(false));
+    }
 
 }